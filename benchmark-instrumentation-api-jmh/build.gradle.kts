@@ -0,0 +1,44 @@
+import me.champeau.jmh.JMHTask
+import net.ltgt.gradle.errorprone.errorprone
+
+plugins {
+  id("otel.java-conventions")
+  id("otel.jmh-conventions")
+}
+
+dependencies {
+  jmhImplementation(project(":instrumentation-api"))
+  jmhImplementation(project(":instrumentation-api-incubator"))
+  jmhImplementation(project(":instrumentation:executors:bootstrap"))
+  jmhImplementation(project(":javaagent-bootstrap"))
+}
+
+tasks {
+
+  // without disabling errorprone, jmhCompileGeneratedClasses fails with
+  //   error: plug-in not found: ErrorProne
+  withType<JavaCompile>().configureEach {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
+
+  val jmhIncludes = gradle.startParameter.projectProperties["jmh.includes"]
+
+  named<JMHTask>("jmh") {
+    if (jmhIncludes != null) {
+      includes.addAll(jmhIncludes.split(','))
+    }
+
+    outputs.upToDateWhen { false }
+  }
+
+  // stores the results of the last jmh run as the new baseline, e.g.
+  //   ./gradlew :benchmark-instrumentation-api-jmh:jmh :benchmark-instrumentation-api-jmh:jmhUpdateBaseline
+  // the local baseline (ignored by git) can then be compared against a later run on the same
+  // machine with any jmh result viewer
+  register<Copy>("jmhUpdateBaseline") {
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("baseline"))
+  }
+}
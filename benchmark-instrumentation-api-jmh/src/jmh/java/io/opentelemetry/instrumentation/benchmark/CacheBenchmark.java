@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.benchmark;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link Cache#bounded(int)} and {@link Cache#weak()} on the {@code computeIfAbsent} path
+ * that instrumentation uses, with a working set that fits in the bounded cache (hits) and one that
+ * does not (misses and evictions).
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class CacheBenchmark {
+
+  private static final int CAPACITY = 1000;
+  private static final Function<Object, Object> MAPPING = Object::toString;
+
+  @State(Scope.Benchmark)
+  public static class Caches {
+    final Cache<Object, Object> bounded = Cache.bounded(CAPACITY);
+    final Cache<Object, Object> weak = Cache.weak();
+    final Object[] keys = new Object[CAPACITY * 4];
+
+    @Setup
+    public void setUp() {
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = "key-" + i;
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int index;
+
+    int next(int bound) {
+      index = (index + 1) % bound;
+      return index;
+    }
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object boundedHit(Caches caches, Cursor cursor) {
+    return caches.bounded.computeIfAbsent(caches.keys[cursor.next(CAPACITY / 2)], MAPPING);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object boundedMiss(Caches caches, Cursor cursor) {
+    return caches.bounded.computeIfAbsent(caches.keys[cursor.next(caches.keys.length)], MAPPING);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object weakHit(Caches caches, Cursor cursor) {
+    return caches.weak.computeIfAbsent(caches.keys[cursor.next(CAPACITY / 2)], MAPPING);
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.benchmark;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.javaagent.bootstrap.executors.ContextPropagatingRunnable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class ContextPropagatingRunnableBenchmark {
+
+  private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+  private static final Context CONTEXT = Context.root().with(KEY, "value");
+
+  @Benchmark
+  public void wrapAndRun(Blackhole blackhole) {
+    Runnable task = () -> blackhole.consume(Context.current());
+    if (ContextPropagatingRunnable.shouldDecorateRunnable(task)) {
+      task = ContextPropagatingRunnable.propagateContext(task, CONTEXT);
+    }
+    task.run();
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.benchmark;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.InstrumentedTaskClasses;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorAdviceHelper;
+import io.opentelemetry.javaagent.bootstrap.executors.PropagatedContext;
+import io.opentelemetry.javaagent.bootstrap.executors.TaskAdviceHelper;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Saturates a {@link ForkJoinPool} with tiny tasks submitted from several threads, attaching the
+ * current context to every task like the executor instrumentation does on submission and making it
+ * current like the task instrumentation does when the task runs.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Threads(4)
+public class ForkJoinPoolContextPropagationBenchmark {
+
+  private static final int BATCH_SIZE = 1000;
+
+  private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+  private static final Context CONTEXT = Context.root().with(KEY, "value");
+
+  // stands in for the field that the agent injects into ForkJoinTask
+  private static final VirtualField<Task, PropagatedContext> FIELD =
+      new VirtualField<Task, PropagatedContext>() {
+        @Override
+        public PropagatedContext get(Task task) {
+          return task.propagatedContext;
+        }
+
+        @Override
+        public void set(Task task, PropagatedContext propagatedContext) {
+          task.propagatedContext = propagatedContext;
+        }
+      };
+
+  @State(org.openjdk.jmh.annotations.Scope.Benchmark)
+  public static class Pool {
+    ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+      InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(className -> false);
+      pool = new ForkJoinPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+      pool.shutdownNow();
+    }
+  }
+
+  @State(org.openjdk.jmh.annotations.Scope.Thread)
+  public static class Tasks {
+    final Task[] tasks = new Task[BATCH_SIZE];
+
+    @Setup
+    public void setUp() {
+      for (int i = 0; i < tasks.length; i++) {
+        tasks[i] = new Task();
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void submitNewTasks(Pool pool) {
+    Task[] tasks = new Task[BATCH_SIZE];
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      for (int i = 0; i < tasks.length; i++) {
+        tasks[i] = new Task();
+        execute(pool.pool, tasks[i]);
+      }
+    }
+    for (Task task : tasks) {
+      task.join();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void resubmitTasks(Pool pool, Tasks tasks) {
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      for (Task task : tasks.tasks) {
+        task.reinitialize();
+        execute(pool.pool, task);
+      }
+    }
+    for (Task task : tasks.tasks) {
+      task.join();
+    }
+  }
+
+  // what ForkJoinPool.execute(ForkJoinTask) does with the executor instrumentation applied
+  private static void execute(ForkJoinPool pool, Task task) {
+    Context context = Context.current();
+    PropagatedContext propagatedContext = null;
+    if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+      propagatedContext = ExecutorAdviceHelper.attachContextToTask(context, FIELD, task);
+    }
+    Throwable throwable = null;
+    try {
+      pool.execute(task);
+    } catch (RuntimeException e) {
+      throwable = e;
+      throw e;
+    } finally {
+      ExecutorAdviceHelper.cleanUpAfterSubmit(propagatedContext, throwable);
+    }
+  }
+
+  static final class Task extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    transient PropagatedContext propagatedContext;
+    transient Context context;
+
+    // what the task does with the fork join task instrumentation applied
+    @Override
+    protected void compute() {
+      Scope scope = TaskAdviceHelper.makePropagatedContextCurrent(FIELD, this);
+      try {
+        context = Context.current();
+      } finally {
+        if (scope != null) {
+          scope.close();
+        }
+      }
+    }
+  }
+}
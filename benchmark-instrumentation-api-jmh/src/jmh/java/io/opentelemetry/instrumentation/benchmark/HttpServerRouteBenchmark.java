@@ -0,0 +1,53 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.benchmark;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerRoute;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerRouteSource;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpSpanNameExtractor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class HttpServerRouteBenchmark {
+
+  private static final Instrumenter<Void, Void> INSTRUMENTER =
+      Instrumenter.<Void, Void>builder(
+              OpenTelemetry.noop(),
+              "benchmark",
+              HttpSpanNameExtractor.create(InstrumenterBenchmark.HttpServer.INSTANCE))
+          .addContextCustomizer(HttpServerRoute.create(InstrumenterBenchmark.HttpServer.INSTANCE))
+          .buildInstrumenter(SpanKindExtractor.alwaysServer());
+
+  private static final String ROUTE = "/api/v1/users/{id}";
+
+  // a fresh route state per operation, like a real request; updated by a filter and a controller
+  @Benchmark
+  public Context update() {
+    Context context = INSTRUMENTER.start(Context.root(), null);
+    HttpServerRoute.update(context, HttpServerRouteSource.SERVER_FILTER, "/api/v1/*");
+    HttpServerRoute.update(context, HttpServerRouteSource.CONTROLLER, ROUTE);
+    INSTRUMENTER.end(context, null, null, null);
+    return context;
+  }
+}
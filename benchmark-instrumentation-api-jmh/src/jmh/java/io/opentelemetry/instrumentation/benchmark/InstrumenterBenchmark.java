@@ -0,0 +1,302 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.benchmark;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.DbClientSpanNameExtractor;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlClientAttributesExtractor;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlClientAttributesGetter;
+import io.opentelemetry.instrumentation.api.incubator.semconv.messaging.MessageOperation;
+import io.opentelemetry.instrumentation.api.incubator.semconv.messaging.MessagingAttributesExtractor;
+import io.opentelemetry.instrumentation.api.incubator.semconv.messaging.MessagingAttributesGetter;
+import io.opentelemetry.instrumentation.api.incubator.semconv.messaging.MessagingSpanNameExtractor;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesExtractor;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesGetter;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpClientMetrics;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerAttributesExtractor;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerAttributesGetter;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerMetrics;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerRoute;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpSpanNameExtractor;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpSpanStatusExtractor;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Instrumenter#start(Context, Object)} and {@link Instrumenter#end(Context,
+ * Object, Object, Throwable)} with the extractor chains that HTTP server, HTTP client, database and
+ * messaging instrumentations typically configure.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class InstrumenterBenchmark {
+
+  private static final Instrumenter<Void, Void> HTTP_SERVER =
+      Instrumenter.<Void, Void>builder(
+              OpenTelemetry.noop(), "benchmark", HttpSpanNameExtractor.create(HttpServer.INSTANCE))
+          .setSpanStatusExtractor(HttpSpanStatusExtractor.create(HttpServer.INSTANCE))
+          .addAttributesExtractor(HttpServerAttributesExtractor.create(HttpServer.INSTANCE))
+          .addContextCustomizer(HttpServerRoute.create(HttpServer.INSTANCE))
+          .addOperationMetrics(HttpServerMetrics.get())
+          .buildInstrumenter(SpanKindExtractor.alwaysServer());
+
+  private static final Instrumenter<Void, Void> HTTP_CLIENT =
+      Instrumenter.<Void, Void>builder(
+              OpenTelemetry.noop(), "benchmark", HttpSpanNameExtractor.create(HttpClient.INSTANCE))
+          .setSpanStatusExtractor(HttpSpanStatusExtractor.create(HttpClient.INSTANCE))
+          .addAttributesExtractor(HttpClientAttributesExtractor.create(HttpClient.INSTANCE))
+          .addOperationMetrics(HttpClientMetrics.get())
+          .buildInstrumenter(SpanKindExtractor.alwaysClient());
+
+  private static final Instrumenter<Void, Void> DB_CLIENT =
+      Instrumenter.<Void, Void>builder(
+              OpenTelemetry.noop(), "benchmark", DbClientSpanNameExtractor.create(Db.INSTANCE))
+          .addAttributesExtractor(SqlClientAttributesExtractor.create(Db.INSTANCE))
+          .buildInstrumenter(SpanKindExtractor.alwaysClient());
+
+  private static final Instrumenter<Void, Void> MESSAGING_PRODUCER =
+      Instrumenter.<Void, Void>builder(
+              OpenTelemetry.noop(),
+              "benchmark",
+              MessagingSpanNameExtractor.create(Messaging.INSTANCE, MessageOperation.PUBLISH))
+          .addAttributesExtractor(
+              MessagingAttributesExtractor.create(Messaging.INSTANCE, MessageOperation.PUBLISH))
+          .buildInstrumenter(SpanKindExtractor.alwaysProducer());
+
+  @Benchmark
+  public Context httpServer() {
+    return startEnd(HTTP_SERVER);
+  }
+
+  @Benchmark
+  public Context httpClient() {
+    return startEnd(HTTP_CLIENT);
+  }
+
+  @Benchmark
+  public Context dbClient() {
+    return startEnd(DB_CLIENT);
+  }
+
+  @Benchmark
+  public Context messagingProducer() {
+    return startEnd(MESSAGING_PRODUCER);
+  }
+
+  private static Context startEnd(Instrumenter<Void, Void> instrumenter) {
+    Context context = instrumenter.start(Context.root(), null);
+    instrumenter.end(context, null, null, null);
+    return context;
+  }
+
+  enum HttpServer implements HttpServerAttributesGetter<Void, Void> {
+    INSTANCE;
+
+    @Override
+    public String getUrlScheme(Void unused) {
+      return "https";
+    }
+
+    @Override
+    public String getUrlPath(Void unused) {
+      return "/api/v1/users/1234";
+    }
+
+    @Override
+    public String getUrlQuery(Void unused) {
+      return "expand=orders";
+    }
+
+    @Override
+    public String getHttpRoute(Void unused) {
+      return "/api/v1/users/{id}";
+    }
+
+    @Override
+    public String getHttpRequestMethod(Void unused) {
+      return "GET";
+    }
+
+    @Override
+    public List<String> getHttpRequestHeader(Void unused, String name) {
+      if (name.equals("user-agent")) {
+        return Collections.singletonList("OpenTelemetryBot");
+      }
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Integer getHttpResponseStatusCode(Void unused, Void unused2, @Nullable Throwable error) {
+      return 200;
+    }
+
+    @Override
+    public List<String> getHttpResponseHeader(Void unused, Void unused2, String name) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public String getNetworkProtocolName(Void unused, @Nullable Void unused2) {
+      return "http";
+    }
+
+    @Override
+    public String getNetworkProtocolVersion(Void unused, @Nullable Void unused2) {
+      return "1.1";
+    }
+  }
+
+  enum HttpClient implements HttpClientAttributesGetter<Void, Void> {
+    INSTANCE;
+
+    @Override
+    public String getUrlFull(Void unused) {
+      return "https://opentelemetry.io:8443/api/v1/users/1234?expand=orders";
+    }
+
+    @Override
+    public String getHttpRequestMethod(Void unused) {
+      return "GET";
+    }
+
+    @Override
+    public List<String> getHttpRequestHeader(Void unused, String name) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Integer getHttpResponseStatusCode(Void unused, Void unused2, @Nullable Throwable error) {
+      return 200;
+    }
+
+    @Override
+    public List<String> getHttpResponseHeader(Void unused, Void unused2, String name) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public String getServerAddress(Void unused) {
+      return "opentelemetry.io";
+    }
+
+    @Override
+    public Integer getServerPort(Void unused) {
+      return 8443;
+    }
+  }
+
+  enum Db implements SqlClientAttributesGetter<Void> {
+    INSTANCE;
+
+    @Override
+    public String getRawStatement(Void unused) {
+      return "SELECT name, email FROM users WHERE id = 1234";
+    }
+
+    @Override
+    public String getSystem(Void unused) {
+      return "postgresql";
+    }
+
+    @Override
+    public String getUser(Void unused) {
+      return "app";
+    }
+
+    @Override
+    public String getName(Void unused) {
+      return "users";
+    }
+
+    @Override
+    public String getConnectionString(Void unused) {
+      return "postgresql://db:5432";
+    }
+  }
+
+  enum Messaging implements MessagingAttributesGetter<Void, Void> {
+    INSTANCE;
+
+    @Override
+    public String getSystem(Void unused) {
+      return "kafka";
+    }
+
+    @Override
+    public String getDestination(Void unused) {
+      return "orders";
+    }
+
+    @Nullable
+    @Override
+    public String getDestinationTemplate(Void unused) {
+      return null;
+    }
+
+    @Override
+    public boolean isTemporaryDestination(Void unused) {
+      return false;
+    }
+
+    @Override
+    public boolean isAnonymousDestination(Void unused) {
+      return false;
+    }
+
+    @Nullable
+    @Override
+    public String getConversationId(Void unused) {
+      return null;
+    }
+
+    @Override
+    public Long getMessageBodySize(Void unused) {
+      return 512L;
+    }
+
+    @Nullable
+    @Override
+    public Long getMessageEnvelopeSize(Void unused) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public String getMessageId(Void unused, @Nullable Void unused2) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public String getClientId(Void unused) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public Long getBatchMessageCount(Void unused, @Nullable Void unused2) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.benchmark;
+
+import static java.util.Arrays.asList;
+
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.RedisCommandSanitizer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class RedisCommandSanitizerBenchmark {
+
+  private static final RedisCommandSanitizer SANITIZER = RedisCommandSanitizer.create(true);
+
+  private static final List<?> GET_ARGS = asList("user:1234:session");
+  private static final List<?> SET_ARGS = asList("user:1234:session", "secret-value", "EX", 3600);
+  private static final List<?> HMSET_ARGS =
+      asList("user:1234", "name", "alice", "email", "alice@example.com", "age", 42);
+
+  @Benchmark
+  public String get() {
+    return SANITIZER.sanitize("GET", GET_ARGS);
+  }
+
+  @Benchmark
+  public String set() {
+    return SANITIZER.sanitize("SET", SET_ARGS);
+  }
+
+  @Benchmark
+  public String hmset() {
+    return SANITIZER.sanitize("hmset", HMSET_ARGS);
+  }
+}
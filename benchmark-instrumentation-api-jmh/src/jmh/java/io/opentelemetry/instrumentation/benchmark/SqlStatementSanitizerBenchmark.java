@@ -0,0 +1,56 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.benchmark;
+
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlStatementInfo;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlStatementSanitizer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class SqlStatementSanitizerBenchmark {
+
+  private static final SqlStatementSanitizer SANITIZER = SqlStatementSanitizer.create(true);
+
+  private static final String SELECT =
+      "SELECT o.id, o.total, c.name FROM orders o JOIN customers c ON o.customer_id = c.id"
+          + " WHERE o.status = 'SHIPPED' AND o.total > 100.5 ORDER BY o.created_at DESC";
+
+  private static final String INSERT =
+      "INSERT INTO audit_log (id, user_name, action, created_at)"
+          + " VALUES (42, 'alice', 'login', '2024-01-01 00:00:00')";
+
+  private long counter;
+
+  @Benchmark
+  public SqlStatementInfo selectCached() {
+    return SANITIZER.sanitize(SELECT);
+  }
+
+  @Benchmark
+  public SqlStatementInfo insertCached() {
+    return SANITIZER.sanitize(INSERT);
+  }
+
+  // inlined literals make every statement unique, so every call misses the cache
+  @Benchmark
+  public SqlStatementInfo selectUncached() {
+    return SANITIZER.sanitize("SELECT * FROM orders WHERE id = " + counter++);
+  }
+}
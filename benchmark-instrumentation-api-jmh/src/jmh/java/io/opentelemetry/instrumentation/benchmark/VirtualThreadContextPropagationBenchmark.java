@@ -0,0 +1,156 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.benchmark;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.InstrumentedTaskClasses;
+import io.opentelemetry.javaagent.bootstrap.executors.ContextPropagatingRunnable;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorAdviceHelper;
+import io.opentelemetry.javaagent.bootstrap.executors.PropagatedContext;
+import io.opentelemetry.javaagent.bootstrap.executors.TaskAdviceHelper;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Starts a million virtual threads that are all alive at the same time, and compares propagating
+ * the context to them like the virtual thread instrumentation does (the task of the thread is
+ * wrapped with the context of the starting thread) with attaching it to the task like the executor
+ * instrumentation does (a {@link PropagatedContext} in a virtual field of the task, which is a
+ * weak map for the JDK classes that the thread per task executors use), and with not propagating
+ * it at all. Requires Java 21.
+ */
+@Fork(value = 3, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class VirtualThreadContextPropagationBenchmark {
+
+  private static final int THREADS = 1_000_000;
+
+  private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+  private static final Context CONTEXT = Context.root().with(KEY, "value");
+
+  private static final VirtualField<Runnable, PropagatedContext> FIELD =
+      VirtualField.find(Runnable.class, PropagatedContext.class);
+
+  private MethodHandle startVirtualThread;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(className -> false);
+    startVirtualThread =
+        MethodHandles.publicLookup()
+            .findStatic(
+                Thread.class,
+                "startVirtualThread",
+                MethodType.methodType(Thread.class, Runnable.class));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(THREADS)
+  public void noPropagation() throws Throwable {
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(THREADS);
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      for (int i = 0; i < THREADS; i++) {
+        startVirtualThread(new Task(start, done, false));
+      }
+    }
+    start.countDown();
+    done.await();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(THREADS)
+  public void propagateToThread() throws Throwable {
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(THREADS);
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      for (int i = 0; i < THREADS; i++) {
+        // what VirtualThread.run() does with the virtual thread instrumentation
+        Runnable task = new Task(start, done, false);
+        Context context = Context.current();
+        if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+          task = ContextPropagatingRunnable.propagateContext(task, context);
+        }
+        startVirtualThread(task);
+      }
+    }
+    start.countDown();
+    done.await();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(THREADS)
+  public void attachToTask() throws Throwable {
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(THREADS);
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      for (int i = 0; i < THREADS; i++) {
+        // what the executor instrumentation does when a task is submitted
+        Runnable task = new Task(start, done, true);
+        Context context = Context.current();
+        if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+          ExecutorAdviceHelper.attachContextToTask(context, FIELD, task);
+        }
+        startVirtualThread(task);
+      }
+    }
+    start.countDown();
+    done.await();
+  }
+
+  private void startVirtualThread(Runnable task) throws Throwable {
+    Thread unused = (Thread) startVirtualThread.invokeExact(task);
+  }
+
+  private static final class Task implements Runnable {
+    private final CountDownLatch start;
+    private final CountDownLatch done;
+    private final boolean attached;
+
+    Task(CountDownLatch start, CountDownLatch done, boolean attached) {
+      this.start = start;
+      this.done = done;
+      this.attached = attached;
+    }
+
+    @Override
+    public void run() {
+      // what the runnable instrumentation does for tasks that have a context attached
+      Scope scope = attached ? TaskAdviceHelper.makePropagatedContextCurrent(FIELD, this) : null;
+      try {
+        // keeps all threads alive until every one of them has been started
+        start.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        if (scope != null) {
+          scope.close();
+        }
+        done.countDown();
+      }
+    }
+  }
+}
@@ -31,6 +31,11 @@ final class MethodCache<V> extends ClassValue<Map<Method, V>> implements Cache<M
     this.get(key.getDeclaringClass()).put(key, value);
   }
 
+  @Override
+  public V putIfAbsent(Method key, V value) {
+    return this.get(key.getDeclaringClass()).putIfAbsent(key, value);
+  }
+
   @Override
   public void remove(Method key) {
     this.get(key.getDeclaringClass()).remove(key);
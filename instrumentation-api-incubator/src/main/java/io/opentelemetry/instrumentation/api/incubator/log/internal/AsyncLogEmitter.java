@@ -0,0 +1,232 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.log.internal;
+
+import static java.util.logging.Level.WARNING;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Hands log events over to a background thread that maps and emits them, so that the application
+ * threads only take a snapshot of each event.
+ *
+ * <p>Events are kept in a preallocated bounded ring buffer along with the {@link Context} that was
+ * current when they were logged, which is made current again while the event is emitted. When the
+ * buffer is full, events are either dropped or the logging thread waits until the background thread
+ * catches up. The number of dropped events is reported by the {@code Dropped log records: <name>}
+ * supportability counter.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class AsyncLogEmitter<T> {
+
+  private static final Logger logger = Logger.getLogger(AsyncLogEmitter.class.getName());
+
+  // the maximum number of events emitted by the background thread between checks for shutdown
+  private static final int MAX_BATCH_SIZE = 512;
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private final Consumer<T> emitter;
+  private final boolean blockWhenFull;
+  private final int mask;
+  // event and context pairs
+  private final AtomicReferenceArray<Object> slots;
+  // bounded multi-producer queue, see
+  // https://www.1024cores.net/home/lock-free-algorithms/queues/bounded-mpmc-queue
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  // only accessed by the worker thread, or by logging threads holding stopLock once it has stopped
+  private long head;
+  private final AtomicLong dropped = new AtomicLong();
+  private final SupportabilityMetrics.CounterRegistration droppedCounter;
+  private final Thread worker;
+  private volatile boolean workerParked;
+  private volatile boolean shutdown;
+  // guards the last drain of the background thread, after which logging threads drain themselves
+  private final Object stopLock = new Object();
+  private boolean stopped;
+
+  /**
+   * Starts a background thread that passes the events given to {@link #emit(Object)} to the
+   * {@code emitter}.
+   *
+   * @param name the name of the appender, used in the name of the thread and of the counter
+   * @param capacity the number of events that can be waiting to be emitted, rounded up to a power
+   *     of two
+   * @param blockWhenFull whether logging threads wait for space in the buffer, instead of dropping
+   *     the event, when the buffer is full
+   */
+  public static <T> AsyncLogEmitter<T> start(
+      String name, int capacity, boolean blockWhenFull, Consumer<T> emitter) {
+    AsyncLogEmitter<T> asyncLogEmitter =
+        new AsyncLogEmitter<>(name, capacity, blockWhenFull, emitter);
+    asyncLogEmitter.worker.start();
+    return asyncLogEmitter;
+  }
+
+  private AsyncLogEmitter(String name, int capacity, boolean blockWhenFull, Consumer<T> emitter) {
+    this.emitter = emitter;
+    this.blockWhenFull = blockWhenFull;
+    int size = Integer.highestOneBit(Math.max(1, Math.min(capacity, 1 << 30) - 1)) << 1;
+    this.mask = size - 1;
+    this.slots = new AtomicReferenceArray<>(2 * size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.droppedCounter =
+        SupportabilityMetrics.instance()
+            .registerCounter("Dropped log records: " + name, dropped, AtomicLong::get);
+
+    worker = new Thread(this::run, "otel-async-log-emitter-" + name);
+    worker.setDaemon(true);
+  }
+
+  /**
+   * Enqueues the event, which must not change afterwards, to be emitted by the background thread.
+   */
+  public void emit(T event) {
+    if (shutdown || Thread.currentThread() == worker) {
+      // logged after the shutdown, or while emitting, waiting for the worker would never end
+      emitter.accept(event);
+      return;
+    }
+    Context context = Context.current();
+    while (!offer(event, context)) {
+      if (!worker.isAlive()) {
+        // the background thread won't make space in the buffer anymore
+        emitter.accept(event);
+        return;
+      }
+      if (!blockWhenFull || shutdown) {
+        dropped.incrementAndGet();
+        return;
+      }
+      LockSupport.unpark(worker);
+      LockSupport.parkNanos(this, FULL_PARK_NANOS);
+    }
+    if (shutdown) {
+      // the background thread may have finished its last drain before the event was enqueued
+      drainIfStopped();
+    } else if (workerParked) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  /** Returns the number of events that were dropped because the buffer was full. */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Emits the events that are waiting and stops the background thread, waiting up to the given
+   * timeout for it to finish. Events given to {@link #emit(Object)} afterwards are emitted on the
+   * calling thread.
+   */
+  public void shutdown(long timeout, TimeUnit unit) {
+    shutdown = true;
+    droppedCounter.unregister();
+    LockSupport.unpark(worker);
+    try {
+      unit.timedJoin(worker, timeout);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean offer(T event, Context context) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) position & mask;
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots.lazySet(2 * index, event);
+          slots.lazySet(2 * index + 1, context);
+          // publishes the slot to the worker
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        // full
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  private void run() {
+    while (true) {
+      int emitted = drain();
+      if (emitted == 0) {
+        if (shutdown) {
+          // events enqueued concurrently with the shutdown are emitted by the last drain, or by the
+          // logging threads that enqueued them once the background thread has stopped
+          synchronized (stopLock) {
+            while (drain() > 0) {}
+            stopped = true;
+          }
+          return;
+        }
+        workerParked = true;
+        // checked after publishing workerParked so that an event enqueued in between is not missed
+        if (!hasNext()) {
+          LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        workerParked = false;
+      }
+    }
+  }
+
+  private void drainIfStopped() {
+    synchronized (stopLock) {
+      if (stopped) {
+        while (drain() > 0) {}
+      }
+    }
+  }
+
+  private int drain() {
+    int emitted = 0;
+    while (emitted < MAX_BATCH_SIZE && hasNext()) {
+      int index = (int) head & mask;
+      @SuppressWarnings("unchecked")
+      T event = (T) slots.get(2 * index);
+      Context context = (Context) slots.get(2 * index + 1);
+      slots.lazySet(2 * index, null);
+      slots.lazySet(2 * index + 1, null);
+      // frees the slot for the producers
+      sequences.set(index, head + mask + 1);
+      head++;
+      emitted++;
+
+      try (Scope ignored = context.makeCurrent()) {
+        emitter.accept(event);
+      } catch (Throwable t) {
+        // the background thread must keep running, logging threads may be waiting for it
+        logger.log(WARNING, "Failed to emit log record", t);
+      }
+    }
+    return emitted;
+  }
+
+  private boolean hasNext() {
+    return sequences.get((int) head & mask) == head + 1;
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.log.internal;
+
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import javax.annotation.Nullable;
+
+/**
+ * Caches the {@link Logger}s of a {@link LoggerProvider} by instrumentation name, for log appenders
+ * that emit the log records of a logging framework logger through the OpenTelemetry logger of the
+ * same name. Building a logger looks it up in the registry of the logger provider and allocates a
+ * logger builder, which a cache hit avoids.
+ *
+ * <p>The cached loggers are discarded when a different logger provider is passed, e.g. once the
+ * OpenTelemetry instance is installed on the appender.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class LoggerCache {
+
+  private static final int MAX_LOGGERS = 1000;
+
+  @Nullable private volatile Loggers loggers;
+
+  /** Returns the logger of the given logger provider for the given instrumentation name. */
+  public Logger getLogger(LoggerProvider loggerProvider, String instrumentationName) {
+    Loggers current = loggers;
+    if (current == null || current.loggerProvider != loggerProvider) {
+      current = new Loggers(loggerProvider);
+      loggers = current;
+    }
+    Logger logger = current.cache.get(instrumentationName);
+    if (logger == null) {
+      logger = loggerProvider.loggerBuilder(instrumentationName).build();
+      current.cache.put(instrumentationName, logger);
+    }
+    return logger;
+  }
+
+  private static final class Loggers {
+    private final LoggerProvider loggerProvider;
+    private final Cache<String, Logger> cache = Cache.bounded(MAX_LOGGERS);
+
+    private Loggers(LoggerProvider loggerProvider) {
+      this.loggerProvider = loggerProvider;
+    }
+  }
+}
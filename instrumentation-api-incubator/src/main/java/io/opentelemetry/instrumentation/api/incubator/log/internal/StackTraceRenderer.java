@@ -0,0 +1,254 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.log.internal;
+
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nullable;
+
+/**
+ * Renders the stack trace of a {@link Throwable} in the format of {@link
+ * Throwable#printStackTrace()}, for the {@code exception.stacktrace} attribute of log records.
+ *
+ * <p>The number of frames rendered per throwable and the length of the rendered stack trace can be
+ * limited, and a stack trace that is identical (same throwable classes and frames) to one rendered
+ * within a time window is replaced by its first line. These limits are meant to keep error storms
+ * from turning into CPU and GC storms on the logging threads. By default stack traces are rendered
+ * in full.
+ *
+ * <p>Throwables that override {@link Throwable#printStackTrace(PrintWriter)} are rendered by
+ * calling it, so that their custom format is kept; only the length limit and the deduplication
+ * apply to them.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class StackTraceRenderer {
+
+  private static final String MAX_FRAMES_CONFIG =
+      "otel.instrumentation.common.experimental.exception-stacktrace.max-frames";
+  private static final String MAX_LENGTH_CONFIG =
+      "otel.instrumentation.common.experimental.exception-stacktrace.max-length";
+  private static final String DEDUPLICATION_WINDOW_CONFIG =
+      "otel.instrumentation.common.experimental.exception-stacktrace.deduplication-window";
+
+  private static final String CAUSE_CAPTION = "Caused by: ";
+  private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+  private static final String OMITTED = "\t... identical stack trace omitted";
+  // must be a power of two
+  private static final int DEDUPLICATION_SLOTS = 256;
+  // bounds the number of causes that are fingerprinted, guards against cyclic causes
+  private static final int MAX_FINGERPRINTED_CAUSES = 16;
+
+  private static final Cache<Class<?>, Boolean> overridesPrintStackTrace = Cache.weak();
+
+  private static final StackTraceRenderer INSTANCE =
+      new StackTraceRenderer(
+          ConfigPropertiesUtil.getInt(MAX_FRAMES_CONFIG, Integer.MAX_VALUE),
+          ConfigPropertiesUtil.getInt(MAX_LENGTH_CONFIG, Integer.MAX_VALUE),
+          ConfigPropertiesUtil.getInt(DEDUPLICATION_WINDOW_CONFIG, 0));
+
+  private final String lineSeparator = System.lineSeparator();
+  private final int maxFrames;
+  private final int maxLength;
+  private final long deduplicationWindowNanos;
+  // fingerprint and render time pairs of the recently rendered stack traces, indexed by fingerprint
+  @Nullable private final AtomicLongArray recentlyRendered;
+
+  /**
+   * Returns the renderer configured by the {@code
+   * otel.instrumentation.common.experimental.exception-stacktrace.*} properties.
+   */
+  public static StackTraceRenderer get() {
+    return INSTANCE;
+  }
+
+  StackTraceRenderer(int maxFrames, int maxLength, long deduplicationWindowMillis) {
+    this.maxFrames = maxFrames > 0 ? maxFrames : Integer.MAX_VALUE;
+    this.maxLength = maxLength > 0 ? maxLength : Integer.MAX_VALUE;
+    this.deduplicationWindowNanos = TimeUnit.MILLISECONDS.toNanos(deduplicationWindowMillis);
+    this.recentlyRendered =
+        deduplicationWindowNanos > 0 ? new AtomicLongArray(2 * DEDUPLICATION_SLOTS) : null;
+  }
+
+  /** Returns the stack trace of the given {@link Throwable}. */
+  public String render(Throwable throwable) {
+    StackTraceElement[] trace = throwable.getStackTrace();
+    StringBuilder builder = new StringBuilder(estimateLength(trace));
+    AtomicLongArray recentlyRendered = this.recentlyRendered;
+    if (recentlyRendered != null && isRecentlyRendered(recentlyRendered, throwable, trace)) {
+      builder.append(throwable).append(lineSeparator);
+      builder.append(OMITTED).append(lineSeparator);
+      return truncate(builder);
+    }
+    if (overridesPrintStackTrace.computeIfAbsent(
+        throwable.getClass(), StackTraceRenderer::overridesPrintStackTrace)) {
+      StringWriter writer = new StringWriter(builder.capacity());
+      throwable.printStackTrace(new PrintWriter(writer));
+      String stackTrace = writer.toString();
+      return stackTrace.length() > maxLength ? stackTrace.substring(0, maxLength) : stackTrace;
+    }
+
+    builder.append(throwable).append(lineSeparator);
+    if (appendFrames(builder, trace, trace.length - 1, 0, "")) {
+      Throwable[] suppressed = throwable.getSuppressed();
+      Throwable cause = throwable.getCause();
+      if (suppressed.length > 0 || cause != null) {
+        Set<Throwable> dejaVu = Collections.newSetFromMap(new IdentityHashMap<>());
+        dejaVu.add(throwable);
+        for (Throwable suppressedThrowable : suppressed) {
+          appendEnclosed(builder, suppressedThrowable, trace, SUPPRESSED_CAPTION, "\t", dejaVu);
+        }
+        if (cause != null) {
+          appendEnclosed(builder, cause, trace, CAUSE_CAPTION, "", dejaVu);
+        }
+      }
+    }
+    return truncate(builder);
+  }
+
+  // same as Throwable.printEnclosedStackTrace()
+  private void appendEnclosed(
+      StringBuilder builder,
+      Throwable throwable,
+      StackTraceElement[] enclosingTrace,
+      String caption,
+      String prefix,
+      Set<Throwable> dejaVu) {
+    if (isFull(builder)) {
+      return;
+    }
+    if (!dejaVu.add(throwable)) {
+      builder
+          .append(prefix)
+          .append(caption)
+          .append("[CIRCULAR REFERENCE: ")
+          .append(throwable)
+          .append(']')
+          .append(lineSeparator);
+      return;
+    }
+
+    StackTraceElement[] trace = throwable.getStackTrace();
+    int m = trace.length - 1;
+    int n = enclosingTrace.length - 1;
+    while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+      m--;
+      n--;
+    }
+    int framesInCommon = trace.length - 1 - m;
+
+    builder.append(prefix).append(caption).append(throwable).append(lineSeparator);
+    if (!appendFrames(builder, trace, m, framesInCommon, prefix)) {
+      return;
+    }
+    for (Throwable suppressed : throwable.getSuppressed()) {
+      appendEnclosed(builder, suppressed, trace, SUPPRESSED_CAPTION, prefix + "\t", dejaVu);
+    }
+    Throwable cause = throwable.getCause();
+    if (cause != null) {
+      appendEnclosed(builder, cause, trace, CAUSE_CAPTION, prefix, dejaVu);
+    }
+  }
+
+  // appends the frames up to and including lastFrame, returns false when the length limit is hit
+  private boolean appendFrames(
+      StringBuilder builder,
+      StackTraceElement[] trace,
+      int lastFrame,
+      int framesInCommon,
+      String prefix) {
+    int frames = Math.min(lastFrame + 1, maxFrames);
+    for (int i = 0; i < frames; i++) {
+      if (isFull(builder)) {
+        return false;
+      }
+      builder.append(prefix).append("\tat ").append(trace[i]).append(lineSeparator);
+    }
+    // frames over the limit are reported like the frames in common with the enclosing trace
+    int omittedFrames = lastFrame + 1 - frames + framesInCommon;
+    if (omittedFrames != 0) {
+      builder
+          .append(prefix)
+          .append("\t... ")
+          .append(omittedFrames)
+          .append(" more")
+          .append(lineSeparator);
+    }
+    return !isFull(builder);
+  }
+
+  private boolean isRecentlyRendered(
+      AtomicLongArray recentlyRendered, Throwable throwable, StackTraceElement[] trace) {
+    long fingerprint = fingerprint(throwable, trace);
+    int index = 2 * ((int) (fingerprint ^ (fingerprint >>> 32)) & (DEDUPLICATION_SLOTS - 1));
+    long now = System.nanoTime();
+    if (recentlyRendered.get(index) == fingerprint
+        && now - recentlyRendered.get(index + 1) < deduplicationWindowNanos) {
+      return true;
+    }
+    // racing threads may both render the stack trace, which is fine
+    recentlyRendered.set(index, fingerprint);
+    recentlyRendered.set(index + 1, now);
+    return false;
+  }
+
+  private static boolean overridesPrintStackTrace(Class<?> throwableClass) {
+    for (Class<?> c = throwableClass; c != Throwable.class && c != null; c = c.getSuperclass()) {
+      try {
+        c.getDeclaredMethod("printStackTrace", PrintWriter.class);
+        return true;
+      } catch (NoSuchMethodException e) {
+        // check the superclass
+      } catch (SecurityException e) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long fingerprint(Throwable throwable, StackTraceElement[] trace) {
+    long fingerprint = fingerprint(0xcbf29ce484222325L, throwable.getClass().getName(), trace);
+    Throwable cause = throwable.getCause();
+    for (int i = 0; cause != null && cause != throwable && i < MAX_FINGERPRINTED_CAUSES; i++) {
+      fingerprint = fingerprint(fingerprint, cause.getClass().getName(), cause.getStackTrace());
+      cause = cause.getCause();
+    }
+    return fingerprint;
+  }
+
+  private static long fingerprint(long fingerprint, String className, StackTraceElement[] trace) {
+    fingerprint = (fingerprint ^ className.hashCode()) * 0x100000001b3L;
+    for (StackTraceElement element : trace) {
+      fingerprint = (fingerprint ^ element.hashCode()) * 0x100000001b3L;
+    }
+    return fingerprint;
+  }
+
+  private int estimateLength(StackTraceElement[] trace) {
+    // a typical frame renders to less than 100 characters
+    long estimate = 128 + 100L * Math.min(trace.length, maxFrames);
+    return (int) Math.min(estimate, Math.min(maxLength, 16 * 1024));
+  }
+
+  private boolean isFull(StringBuilder builder) {
+    return builder.length() >= maxLength;
+  }
+
+  private String truncate(StringBuilder builder) {
+    if (builder.length() > maxLength) {
+      builder.setLength(maxLength);
+    }
+    return builder.toString();
+  }
+}
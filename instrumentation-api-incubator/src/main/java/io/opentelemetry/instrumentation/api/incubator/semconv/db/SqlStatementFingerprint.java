@@ -0,0 +1,250 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+/**
+ * A fast, single-pass approximation of {@link AutoSqlSanitizer} that does not build the sanitized
+ * statement, used to find statements that differ only in their literal values.
+ *
+ * <p>The statement is scanned with the same literal and whitespace rules as the JFlex sanitizer,
+ * and the resulting character stream (literals replaced by {@code ?}, whitespace runs collapsed
+ * into a single space) is either hashed into a 64-bit fingerprint or compared against an already
+ * sanitized statement. Statements that contain non-ASCII characters are not fingerprinted; the
+ * caller must not fingerprint statements that are long enough to be truncated by the sanitizer.
+ */
+final class SqlStatementFingerprint {
+
+  static final long NO_FINGERPRINT = 0;
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  /**
+   * Returns the fingerprint of {@code statement}, or {@link #NO_FINGERPRINT} if the statement can't
+   * be fingerprinted.
+   */
+  static long fingerprint(String statement, SqlDialect dialect) {
+    Hasher hasher = new Hasher();
+    if (!scan(statement, dialect, hasher)) {
+      return NO_FINGERPRINT;
+    }
+    // NO_FINGERPRINT is reserved
+    return hasher.hash == NO_FINGERPRINT ? 1 : hasher.hash;
+  }
+
+  /**
+   * Returns whether sanitizing {@code statement} results in exactly {@code sanitizedStatement}.
+   * Used to guard against fingerprint collisions.
+   */
+  static boolean matches(String statement, SqlDialect dialect, String sanitizedStatement) {
+    Matcher matcher = new Matcher(sanitizedStatement);
+    return scan(statement, dialect, matcher) && matcher.position == sanitizedStatement.length();
+  }
+
+  // returns false if the statement can't be fingerprinted or the sink stopped the scan
+  private static boolean scan(String statement, SqlDialect dialect, Sink sink) {
+    int length = statement.length();
+    int i = 0;
+    while (i < length) {
+      char c = statement.charAt(i);
+      if (c >= 0x80) {
+        // the sanitizer uses unicode letter classes, keep things simple and don't fingerprint
+        return false;
+      }
+      int end;
+      if (isLetter(c) || c == '_') {
+        end = identifierEnd(statement, i + 1);
+        if (!sink.append(statement, i, end)) {
+          return false;
+        }
+      } else if ((end = numberEnd(statement, i)) != -1) {
+        if (!sink.append('?')) {
+          return false;
+        }
+      } else if (c == '\'' && (end = quotedEnd(statement, i, '\'')) != -1) {
+        if (!sink.append('?')) {
+          return false;
+        }
+      } else if (c == '"' && (end = quotedEnd(statement, i, '"')) != -1) {
+        boolean appended =
+            dialect == SqlDialect.COUCHBASE ? sink.append('?') : sink.append(statement, i, end);
+        if (!appended) {
+          return false;
+        }
+      } else if (c == '$' && (end = dollarQuotedEnd(statement, i)) != -1) {
+        if (!sink.append('?')) {
+          return false;
+        }
+      } else if (c == '`' && (end = statement.indexOf('`', i + 1)) != -1) {
+        end++;
+        if (!sink.append(statement, i, end)) {
+          return false;
+        }
+      } else if (isWhitespace(c)) {
+        end = i + 1;
+        while (end < length && isWhitespace(statement.charAt(end))) {
+          end++;
+        }
+        if (!sink.append(' ')) {
+          return false;
+        }
+      } else {
+        end = i + 1;
+        if (!sink.append(c)) {
+          return false;
+        }
+      }
+      i = end;
+    }
+    return true;
+  }
+
+  // IDENTIFIER = ([:letter:] | "_") ([:letter:] | [0-9] | [_.])*
+  private static int identifierEnd(String statement, int from) {
+    int i = from;
+    while (i < statement.length()) {
+      char c = statement.charAt(i);
+      if (!isLetter(c) && !isDigit(c) && c != '_' && c != '.') {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  // BASIC_NUM = [.+-]* [0-9] ([0-9] | [eE.+-])*
+  // HEX_NUM   = "0x" ([a-f] | [A-F] | [0-9])+
+  private static int numberEnd(String statement, int start) {
+    int length = statement.length();
+    int i = start;
+    while (i < length && isSignOrDot(statement.charAt(i))) {
+      i++;
+    }
+    if (i == length || !isDigit(statement.charAt(i))) {
+      return -1;
+    }
+    if (i == start
+        && statement.charAt(i) == '0'
+        && i + 2 < length
+        && (statement.charAt(i + 1) == 'x' || statement.charAt(i + 1) == 'X')
+        && isHexDigit(statement.charAt(i + 2))) {
+      i += 3;
+      while (i < length && isHexDigit(statement.charAt(i))) {
+        i++;
+      }
+      return i;
+    }
+    i++;
+    while (i < length) {
+      char c = statement.charAt(i);
+      if (!isDigit(c) && c != 'e' && c != 'E' && !isSignOrDot(c)) {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  // QUOTED_STR        = "'" ("''" | [^'])* "'"
+  // DOUBLE_QUOTED_STR = "\"" ("\"\"" | [^\"])* "\""
+  // returns the longest match, or -1 if the quote is never closed
+  private static int quotedEnd(String statement, int start, char quote) {
+    int length = statement.length();
+    int lastClose = -1;
+    int i = start + 1;
+    while (i < length) {
+      if (statement.charAt(i) == quote) {
+        lastClose = i;
+        if (i + 1 < length && statement.charAt(i + 1) == quote) {
+          // escaped quote, but the string may also end right here
+          i += 2;
+          continue;
+        }
+        break;
+      }
+      i++;
+    }
+    return lastClose == -1 ? -1 : lastClose + 1;
+  }
+
+  // DOLLAR_QUOTED_STR = "$$" [^$]* "$$"
+  private static int dollarQuotedEnd(String statement, int start) {
+    int length = statement.length();
+    if (start + 1 >= length || statement.charAt(start + 1) != '$') {
+      return -1;
+    }
+    int close = statement.indexOf('$', start + 2);
+    if (close == -1 || close + 1 >= length || statement.charAt(close + 1) != '$') {
+      return -1;
+    }
+    return close + 2;
+  }
+
+  private static boolean isLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isHexDigit(char c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  private static boolean isSignOrDot(char c) {
+    return c == '.' || c == '+' || c == '-';
+  }
+
+  // WHITESPACE = [ \t\r\n]+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  private abstract static class Sink {
+    abstract boolean append(char c);
+
+    boolean append(String s, int start, int end) {
+      for (int i = start; i < end; i++) {
+        if (!append(s.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  // FNV-1a
+  private static final class Hasher extends Sink {
+    long hash = FNV_OFFSET_BASIS;
+
+    @Override
+    boolean append(char c) {
+      hash = (hash ^ c) * FNV_PRIME;
+      return true;
+    }
+  }
+
+  private static final class Matcher extends Sink {
+    private final String expected;
+    int position;
+
+    Matcher(String expected) {
+      this.expected = expected;
+    }
+
+    @Override
+    boolean append(char c) {
+      if (position < expected.length() && expected.charAt(position) == c) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+  }
+
+  private SqlStatementFingerprint() {}
+}
@@ -5,9 +5,8 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 
-import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_MISS;
-
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import javax.annotation.Nullable;
@@ -17,10 +16,28 @@ import javax.annotation.Nullable;
  * statements and queries.
  */
 public final class SqlStatementSanitizer {
-  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
+  // statements are truncated to this many characters after sanitization
+  private static final int maxSanitizedLength =
+      Math.max(
+          1,
+          ConfigPropertiesUtil.getInt(
+              "otel.instrumentation.experimental.db-statement-sanitizer.max-length",
+              AutoSqlSanitizer.LIMIT));
+  // keep only the first tuple of INSERT ... VALUES lists
+  private static final boolean collapseValues =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.experimental.db-statement-sanitizer.collapse-values", false);
 
+  // reports "SqlStatementSanitizer cache hit/miss/eviction" supportability counters
   private static final Cache<CacheKey, SqlStatementInfo> sqlToStatementInfoCache =
-      Cache.bounded(1000);
+      Cache.boundedTinyLfu("SqlStatementSanitizer", 1000);
+  // looked up when a statement is not in the cache above, statements that differ only in their
+  // literals share an entry; reports "SqlStatementSanitizer shape cache hit/miss/eviction"
+  // supportability counters
+  private static final Cache<ShapeCacheKey, SqlStatementInfo> shapeToStatementInfoCache =
+      Cache.boundedTinyLfu("SqlStatementSanitizer shape", 1000);
+  private static final SupportabilityMetrics.Counter sanitizeNanos =
+      SupportabilityMetrics.instance().counter("SqlStatementSanitizer sanitize nanos");
 
   public static SqlStatementSanitizer create(boolean statementSanitizationEnabled) {
     return new SqlStatementSanitizer(statementSanitizationEnabled);
@@ -40,12 +57,51 @@ public final class SqlStatementSanitizer {
     if (!statementSanitizationEnabled || statement == null) {
       return SqlStatementInfo.create(statement, null, null);
     }
-    return sqlToStatementInfoCache.computeIfAbsent(
-        CacheKey.create(statement, dialect),
-        k -> {
-          supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
-          return AutoSqlSanitizer.sanitize(statement, dialect);
-        });
+    CacheKey key = CacheKey.create(statement, dialect);
+    SqlStatementInfo info = sqlToStatementInfoCache.get(key);
+    if (info == null) {
+      // the fingerprint can't tell whether statements differ only after the truncation point
+      info =
+          statement.length() > maxSanitizedLength
+              ? timedSanitize(statement, dialect)
+              : sanitizeByShape(statement, dialect);
+      sqlToStatementInfoCache.put(key, info);
+    }
+    return info;
+  }
+
+  private static SqlStatementInfo sanitizeByShape(String statement, SqlDialect dialect) {
+    // the fingerprint follows the sanitizer, which doesn't hold when VALUES lists are collapsed
+    long fingerprint =
+        collapseValues
+            ? SqlStatementFingerprint.NO_FINGERPRINT
+            : SqlStatementFingerprint.fingerprint(statement, dialect);
+    if (fingerprint == SqlStatementFingerprint.NO_FINGERPRINT) {
+      return timedSanitize(statement, dialect);
+    }
+
+    ShapeCacheKey key = ShapeCacheKey.create(fingerprint, dialect);
+    SqlStatementInfo cached = shapeToStatementInfoCache.get(key);
+    if (cached != null) {
+      String sanitized = cached.getFullStatement();
+      if (sanitized != null && SqlStatementFingerprint.matches(statement, dialect, sanitized)) {
+        return cached;
+      }
+      // fingerprint collision, keep the existing entry
+      return timedSanitize(statement, dialect);
+    }
+    SqlStatementInfo info = timedSanitize(statement, dialect);
+    shapeToStatementInfoCache.put(key, info);
+    return info;
+  }
+
+  private static SqlStatementInfo timedSanitize(String statement, SqlDialect dialect) {
+    long start = System.nanoTime();
+    try {
+      return AutoSqlSanitizer.sanitize(statement, dialect, maxSanitizedLength, collapseValues);
+    } finally {
+      sanitizeNanos.add(System.nanoTime() - start);
+    }
   }
 
   @AutoValue
@@ -59,4 +115,16 @@ public final class SqlStatementSanitizer {
 
     abstract SqlDialect getDialect();
   }
+
+  @AutoValue
+  abstract static class ShapeCacheKey {
+
+    static ShapeCacheKey create(long fingerprint, SqlDialect dialect) {
+      return new AutoValue_SqlStatementSanitizer_ShapeCacheKey(fingerprint, dialect);
+    }
+
+    abstract long getFingerprint();
+
+    abstract SqlDialect getDialect();
+  }
 }
@@ -5,13 +5,8 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.net;
 
-import static java.util.Comparator.comparing;
-import static java.util.Comparator.naturalOrder;
-import static java.util.Comparator.nullsFirst;
-
-import com.google.auto.value.AutoValue;
 import io.opentelemetry.instrumentation.api.incubator.semconv.net.internal.UrlParser;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -19,23 +14,17 @@ import javax.annotation.Nullable;
 
 class PeerServiceResolverImpl implements PeerServiceResolver {
 
-  private static final Comparator<ServiceMatcher> matcherComparator =
-      nullsFirst(
-          comparing(ServiceMatcher::getPort, nullsFirst(naturalOrder()))
-              .thenComparing(comparing(ServiceMatcher::getPath, nullsFirst(naturalOrder()))));
-
-  private final Map<String, Map<ServiceMatcher, String>> mapping = new HashMap<>();
+  private final Map<String, HostMappings> mapping = new HashMap<>();
 
   PeerServiceResolverImpl(Map<String, String> peerServiceMapping) {
+    UrlParser.Offsets offsets = new UrlParser.Offsets();
     peerServiceMapping.forEach(
         (key, serviceName) -> {
           String url = "https://" + key;
-          String host = UrlParser.getHost(url);
-          Integer port = UrlParser.getPort(url);
-          String path = UrlParser.getPath(url);
-          Map<ServiceMatcher, String> matchers =
-              mapping.computeIfAbsent(host, x -> new HashMap<>());
-          matchers.putIfAbsent(ServiceMatcher.create(port, path), serviceName);
+          UrlParser.parse(url, offsets);
+          String host = offsets.getHost(url);
+          HostMappings hostMappings = mapping.computeIfAbsent(host, x -> new HostMappings());
+          hostMappings.add(offsets.getPort(), offsets.getPath(url), serviceName);
         });
   }
 
@@ -48,52 +37,127 @@ class PeerServiceResolverImpl implements PeerServiceResolver {
   @Nullable
   public String resolveService(
       String host, @Nullable Integer port, @Nullable Supplier<String> pathSupplier) {
-    Map<ServiceMatcher, String> matchers = mapping.get(host);
-    if (matchers == null) {
+    HostMappings hostMappings = mapping.get(host);
+    if (hostMappings == null) {
       return null;
     }
-    return matchers.entrySet().stream()
-        .filter(entry -> entry.getKey().matches(port, pathSupplier))
-        .max((o1, o2) -> matcherComparator.compare(o1.getKey(), o2.getKey()))
-        .map(Map.Entry::getValue)
-        .orElse(null);
+    return hostMappings.resolve(port, pathSupplier);
   }
 
-  @AutoValue
-  abstract static class ServiceMatcher {
+  /**
+   * The mappings of a single host. A mapping with a port is preferred over one without, and among
+   * those the mapping with the longest matching path prefix wins.
+   */
+  private static final class HostMappings {
 
-    static ServiceMatcher create(Integer port, String path) {
-      return new AutoValue_PeerServiceResolverImpl_ServiceMatcher(port, path);
+    private final PathMappings anyPort = new PathMappings();
+    private final Map<Integer, PathMappings> byPort = new HashMap<>();
+
+    void add(@Nullable Integer port, @Nullable String path, String serviceName) {
+      PathMappings pathMappings =
+          port == null ? anyPort : byPort.computeIfAbsent(port, x -> new PathMappings());
+      pathMappings.putIfAbsent(path, serviceName);
     }
 
     @Nullable
-    abstract Integer getPort();
+    String resolve(@Nullable Integer port, @Nullable Supplier<String> pathSupplier) {
+      if (port == null) {
+        return anyPort.resolve(pathSupplier);
+      }
+      PathMappings pathMappings = byPort.get(port);
+      if (pathMappings != null) {
+        String serviceName = pathMappings.resolve(pathSupplier);
+        if (serviceName != null) {
+          return serviceName;
+        }
+      }
+      // mappings with a path but without a port only apply to requests without a port
+      return anyPort.root.serviceName;
+    }
+  }
 
-    @Nullable
-    abstract String getPath();
+  /** A trie of path prefixes, the root holds the mapping without a path. */
+  private static final class PathMappings {
 
-    public boolean matches(Integer port, Supplier<String> pathSupplier) {
-      if (this.getPort() != null) {
-        if (!this.getPort().equals(port)) {
-          return false;
+    private final Node root = new Node();
+
+    void putIfAbsent(@Nullable String path, String serviceName) {
+      Node node = root;
+      if (path != null) {
+        for (int i = 0; i < path.length(); i++) {
+          node = node.getOrCreateChild(path.charAt(i));
         }
       }
-      if (this.getPath() != null && this.getPath().length() > 0) {
-        if (pathSupplier == null) {
-          return false;
-        }
-        String path = pathSupplier.get();
-        if (path == null) {
-          return false;
-        }
-        if (!path.startsWith(this.getPath())) {
-          return false;
+      if (node.serviceName == null) {
+        node.serviceName = serviceName;
+      }
+    }
+
+    @Nullable
+    String resolve(@Nullable Supplier<String> pathSupplier) {
+      String serviceName = root.serviceName;
+      if (root.keys.length == 0 || pathSupplier == null) {
+        // no need to compute the path when there are no mappings with a path
+        return serviceName;
+      }
+      String path = pathSupplier.get();
+      if (path == null) {
+        return serviceName;
+      }
+      Node node = root;
+      for (int i = 0; i < path.length(); i++) {
+        node = node.getChild(path.charAt(i));
+        if (node == null) {
+          break;
         }
-        if (port != null) {
-          return port.equals(this.getPort());
+        if (node.serviceName != null) {
+          serviceName = node.serviceName;
         }
       }
-      return true;
+      return serviceName;
+    }
+  }
+
+  private static final class Node {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    // sorted, children[i] is the child for keys[i]
+    private char[] keys = NO_KEYS;
+    private Node[] children = NO_CHILDREN;
+    @Nullable private String serviceName;
+
+    @Nullable
+    Node getChild(char c) {
+      int index = Arrays.binarySearch(keys, c);
+      return index < 0 ? null : children[index];
+    }
+
+    Node getOrCreateChild(char c) {
+      int index = Arrays.binarySearch(keys, c);
+      if (index >= 0) {
+        return children[index];
+      }
+      int insertionPoint = -index - 1;
+      char[] newKeys = new char[keys.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(keys, 0, newKeys, 0, insertionPoint);
+      System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+      System.arraycopy(
+          keys, insertionPoint, newKeys, insertionPoint + 1, keys.length - insertionPoint);
+      System.arraycopy(
+          children,
+          insertionPoint,
+          newChildren,
+          insertionPoint + 1,
+          children.length - insertionPoint);
+      Node child = new Node();
+      newKeys[insertionPoint] = c;
+      newChildren[insertionPoint] = child;
+      keys = newKeys;
+      children = newChildren;
+      return child;
     }
   }
 }
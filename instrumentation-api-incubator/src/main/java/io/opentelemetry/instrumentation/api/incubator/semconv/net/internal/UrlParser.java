@@ -5,7 +5,6 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.net.internal;
 
-import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
 /**
@@ -14,133 +13,203 @@ import javax.annotation.Nullable;
  */
 public final class UrlParser {
 
-  @Nullable
-  public static String getHost(String url) {
+  private static final int MAX_PORT = 65535;
 
-    int startIndex = getHostStartIndex(url);
-    if (startIndex == -1) {
-      return null;
-    }
+  /**
+   * Parses the given url in a single pass, storing the offsets of its host and path and its port in
+   * {@code offsets}. Nothing is allocated, callers that need several components of the same url
+   * should use this method instead of the getters below.
+   *
+   * @return {@code false} if the url has no authority component or its host is empty, in which
+   *     case none of the {@code offsets} are set.
+   */
+  public static boolean parse(String url, Offsets offsets) {
+    offsets.reset();
 
-    int endIndexExclusive = getHostEndIndexExclusive(url, startIndex);
-    if (endIndexExclusive == startIndex) {
-      return null;
+    int schemeEndIndex = url.indexOf(':');
+    if (schemeEndIndex == -1) {
+      // not a valid url
+      return false;
     }
 
-    return url.substring(startIndex, endIndexExclusive);
-  }
-
-  @Nullable
-  public static Integer getPort(String url) {
-
-    int hostStartIndex = getHostStartIndex(url);
-    if (hostStartIndex == -1) {
-      return null;
+    int len = url.length();
+    if (len <= schemeEndIndex + 2
+        || url.charAt(schemeEndIndex + 1) != '/'
+        || url.charAt(schemeEndIndex + 2) != '/') {
+      // has no authority component
+      return false;
     }
 
-    int hostEndIndexExclusive = getHostEndIndexExclusive(url, hostStartIndex);
+    // look for the end of the authority component:
+    //   '/', '?', '#' ==> start of path
+    // and for the end of the host inside of it:
+    //   ':' ==> start of port, unless inside of an ip literal like [::1]
+    int hostStartIndex = schemeEndIndex + 3;
+    int hostEndIndexExclusive = -1;
+    boolean inIpLiteral = false;
+    int index;
+    for (index = hostStartIndex; index < len; index++) {
+      char c = url.charAt(index);
+      if (c == '/' || c == '?' || c == '#') {
+        break;
+      }
+      if (c == '@') {
+        // everything so far was user info
+        hostStartIndex = index + 1;
+        hostEndIndexExclusive = -1;
+        inIpLiteral = false;
+      } else if (c == '[') {
+        inIpLiteral = index == hostStartIndex;
+      } else if (c == ']') {
+        inIpLiteral = false;
+      } else if (c == ':' && hostEndIndexExclusive == -1 && !inIpLiteral) {
+        hostEndIndexExclusive = index;
+      }
+    }
+    int authorityEndIndexExclusive = index;
+    if (hostEndIndexExclusive == -1) {
+      hostEndIndexExclusive = authorityEndIndexExclusive;
+    }
     if (hostEndIndexExclusive == hostStartIndex) {
-      return null;
+      return false;
     }
 
-    if (hostEndIndexExclusive < url.length() && url.charAt(hostEndIndexExclusive) != ':') {
-      return null;
+    offsets.hostStart = hostStartIndex;
+    offsets.hostEnd = hostEndIndexExclusive;
+    if (hostEndIndexExclusive < authorityEndIndexExclusive) {
+      offsets.port = parsePort(url, hostEndIndexExclusive + 1, authorityEndIndexExclusive);
     }
 
-    int portStartIndex = hostEndIndexExclusive + 1;
-
-    int portEndIndexExclusive = getPortEndIndexExclusive(url, portStartIndex);
-    if (portEndIndexExclusive == portStartIndex) {
-      return null;
+    // look for the end of the path:
+    //   '?', '#' ==> end of path
+    int pathStartIndex = authorityEndIndexExclusive;
+    if (pathStartIndex < len && url.charAt(pathStartIndex) == '/') {
+      for (index = pathStartIndex + 1; index < len; index++) {
+        char c = url.charAt(index);
+        if (c == '?' || c == '#') {
+          break;
+        }
+      }
     }
-
-    return safeParse(url.substring(portStartIndex, portEndIndexExclusive));
+    offsets.pathStart = pathStartIndex;
+    offsets.pathEnd = index;
+    return true;
   }
 
   @Nullable
-  public static String getPath(String url) {
-
-    int hostStartIndex = getHostStartIndex(url);
-    if (hostStartIndex == -1) {
+  public static String getHost(String url) {
+    Offsets offsets = new Offsets();
+    if (!parse(url, offsets)) {
       return null;
     }
+    return offsets.getHost(url);
+  }
 
-    int hostEndIndexExclusive = getHostEndIndexExclusive(url, hostStartIndex);
-    if (hostEndIndexExclusive == hostStartIndex) {
+  @Nullable
+  public static Integer getPort(String url) {
+    Offsets offsets = new Offsets();
+    if (!parse(url, offsets)) {
       return null;
     }
+    return offsets.getPort();
+  }
 
-    int pathStartIndex = url.indexOf('/', hostEndIndexExclusive);
-    if (pathStartIndex == -1) {
+  @Nullable
+  public static String getPath(String url) {
+    Offsets offsets = new Offsets();
+    if (!parse(url, offsets)) {
       return null;
     }
+    return offsets.getPath(url);
+  }
 
-    int pathEndIndexExclusive = getPathEndIndexExclusive(url, pathStartIndex);
-    if (pathEndIndexExclusive == pathStartIndex) {
-      return null;
+  // parses the digits between the given indexes, returns -1 if they are not a valid port
+  private static int parsePort(String url, int startIndex, int endIndexExclusive) {
+    if (startIndex == endIndexExclusive) {
+      return -1;
     }
-
-    return url.substring(pathStartIndex, pathEndIndexExclusive);
+    int port = 0;
+    for (int i = startIndex; i < endIndexExclusive; i++) {
+      int digit = url.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      port = port * 10 + digit;
+      if (port > MAX_PORT) {
+        return -1;
+      }
+    }
+    return port;
   }
 
-  private static int getHostStartIndex(String url) {
+  /**
+   * The offsets of the components of an url parsed by {@link UrlParser#parse(String, Offsets)}.
+   * Instances are mutable and can be reused for parsing several urls.
+   *
+   * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+   * at any time.
+   */
+  public static final class Offsets {
+
+    private int hostStart;
+    private int hostEnd;
+    private int port;
+    private int pathStart;
+    private int pathEnd;
+
+    public Offsets() {
+      reset();
+    }
 
-    int schemeEndIndex = url.indexOf(':');
-    if (schemeEndIndex == -1) {
-      // not a valid url
-      return -1;
+    private void reset() {
+      hostStart = -1;
+      hostEnd = -1;
+      port = -1;
+      pathStart = -1;
+      pathEnd = -1;
     }
 
-    int len = url.length();
-    if (len <= schemeEndIndex + 2
-        || url.charAt(schemeEndIndex + 1) != '/'
-        || url.charAt(schemeEndIndex + 2) != '/') {
-      // has no authority component
-      return -1;
+    /** Returns the index of the first character of the host. */
+    public int hostStart() {
+      return hostStart;
     }
 
-    return schemeEndIndex + 3;
-  }
+    /** Returns the index after the last character of the host. */
+    public int hostEnd() {
+      return hostEnd;
+    }
 
-  private static int getHostEndIndexExclusive(String url, int startIndex) {
-    // look for the end of the host:
-    //   ':' ==> start of port, or
-    //   '/', '?', '#' ==> start of path
-    return getEndIndexExclusive(
-        url, startIndex, c -> (c == ':' || c == '/' || c == '?' || c == '#'));
-  }
+    /** Returns the port, or {@code -1} if the url has no valid port. */
+    public int port() {
+      return port;
+    }
 
-  private static int getPortEndIndexExclusive(String url, int startIndex) {
-    // look for the end of the port:
-    //   '/', '?', '#' ==> start of path
-    return getEndIndexExclusive(url, startIndex, c -> (c == '/' || c == '?' || c == '#'));
-  }
+    /** Returns the index of the first character of the path. */
+    public int pathStart() {
+      return pathStart;
+    }
 
-  private static int getPathEndIndexExclusive(String url, int startIndex) {
-    // look for the end of the path:
-    //   '?', '#' ==> end of path
-    return getEndIndexExclusive(url, startIndex, c -> (c == '?' || c == '#'));
-  }
+    /**
+     * Returns the index after the last character of the path, which is equal to {@link
+     * #pathStart()} if the url has no path.
+     */
+    public int pathEnd() {
+      return pathEnd;
+    }
 
-  private static int getEndIndexExclusive(
-      String url, int startIndex, Predicate<Character> predicate) {
-    int index;
-    int len = url.length();
-    for (index = startIndex; index < len; index++) {
-      char c = url.charAt(index);
-      if (predicate.test(c)) {
-        break;
-      }
+    @Nullable
+    public String getHost(String url) {
+      return hostStart == -1 ? null : url.substring(hostStart, hostEnd);
     }
-    return index;
-  }
 
-  @Nullable
-  private static Integer safeParse(String port) {
-    try {
-      return Integer.valueOf(port);
-    } catch (NumberFormatException e) {
-      return null;
+    @Nullable
+    public Integer getPort() {
+      return port == -1 ? null : port;
+    }
+
+    @Nullable
+    public String getPath(String url) {
+      return pathStart == pathEnd ? null : url.substring(pathStart, pathEnd);
     }
   }
 
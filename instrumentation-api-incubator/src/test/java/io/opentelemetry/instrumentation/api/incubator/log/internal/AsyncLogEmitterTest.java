@@ -0,0 +1,158 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.log.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AsyncLogEmitterTest {
+
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  @Test
+  void emitsInOrder() {
+    List<Integer> emitted = new CopyOnWriteArrayList<>();
+    AsyncLogEmitter<Integer> asyncEmitter = AsyncLogEmitter.start("test", 16, true, emitted::add);
+
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      asyncEmitter.emit(i);
+      expected.add(i);
+    }
+    asyncEmitter.shutdown(10, TimeUnit.SECONDS);
+
+    assertThat(emitted).isEqualTo(expected);
+    assertThat(asyncEmitter.getDroppedCount()).isZero();
+  }
+
+  @Test
+  void dropsWhenFull() throws InterruptedException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Integer> emitted = new CopyOnWriteArrayList<>();
+    AsyncLogEmitter<Integer> asyncEmitter =
+        AsyncLogEmitter.start(
+            "test",
+            4,
+            false,
+            event -> {
+              if (event == 0) {
+                blocked.countDown();
+                await(release);
+              }
+              emitted.add(event);
+            });
+
+    asyncEmitter.emit(0);
+    blocked.await();
+    for (int i = 1; i <= 10; i++) {
+      asyncEmitter.emit(i);
+    }
+    release.countDown();
+    asyncEmitter.shutdown(10, TimeUnit.SECONDS);
+
+    assertThat(emitted).containsExactly(0, 1, 2, 3, 4);
+    assertThat(asyncEmitter.getDroppedCount()).isEqualTo(6);
+  }
+
+  @Test
+  void propagatesContext() {
+    List<String> emitted = new CopyOnWriteArrayList<>();
+    AsyncLogEmitter<String> asyncEmitter =
+        AsyncLogEmitter.start(
+            "test", 16, true, event -> emitted.add(event + Context.current().get(KEY)));
+
+    try (Scope ignored = Context.root().with(KEY, "1").makeCurrent()) {
+      asyncEmitter.emit("a");
+    }
+    asyncEmitter.emit("b");
+    asyncEmitter.shutdown(10, TimeUnit.SECONDS);
+
+    assertThat(emitted).containsExactly("a1", "bnull");
+  }
+
+  @Test
+  void keepsEmittingAfterErrors() {
+    List<Integer> emitted = new CopyOnWriteArrayList<>();
+    AsyncLogEmitter<Integer> asyncEmitter =
+        AsyncLogEmitter.start(
+            "test",
+            4,
+            true,
+            event -> {
+              if (event == 0) {
+                throw new LinkageError("test");
+              }
+              emitted.add(event);
+            });
+
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      asyncEmitter.emit(i);
+      if (i > 0) {
+        expected.add(i);
+      }
+    }
+    asyncEmitter.shutdown(10, TimeUnit.SECONDS);
+
+    assertThat(emitted).isEqualTo(expected);
+  }
+
+  @Test
+  void emitsOnCallingThreadAfterShutdown() {
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+    AsyncLogEmitter<String> asyncEmitter =
+        AsyncLogEmitter.start("test", 16, false, event -> threads.add(Thread.currentThread()));
+
+    asyncEmitter.shutdown(10, TimeUnit.SECONDS);
+    asyncEmitter.emit("a");
+
+    assertThat(threads).containsExactly(Thread.currentThread());
+  }
+
+  @Test
+  void emitsEventsEnqueuedConcurrentlyWithShutdown() throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      AtomicInteger emitted = new AtomicInteger();
+      AsyncLogEmitter<Integer> asyncEmitter =
+          AsyncLogEmitter.start("test", 1024, true, event -> emitted.incrementAndGet());
+      CountDownLatch started = new CountDownLatch(1);
+      Thread producer =
+          new Thread(
+              () -> {
+                started.countDown();
+                for (int i = 0; i < 1000; i++) {
+                  asyncEmitter.emit(i);
+                }
+              });
+      producer.start();
+      started.await();
+
+      asyncEmitter.shutdown(10, TimeUnit.SECONDS);
+      producer.join();
+
+      assertThat(emitted.get() + asyncEmitter.getDroppedCount()).isEqualTo(1000);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.log.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class StackTraceRendererTest {
+
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
+  @ParameterizedTest
+  @MethodSource("throwables")
+  void rendersLikePrintStackTrace(Throwable throwable) {
+    StackTraceRenderer renderer = new StackTraceRenderer(0, 0, 0);
+
+    assertThat(renderer.render(throwable)).isEqualTo(printStackTrace(throwable));
+  }
+
+  static Stream<Throwable> throwables() {
+    RuntimeException withSuppressed = new RuntimeException("suppressed", new IOException("cause"));
+    withSuppressed.addSuppressed(
+        new IllegalArgumentException("first", new ArithmeticException("nested")));
+    withSuppressed.addSuppressed(new IllegalStateException("second"));
+
+    RuntimeException first = new RuntimeException("first");
+    RuntimeException second = new RuntimeException("second", first);
+    first.initCause(second);
+
+    return Stream.of(
+        new Exception(),
+        new IllegalStateException("message"),
+        new RuntimeException("wrapper", nested(20)),
+        withSuppressed,
+        second);
+  }
+
+  @Test
+  void limitsFramesPerThrowable() {
+    StackTraceRenderer renderer = new StackTraceRenderer(2, 0, 0);
+    Throwable throwable = nested(10);
+    StackTraceElement[] trace = throwable.getStackTrace();
+
+    assertThat(renderer.render(throwable))
+        .isEqualTo(
+            throwable
+                + LINE_SEPARATOR
+                + "\tat "
+                + trace[0]
+                + LINE_SEPARATOR
+                + "\tat "
+                + trace[1]
+                + LINE_SEPARATOR
+                + "\t... "
+                + (trace.length - 2)
+                + " more"
+                + LINE_SEPARATOR);
+  }
+
+  @Test
+  void limitsLength() {
+    StackTraceRenderer renderer = new StackTraceRenderer(0, 100, 0);
+    Throwable throwable = new RuntimeException("wrapper", nested(20));
+
+    assertThat(renderer.render(throwable)).isEqualTo(printStackTrace(throwable).substring(0, 100));
+  }
+
+  @Test
+  void omitsIdenticalStackTraces() {
+    StackTraceRenderer renderer = new StackTraceRenderer(0, 0, 60_000);
+    Throwable[] throwables = new Throwable[2];
+    for (int i = 0; i < throwables.length; i++) {
+      // same frames every time
+      throwables[i] = new IllegalStateException("failure " + i);
+    }
+    Throwable other = new IllegalArgumentException("other");
+
+    assertThat(renderer.render(throwables[0])).isEqualTo(printStackTrace(throwables[0]));
+    assertThat(renderer.render(throwables[1]))
+        .isEqualTo(
+            throwables[1]
+                + LINE_SEPARATOR
+                + "\t... identical stack trace omitted"
+                + LINE_SEPARATOR);
+    assertThat(renderer.render(other)).isEqualTo(printStackTrace(other));
+  }
+
+  @Test
+  void usesOverriddenPrintStackTrace() {
+    StackTraceRenderer renderer = new StackTraceRenderer(1, 20, 0);
+    Throwable throwable = new CustomFormatException(nested(10));
+
+    assertThat(renderer.render(throwable))
+        .isEqualTo(printStackTrace(throwable).substring(0, 20))
+        .startsWith("custom format");
+  }
+
+  @Test
+  void rendersIdenticalStackTracesWithoutDeduplication() {
+    StackTraceRenderer renderer = new StackTraceRenderer(0, 0, 0);
+    Throwable throwable = new IllegalStateException("failure");
+
+    assertThat(renderer.render(throwable)).isEqualTo(printStackTrace(throwable));
+    assertThat(renderer.render(throwable)).isEqualTo(printStackTrace(throwable));
+  }
+
+  private static Throwable nested(int depth) {
+    if (depth == 0) {
+      return new IllegalStateException("nested");
+    }
+    return nested(depth - 1);
+  }
+
+  private static class CustomFormatException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    CustomFormatException(Throwable cause) {
+      super(cause);
+    }
+
+    @Override
+    public void printStackTrace(PrintWriter writer) {
+      writer.println("custom format of " + getCause());
+      super.printStackTrace(writer);
+    }
+  }
+
+  private static String printStackTrace(Throwable throwable) {
+    StringWriter writer = new StringWriter();
+    throwable.printStackTrace(new PrintWriter(writer));
+    return writer.toString();
+  }
+}
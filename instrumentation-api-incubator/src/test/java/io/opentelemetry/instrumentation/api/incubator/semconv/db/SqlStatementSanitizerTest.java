@@ -44,6 +44,68 @@ public class SqlStatementSanitizerTest {
     assertThat(result.getMainIdentifier()).isEqualToIgnoringCase(expected.getMainIdentifier());
   }
 
+  @ParameterizedTest
+  @ArgumentsSource(SqlArgs.class)
+  void fingerprintFollowsSanitizer(String original, String expected) {
+    assertFingerprintMatches(original, SqlDialect.DEFAULT, expected);
+  }
+
+  @ParameterizedTest
+  @ArgumentsSource(CouchbaseArgs.class)
+  void fingerprintFollowsCouchbaseSanitizer(String original, String expected) {
+    assertFingerprintMatches(original, SqlDialect.COUCHBASE, expected);
+  }
+
+  private static void assertFingerprintMatches(
+      String original, SqlDialect dialect, String expected) {
+    // statements with non-ascii characters are not fingerprinted
+    if (SqlStatementFingerprint.fingerprint(original, dialect)
+        != SqlStatementFingerprint.NO_FINGERPRINT) {
+      assertThat(SqlStatementFingerprint.matches(original, dialect, expected)).isTrue();
+    }
+  }
+
+  @Test
+  void statementsDifferingInLiteralsShareFingerprint() {
+    long fingerprint =
+        SqlStatementFingerprint.fingerprint(
+            "SELECT * FROM TABLE WHERE FIELD = 'a' AND ID = 1", SqlDialect.DEFAULT);
+    assertThat(fingerprint).isNotEqualTo(SqlStatementFingerprint.NO_FINGERPRINT);
+    assertThat(
+            SqlStatementFingerprint.fingerprint(
+                "SELECT *  FROM TABLE WHERE FIELD = 'it''s' AND ID = -1.5e3", SqlDialect.DEFAULT))
+        .isEqualTo(fingerprint);
+    assertThat(
+            SqlStatementFingerprint.fingerprint(
+                "SELECT * FROM OTHER WHERE FIELD = 'a' AND ID = 1", SqlDialect.DEFAULT))
+        .isNotEqualTo(fingerprint);
+
+    SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
+    SqlStatementInfo first = sanitizer.sanitize("UPDATE TABLE SET NAME = 'a' WHERE ID = 1");
+    SqlStatementInfo second = sanitizer.sanitize("UPDATE TABLE SET NAME = 'b' WHERE ID = 22");
+    assertThat(second).isEqualTo(first);
+    assertThat(second.getFullStatement()).isEqualTo("UPDATE TABLE SET NAME = ? WHERE ID = ?");
+  }
+
+  @Test
+  void repeatedStatementsAreCached() {
+    SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
+    // not fingerprinted, only cached by its text
+    String nonAscii = "SELECT * FROM tablé WHERE ID = 1";
+    String statement = "DELETE FROM TABLE WHERE ID = 1";
+
+    assertThat(sanitizer.sanitize(nonAscii)).isSameAs(sanitizer.sanitize(nonAscii));
+    assertThat(sanitizer.sanitize(statement)).isSameAs(sanitizer.sanitize(statement));
+  }
+
+  @Test
+  void nonAsciiStatementsAreNotFingerprinted() {
+    assertThat(
+            SqlStatementFingerprint.fingerprint(
+                "SELECT * FROM tablé WHERE ID = 1", SqlDialect.DEFAULT))
+        .isEqualTo(SqlStatementFingerprint.NO_FINGERPRINT);
+  }
+
   @Test
   void veryLongSelectStatementsAreOk() {
     StringBuilder sb = new StringBuilder("SELECT * FROM table WHERE");
@@ -58,6 +120,64 @@ public class SqlStatementSanitizerTest {
     SqlStatementInfo result = SqlStatementSanitizer.create(true).sanitize(query);
 
     assertThat(result).isEqualTo(expected);
+    // statements that are truncated are cached too
+    assertThat(SqlStatementSanitizer.create(true).sanitize(query)).isSameAs(result);
+  }
+
+  @Test
+  void mainIdentifierIsExtractedPastLimit() {
+    StringBuilder sb = new StringBuilder("SELECT column0");
+    for (int i = 1; i < 500; i++) {
+      sb.append(", column").append(i);
+    }
+    sb.append(" FROM table WHERE column0 = 123");
+    String query = sb.toString();
+
+    SqlStatementInfo result = AutoSqlSanitizer.sanitize(query, SqlDialect.DEFAULT, 100, false);
+
+    assertThat(result)
+        .isEqualTo(SqlStatementInfo.create(query.substring(0, 100), "SELECT", "table"));
+  }
+
+  @Test
+  void collapseValues() {
+    String query =
+        "INSERT INTO table (a, b) VALUES (1, 'x'), (2, 'y'),(3,'z') "
+            + "ON DUPLICATE KEY UPDATE b = 'q'";
+
+    SqlStatementInfo result = AutoSqlSanitizer.sanitize(query, SqlDialect.DEFAULT, 1000, true);
+
+    assertThat(result)
+        .isEqualTo(
+            SqlStatementInfo.create(
+                "INSERT INTO table (a, b) VALUES (?, ?), ... ON DUPLICATE KEY UPDATE b = ?",
+                "INSERT",
+                "table"));
+    assertThat(AutoSqlSanitizer.sanitize(query, SqlDialect.DEFAULT, 1000, false).getFullStatement())
+        .isEqualTo(
+            "INSERT INTO table (a, b) VALUES (?, ?), (?, ?),(?,?) ON DUPLICATE KEY UPDATE b = ?");
+  }
+
+  @Test
+  void collapseValuesKeepsSingleTuple() {
+    String query = "INSERT INTO table (a, b) VALUES (1, (SELECT 2, 3))";
+
+    SqlStatementInfo result = AutoSqlSanitizer.sanitize(query, SqlDialect.DEFAULT, 1000, true);
+
+    assertThat(result.getFullStatement())
+        .isEqualTo("INSERT INTO table (a, b) VALUES (?, (SELECT ?, ?))");
+  }
+
+  @Test
+  void collapseValuesIgnoresColumnNamedValues() {
+    String query = "INSERT INTO table (values, x) VALUES (1, 'a'), (2, 'b')";
+
+    SqlStatementInfo result = AutoSqlSanitizer.sanitize(query, SqlDialect.DEFAULT, 1000, true);
+
+    assertThat(result)
+        .isEqualTo(
+            SqlStatementInfo.create(
+                "INSERT INTO table (values, x) VALUES (?, ?), ...", "INSERT", "table"));
   }
 
   @Test
@@ -6,9 +6,11 @@
 package io.opentelemetry.instrumentation.api.incubator.semconv.net;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 
 class PeerServiceResolverTest {
@@ -35,4 +37,44 @@ class PeerServiceResolverTest {
     assertEquals(
         "someOtherServiceAPI", peerServiceResolver.resolveService("1.2.3.4", null, () -> "/api"));
   }
+
+  @Test
+  void longestPathPrefixWins() {
+    Map<String, String> peerServiceMapping = new HashMap<>();
+    peerServiceMapping.put("example.com", "base");
+    peerServiceMapping.put("example.com/api", "api");
+    peerServiceMapping.put("example.com/api/v2", "apiV2");
+    peerServiceMapping.put("example.com:8080/api", "api8080");
+
+    PeerServiceResolver peerServiceResolver = PeerServiceResolver.create(peerServiceMapping);
+
+    assertEquals("apiV2", peerServiceResolver.resolveService("example.com", null, () -> "/api/v2"));
+    assertEquals(
+        "apiV2", peerServiceResolver.resolveService("example.com", null, () -> "/api/v2/users"));
+    assertEquals("api", peerServiceResolver.resolveService("example.com", null, () -> "/api/v1"));
+    assertEquals("base", peerServiceResolver.resolveService("example.com", null, () -> "/other"));
+    assertEquals("base", peerServiceResolver.resolveService("example.com", null, () -> "/ap"));
+    assertEquals(
+        "api8080", peerServiceResolver.resolveService("example.com", 8080, () -> "/api/v2"));
+    // mappings with a path but without a port don't apply to requests with a port
+    assertEquals("base", peerServiceResolver.resolveService("example.com", 9000, () -> "/api"));
+    assertNull(peerServiceResolver.resolveService("other.com", null, () -> "/api"));
+  }
+
+  @Test
+  void pathIsOnlyComputedWhenNeeded() {
+    Map<String, String> peerServiceMapping = new HashMap<>();
+    peerServiceMapping.put("example.com", "base");
+    peerServiceMapping.put("example.com:8080", "base8080");
+    peerServiceMapping.put("other.com/api", "api");
+
+    PeerServiceResolver peerServiceResolver = PeerServiceResolver.create(peerServiceMapping);
+    Supplier<String> pathSupplier =
+        () -> {
+          throw new AssertionError("path should not be computed");
+        };
+
+    assertEquals("base", peerServiceResolver.resolveService("example.com", null, pathSupplier));
+    assertEquals("base8080", peerServiceResolver.resolveService("example.com", 8080, pathSupplier));
+  }
 }
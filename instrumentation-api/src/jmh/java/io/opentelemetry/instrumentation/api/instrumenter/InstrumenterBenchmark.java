@@ -42,6 +42,16 @@ public class InstrumenterBenchmark {
               HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
           .buildInstrumenter();
 
+  private static final Instrumenter<Void, Void> REUSING_INSTRUMENTER =
+      Instrumenter.<Void, Void>builder(
+              OpenTelemetry.noop(),
+              "benchmark",
+              HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+          .addAttributesExtractor(
+              HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+          .setReuseBuffers(true)
+          .buildInstrumenter();
+
   @Benchmark
   public Context start() {
     return INSTRUMENTER.start(Context.root(), null);
@@ -54,6 +64,18 @@ public class InstrumenterBenchmark {
     return context;
   }
 
+  @Benchmark
+  public Context start_reuseBuffers() {
+    return REUSING_INSTRUMENTER.start(Context.root(), null);
+  }
+
+  @Benchmark
+  public Context startEnd_reuseBuffers() {
+    Context context = REUSING_INSTRUMENTER.start(Context.root(), null);
+    REUSING_INSTRUMENTER.end(context, null, null, null);
+    return context;
+  }
+
   enum ConstantHttpAttributesGetter implements HttpClientAttributesGetter<Void, Void> {
     INSTANCE;
 
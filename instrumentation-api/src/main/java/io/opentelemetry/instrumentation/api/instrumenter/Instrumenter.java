@@ -68,6 +68,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
   private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
   private final String instrumentationName;
+  private final SupportabilityMetrics.SuppressedSpanCounter suppressedSpanCounter;
   private final Tracer tracer;
   private final SpanNameExtractor<? super REQUEST> spanNameExtractor;
   private final SpanKindExtractor<? super REQUEST> spanKindExtractor;
@@ -80,9 +81,14 @@ public class Instrumenter<REQUEST, RESPONSE> {
   private final ErrorCauseExtractor errorCauseExtractor;
   private final boolean enabled;
   private final SpanSuppressor spanSuppressor;
+  private final boolean reuseBuffers;
+  // attributes can only be reused when no customizer or listener may keep a reference to them
+  private final boolean reuseStartAttributes;
+  private final boolean reuseEndAttributes;
 
   Instrumenter(InstrumenterBuilder<REQUEST, RESPONSE> builder) {
     this.instrumentationName = builder.instrumentationName;
+    this.suppressedSpanCounter = supportability.suppressedSpanCounter(instrumentationName);
     this.tracer = builder.buildTracer();
     this.spanNameExtractor = builder.spanNameExtractor;
     this.spanKindExtractor = builder.spanKindExtractor;
@@ -94,6 +100,10 @@ public class Instrumenter<REQUEST, RESPONSE> {
     this.errorCauseExtractor = builder.errorCauseExtractor;
     this.enabled = builder.enabled;
     this.spanSuppressor = builder.buildSpanSuppressor();
+    this.reuseBuffers = builder.reuseBuffers;
+    this.reuseStartAttributes =
+        reuseBuffers && contextCustomizers.isEmpty() && operationListeners.isEmpty();
+    this.reuseEndAttributes = reuseBuffers && operationListeners.isEmpty();
   }
 
   /**
@@ -114,7 +124,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
     boolean suppressed = spanSuppressor.shouldSuppress(parentContext, spanKind);
 
     if (suppressed) {
-      supportability.recordSuppressedSpan(spanKind, instrumentationName);
+      suppressedSpanCounter.record(spanKind);
     }
     return !suppressed;
   }
@@ -161,6 +171,22 @@ public class Instrumenter<REQUEST, RESPONSE> {
   }
 
   private Context doStart(Context parentContext, REQUEST request, @Nullable Instant startTime) {
+    if (!reuseBuffers) {
+      return doStart(parentContext, request, startTime, null);
+    }
+    InstrumenterBuffers buffers = InstrumenterBuffers.acquire();
+    try {
+      return doStart(parentContext, request, startTime, buffers);
+    } finally {
+      buffers.release();
+    }
+  }
+
+  private Context doStart(
+      Context parentContext,
+      REQUEST request,
+      @Nullable Instant startTime,
+      @Nullable InstrumenterBuffers buffers) {
     SpanKind spanKind = spanKindExtractor.extract(request);
     SpanBuilder spanBuilder =
         tracer.spanBuilder(spanNameExtractor.extract(request)).setSpanKind(spanKind);
@@ -169,12 +195,18 @@ public class Instrumenter<REQUEST, RESPONSE> {
       spanBuilder.setStartTimestamp(startTime);
     }
 
-    SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
-    for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
-      spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+    if (!spanLinksExtractors.isEmpty()) {
+      SpanLinksBuilder spanLinksBuilder =
+          buffers != null
+              ? buffers.spanLinksBuilder.reset(spanBuilder)
+              : new SpanLinksBuilderImpl(spanBuilder);
+      for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
+        spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+      }
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
+    UnsafeAttributes attributes =
+        buffers != null && reuseStartAttributes ? buffers.attributes : new UnsafeAttributes();
     for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
       extractor.onStart(attributes, parentContext, request);
     }
@@ -218,6 +250,25 @@ public class Instrumenter<REQUEST, RESPONSE> {
       @Nullable RESPONSE response,
       @Nullable Throwable error,
       @Nullable Instant endTime) {
+    if (!reuseBuffers) {
+      doEnd(context, request, response, error, endTime, null);
+      return;
+    }
+    InstrumenterBuffers buffers = InstrumenterBuffers.acquire();
+    try {
+      doEnd(context, request, response, error, endTime, buffers);
+    } finally {
+      buffers.release();
+    }
+  }
+
+  private void doEnd(
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      @Nullable Instant endTime,
+      @Nullable InstrumenterBuffers buffers) {
     Span span = Span.fromContext(context);
 
     if (error != null) {
@@ -225,7 +276,8 @@ public class Instrumenter<REQUEST, RESPONSE> {
       span.recordException(error);
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
+    UnsafeAttributes attributes =
+        buffers != null && reuseEndAttributes ? buffers.attributes : new UnsafeAttributes();
     for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
       extractor.onEnd(attributes, context, request, response, error);
     }
@@ -240,7 +292,8 @@ public class Instrumenter<REQUEST, RESPONSE> {
       }
     }
 
-    SpanStatusBuilder spanStatusBuilder = new SpanStatusBuilderImpl(span);
+    SpanStatusBuilder spanStatusBuilder =
+        buffers != null ? buffers.spanStatusBuilder.reset(span) : new SpanStatusBuilderImpl(span);
     spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
 
     if (endTime != null) {
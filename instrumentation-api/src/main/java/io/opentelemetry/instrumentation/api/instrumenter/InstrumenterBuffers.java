@@ -0,0 +1,51 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+/**
+ * Per-thread attributes, span links and span status builders that the {@link Instrumenter} reuses
+ * between operations, so that the steady-state start and end paths do not allocate anything
+ * besides the span itself.
+ *
+ * <p>Buffers are handed out through {@link #acquire()} and must be returned with {@link
+ * #release()} once the operation phase that used them is finished. A re-entrant call on the same
+ * thread (e.g. an extractor that triggers another instrumented operation) gets a fresh, unpooled
+ * instance instead.
+ */
+final class InstrumenterBuffers {
+
+  private static final ThreadLocal<InstrumenterBuffers> buffers =
+      new ThreadLocal<InstrumenterBuffers>() {
+        @Override
+        protected InstrumenterBuffers initialValue() {
+          return new InstrumenterBuffers();
+        }
+      };
+
+  static InstrumenterBuffers acquire() {
+    InstrumenterBuffers threadBuffers = buffers.get();
+    if (threadBuffers.inUse) {
+      return new InstrumenterBuffers();
+    }
+    threadBuffers.inUse = true;
+    return threadBuffers;
+  }
+
+  final UnsafeAttributes attributes = new UnsafeAttributes();
+  final SpanLinksBuilderImpl spanLinksBuilder = new SpanLinksBuilderImpl();
+  final SpanStatusBuilderImpl spanStatusBuilder = new SpanStatusBuilderImpl();
+
+  private boolean inUse;
+
+  private InstrumenterBuffers() {}
+
+  void release() {
+    attributes.clear();
+    spanLinksBuilder.reset(null);
+    spanStatusBuilder.reset(null);
+    inUse = false;
+  }
+}
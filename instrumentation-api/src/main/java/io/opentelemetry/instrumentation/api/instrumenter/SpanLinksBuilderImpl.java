@@ -5,29 +5,52 @@
 
 package io.opentelemetry.instrumentation.api.instrumenter;
 
+import static java.util.logging.Level.FINE;
+
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanContext;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 final class SpanLinksBuilderImpl implements SpanLinksBuilder {
-  private final SpanBuilder spanBuilder;
+  private static final Logger logger = Logger.getLogger(SpanLinksBuilderImpl.class.getName());
+
+  // null once the buffer that holds this builder was released, i.e. the span has been started
+  @Nullable private SpanBuilder spanBuilder;
+
+  SpanLinksBuilderImpl() {}
 
   SpanLinksBuilderImpl(SpanBuilder spanBuilder) {
     this.spanBuilder = spanBuilder;
   }
 
+  @CanIgnoreReturnValue
+  SpanLinksBuilderImpl reset(@Nullable SpanBuilder spanBuilder) {
+    this.spanBuilder = spanBuilder;
+    return this;
+  }
+
   @Override
   @CanIgnoreReturnValue
   public SpanLinksBuilder addLink(SpanContext spanContext) {
-    spanBuilder.addLink(spanContext);
+    if (spanBuilder != null) {
+      spanBuilder.addLink(spanContext);
+    } else {
+      logger.log(FINE, "Ignoring span link {0} added after the span was started", spanContext);
+    }
     return this;
   }
 
   @Override
   @CanIgnoreReturnValue
   public SpanLinksBuilder addLink(SpanContext spanContext, Attributes attributes) {
-    spanBuilder.addLink(spanContext, attributes);
+    if (spanBuilder != null) {
+      spanBuilder.addLink(spanContext, attributes);
+    } else {
+      logger.log(FINE, "Ignoring span link {0} added after the span was started", spanContext);
+    }
     return this;
   }
 }
@@ -5,21 +5,40 @@
 
 package io.opentelemetry.instrumentation.api.instrumenter;
 
+import static java.util.logging.Level.FINE;
+
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 final class SpanStatusBuilderImpl implements SpanStatusBuilder {
-  private final Span span;
+  private static final Logger logger = Logger.getLogger(SpanStatusBuilderImpl.class.getName());
+
+  // null once the buffer that holds this builder was released, i.e. the span has been ended
+  @Nullable private Span span;
+
+  SpanStatusBuilderImpl() {}
 
   SpanStatusBuilderImpl(Span span) {
     this.span = span;
   }
 
+  @CanIgnoreReturnValue
+  SpanStatusBuilderImpl reset(@Nullable Span span) {
+    this.span = span;
+    return this;
+  }
+
   @Override
   @CanIgnoreReturnValue
   public SpanStatusBuilder setStatus(StatusCode statusCode, String description) {
-    span.setStatus(statusCode, description);
+    if (span != null) {
+      span.setStatus(statusCode, description);
+    } else {
+      logger.log(FINE, "Ignoring span status {0} set after the span was ended", statusCode);
+    }
     return this;
   }
 }
@@ -5,27 +5,68 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.SpanKind;
+import java.lang.ref.WeakReference;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
- * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * Internal counters of the instrumentation, reported to the log every 5 seconds when {@code
+ * otel.javaagent.debug} is enabled, and exported as OpenTelemetry metrics when {@code
+ * otel.instrumentation.experimental.supportability-metrics.enabled} is set.
+ *
+ * <p>Counters are resolved once, e.g. when an instrumenter is created, and the returned handles are
+ * incremented on the hot path without any further lookups. The handles are striped by thread so
+ * that threads incrementing the same counter don't contend on a single cache line; they do nothing
+ * until the counters are enabled.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change at
  * any time.
  */
 public final class SupportabilityMetrics {
   private static final Logger logger = Logger.getLogger(SupportabilityMetrics.class.getName());
+
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.instrumentation-api";
+  private static final AttributeKey<String> INSTRUMENTATION_NAME_KEY =
+      stringKey("instrumentation.name");
+  private static final AttributeKey<String> SPAN_KIND_KEY = stringKey("span.kind");
+  private static final AttributeKey<String> COUNTER_NAME_KEY = stringKey("counter.name");
+
+  private static final SpanKind[] SPAN_KINDS = SpanKind.values();
+
+  // a power of two
+  private static final int STRIPES =
+      Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), 16) * 2 - 1);
+  // 8 longs fill a 64 byte cache line
+  private static final int STRIPE_LENGTH = 8;
+
   private final boolean agentDebugEnabled;
   private final Consumer<String> reporter;
+  // set once either the debug reporter is running or the metrics are exported
+  private volatile boolean enabled;
 
-  private final ConcurrentMap<String, KindCounters> suppressionCounters = new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, SuppressedSpanCounter> suppressionCounters =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+  private final List<RegisteredCounter<?>> registeredCounters = new CopyOnWriteArrayList<>();
+  private final AtomicBoolean metricsRegistered = new AtomicBoolean();
 
   private static final SupportabilityMetrics INSTANCE =
       new SupportabilityMetrics(
@@ -40,45 +81,191 @@ public final class SupportabilityMetrics {
   SupportabilityMetrics(boolean agentDebugEnabled, Consumer<String> reporter) {
     this.agentDebugEnabled = agentDebugEnabled;
     this.reporter = reporter;
+    this.enabled = agentDebugEnabled;
+  }
+
+  /**
+   * Returns the counter of spans suppressed by the given instrumentation. The returned counter
+   * should be kept and reused.
+   */
+  public SuppressedSpanCounter suppressedSpanCounter(String instrumentationName) {
+    SuppressedSpanCounter counter =
+        suppressionCounters.computeIfAbsent(
+            instrumentationName, name -> new SuppressedSpanCounter());
+    // read after the counter was published, see enable()
+    if (enabled) {
+      counter.enable();
+    }
+    return counter;
   }
 
+  /**
+   * Returns the counter with the given name. The returned counter should be kept and reused; it
+   * can't be reset.
+   */
+  public Counter counter(String counterName) {
+    Counter counter =
+        counters.computeIfAbsent(
+            counterName,
+            name -> {
+              Counter newCounter = new Counter();
+              registeredCounters.add(new RegisteredCounter<>(name, newCounter, Counter::sum));
+              return newCounter;
+            });
+    // read after the counter was published, see enable()
+    if (enabled) {
+      counter.enable();
+    }
+    return counter;
+  }
+
+  /**
+   * Prefer keeping the result of {@link #suppressedSpanCounter(String)}, this method looks up the
+   * counter on every call.
+   */
   public void recordSuppressedSpan(SpanKind kind, String instrumentationName) {
-    if (!agentDebugEnabled) {
+    if (!enabled) {
       return;
     }
 
-    suppressionCounters
-        .computeIfAbsent(instrumentationName, s -> new KindCounters())
-        .increment(kind);
+    suppressedSpanCounter(instrumentationName).record(kind);
   }
 
+  /**
+   * Prefer keeping the result of {@link #counter(String)}, this method looks it up on every call.
+   */
   public void incrementCounter(String counterName) {
-    if (!agentDebugEnabled) {
+    if (!enabled) {
+      return;
+    }
+
+    counter(counterName).increment();
+  }
+
+  /**
+   * Registers a counter that is maintained by its owner, e.g. the hit count of a cache, so that it
+   * is reported along with the other counters. The counter must not be reset by its owner.
+   *
+   * <p>The owner is only weakly referenced, the counter stops being reported once the owner has
+   * been garbage collected or the returned registration has been {@linkplain
+   * CounterRegistration#unregister() unregistered}. The {@code counter} function must therefore not
+   * keep a reference to the owner itself.
+   */
+  public <T> CounterRegistration registerCounter(
+      String counterName, T owner, ToLongFunction<T> counter) {
+    // registered even when disabled since the counters may be enabled later, which is why the
+    // counters of collected owners are also removed here and not only when they are reported
+    registeredCounters.removeIf(RegisteredCounter::isCollected);
+    RegisteredCounter<T> registeredCounter = new RegisteredCounter<>(counterName, owner, counter);
+    registeredCounters.add(registeredCounter);
+    return () -> registeredCounters.remove(registeredCounter);
+  }
+
+  /**
+   * Exports the counters as metrics of the given {@link OpenTelemetry} instance. Does nothing
+   * unless {@code otel.instrumentation.experimental.supportability-metrics.enabled} is set, or when
+   * the metrics were already registered.
+   *
+   * <p>The setting is read when this method is called rather than when this class is initialized,
+   * so that it can be set in the agent configuration file.
+   */
+  public void registerMetrics(OpenTelemetry openTelemetry) {
+    registerMetrics(
+        openTelemetry,
+        ConfigPropertiesUtil.getBoolean(
+            "otel.instrumentation.experimental.supportability-metrics.enabled", false));
+  }
+
+  // visible for testing
+  void registerMetrics(OpenTelemetry openTelemetry, boolean metricsEnabled) {
+    if (!metricsEnabled || !metricsRegistered.compareAndSet(false, true)) {
       return;
     }
 
-    counters.computeIfAbsent(counterName, k -> new AtomicLong()).incrementAndGet();
+    enable();
+    Meter meter = openTelemetry.getMeter(INSTRUMENTATION_NAME);
+    meter
+        .counterBuilder("otel.instrumentation.suppressed_spans")
+        .setDescription("The number of spans suppressed by each instrumentation")
+        .setUnit("{span}")
+        .buildWithCallback(
+            measurement ->
+                suppressionCounters.forEach(
+                    (instrumentationName, counter) -> {
+                      for (SpanKind kind : SPAN_KINDS) {
+                        long value = counter.sum(kind);
+                        if (value > 0) {
+                          measurement.record(
+                              value,
+                              Attributes.of(
+                                  INSTRUMENTATION_NAME_KEY,
+                                  instrumentationName,
+                                  SPAN_KIND_KEY,
+                                  kind.name()));
+                        }
+                      }
+                    }));
+    meter
+        .counterBuilder("otel.instrumentation.supportability.counter")
+        .setDescription("Internal counters of the instrumentation")
+        .buildWithCallback(
+            measurement -> {
+              for (RegisteredCounter<?> registeredCounter : registeredCounters) {
+                long value = registeredCounter.sum();
+                if (value < 0) {
+                  registeredCounters.remove(registeredCounter);
+                  continue;
+                }
+                measurement.record(value, Attributes.of(COUNTER_NAME_KEY, registeredCounter.name));
+              }
+            });
   }
 
   // visible for testing
   void report() {
     suppressionCounters.forEach(
-        (instrumentationName, countsByKind) -> {
-          for (SpanKind kind : SpanKind.values()) {
-            long value = countsByKind.getAndReset(kind);
+        (instrumentationName, counter) -> {
+          for (SpanKind kind : SPAN_KINDS) {
+            long value = counter.sumSinceLastReport(kind);
             if (value > 0) {
               reporter.accept(
                   "Suppressed Spans by '" + instrumentationName + "' (" + kind + ") : " + value);
             }
           }
         });
-    counters.forEach(
-        (counterName, counter) -> {
-          long value = counter.getAndSet(0);
-          if (value > 0) {
-            reporter.accept("Counter '" + counterName + "' : " + value);
-          }
-        });
+    for (RegisteredCounter<?> registeredCounter : registeredCounters) {
+      long sum = registeredCounter.sum();
+      if (sum < 0) {
+        registeredCounters.remove(registeredCounter);
+        continue;
+      }
+      long value = registeredCounter.sinceLastReport(sum);
+      if (value > 0) {
+        reporter.accept("Counter '" + registeredCounter.name + "' : " + value);
+      }
+    }
+  }
+
+  // counters that were handed out before are enabled too
+  private void enable() {
+    // published before the counters are read, see counter()
+    enabled = true;
+    counters.values().forEach(Counter::enable);
+    suppressionCounters.values().forEach(SuppressedSpanCounter::enable);
+  }
+
+  private static int stripeOffset() {
+    long id = Thread.currentThread().getId();
+    int hash = (int) (id ^ (id >>> 32)) * 0x9e3779b9;
+    return ((hash >>> 16) & (STRIPES - 1)) * STRIPE_LENGTH;
+  }
+
+  private static long sum(AtomicLongArray cells, int index) {
+    long sum = 0;
+    for (int offset = 0; offset < cells.length(); offset += STRIPE_LENGTH) {
+      sum += cells.get(offset + index);
+    }
+    return sum;
   }
 
   // this private method is designed for assignment of the return value
@@ -108,58 +295,120 @@ public final class SupportabilityMetrics {
   }
 
   /**
-   * This class is internal and is hence not for public use. Its APIs are unstable and can change at
-   * any time.
+   * Stops reporting a counter registered with {@link #registerCounter(String, Object,
+   * ToLongFunction)}.
+   *
+   * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+   * at any time.
+   */
+  @FunctionalInterface
+  public interface CounterRegistration {
+    void unregister();
+  }
+
+  private static final class RegisteredCounter<T> {
+    private final String name;
+    private final WeakReference<T> owner;
+    private final ToLongFunction<T> counter;
+    // only accessed by the reporting thread
+    private long lastReported;
+
+    private RegisteredCounter(String name, T owner, ToLongFunction<T> counter) {
+      this.name = name;
+      this.owner = new WeakReference<>(owner);
+      this.counter = counter;
+    }
+
+    boolean isCollected() {
+      return owner.get() == null;
+    }
+
+    // returns -1 once the owner has been garbage collected
+    long sum() {
+      T owner = this.owner.get();
+      return owner == null ? -1 : counter.applyAsLong(owner);
+    }
+
+    long sinceLastReport(long sum) {
+      long value = sum - lastReported;
+      lastReported = sum;
+      return value;
+    }
+  }
+
+  /**
+   * A counter that is incremented by many threads and only read when reported.
+   *
+   * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+   * at any time.
+   */
+  public static final class Counter {
+    // one padded stripe per thread hash, null while disabled
+    @Nullable private volatile AtomicLongArray cells;
+
+    private Counter() {}
+
+    public void increment() {
+      add(1);
+    }
+
+    public void add(long value) {
+      AtomicLongArray cells = this.cells;
+      if (cells != null) {
+        cells.getAndAdd(stripeOffset(), value);
+      }
+    }
+
+    long sum() {
+      AtomicLongArray cells = this.cells;
+      return cells == null ? 0 : SupportabilityMetrics.sum(cells, 0);
+    }
+
+    synchronized void enable() {
+      if (cells == null) {
+        cells = new AtomicLongArray(STRIPES * STRIPE_LENGTH);
+      }
+    }
+  }
+
+  /**
+   * Counts the spans suppressed by an instrumentation, by span kind.
+   *
+   * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+   * at any time.
    */
-  public static final class CounterNames {
-    public static final String SQL_STATEMENT_SANITIZER_CACHE_MISS =
-        "SqlStatementSanitizer cache miss";
-
-    private CounterNames() {}
-  }
-
-  // this class is threadsafe.
-  private static class KindCounters {
-    private final AtomicLong server = new AtomicLong();
-    private final AtomicLong client = new AtomicLong();
-    private final AtomicLong internal = new AtomicLong();
-    private final AtomicLong consumer = new AtomicLong();
-    private final AtomicLong producer = new AtomicLong();
-
-    void increment(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          internal.incrementAndGet();
-          break;
-        case SERVER:
-          server.incrementAndGet();
-          break;
-        case CLIENT:
-          client.incrementAndGet();
-          break;
-        case PRODUCER:
-          producer.incrementAndGet();
-          break;
-        case CONSUMER:
-          consumer.incrementAndGet();
-          break;
+  public static final class SuppressedSpanCounter {
+    // one padded stripe per thread hash, holding the counts indexed by SpanKind ordinal; null while
+    // disabled
+    @Nullable private volatile AtomicLongArray cells;
+    // only accessed by the reporting thread
+    private final long[] lastReported = new long[SPAN_KINDS.length];
+
+    private SuppressedSpanCounter() {}
+
+    public void record(SpanKind kind) {
+      AtomicLongArray cells = this.cells;
+      if (cells != null) {
+        cells.getAndIncrement(stripeOffset() + kind.ordinal());
       }
     }
 
-    long getAndReset(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          return internal.getAndSet(0);
-        case SERVER:
-          return server.getAndSet(0);
-        case CLIENT:
-          return client.getAndSet(0);
-        case PRODUCER:
-          return producer.getAndSet(0);
-        case CONSUMER:
-          return consumer.getAndSet(0);
+    long sum(SpanKind kind) {
+      AtomicLongArray cells = this.cells;
+      return cells == null ? 0 : SupportabilityMetrics.sum(cells, kind.ordinal());
+    }
+
+    long sumSinceLastReport(SpanKind kind) {
+      long sum = sum(kind);
+      long value = sum - lastReported[kind.ordinal()];
+      lastReported[kind.ordinal()] = sum;
+      return value;
+    }
+
+    synchronized void enable() {
+      if (cells == null) {
+        cells = new AtomicLongArray(STRIPES * STRIPE_LENGTH);
       }
-      return 0;
     }
   }
 }
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.instrumentation.api.internal.cache;
 
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 import java.util.function.Function;
 import javax.annotation.Nullable;
@@ -38,6 +39,24 @@ public interface Cache<K, V> {
     return new MapBackedCache<>(map);
   }
 
+  /**
+   * Returns new bounded cache that is meant for large, heavily shared caches.
+   *
+   * <p>Unlike {@link #bounded(int)}, lookups never take a lock, and a new entry is only kept if it
+   * is estimated to be accessed more often than the entry it would evict (W-TinyLFU), so keys that
+   * are used once don't push out keys that are used all the time. Hit, miss and eviction counts
+   * are reported through {@link SupportabilityMetrics} under the given {@code name}.
+   *
+   * <p>New entries only get a small admission window (1% of the capacity), so this cache is a poor
+   * fit for small caches whose keys are mostly looked up again shortly after they were added; use
+   * {@link #bounded(int)} for those.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> boundedTinyLfu(String name, int capacity) {
+    return new TinyLfuCache<>(name, capacity);
+  }
+
   /**
    * Returns the cached value associated with the provided {@code key}. If no value is cached yet,
    * computes the value using {@code mappingFunction}, stores the result, and returns it.
@@ -54,6 +73,13 @@ public interface Cache<K, V> {
   /** Puts the {@code value} into the cache for the {@code key}. */
   void put(K key, V value);
 
+  /**
+   * Puts the {@code value} into the cache for the {@code key} unless a value is already cached,
+   * and returns the previously cached value, or {@code null} if there was none.
+   */
+  @Nullable
+  V putIfAbsent(K key, V value);
+
   /** Removes a value for {@code key} if present. */
   void remove(K key);
 }
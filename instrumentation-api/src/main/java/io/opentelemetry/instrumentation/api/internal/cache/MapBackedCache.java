@@ -33,6 +33,12 @@ final class MapBackedCache<K, V> implements Cache<K, V> {
     delegate.put(key, value);
   }
 
+  @Nullable
+  @Override
+  public V putIfAbsent(K key, V value) {
+    return delegate.putIfAbsent(key, value);
+  }
+
   @Override
   public void remove(K key) {
     delegate.remove(key);
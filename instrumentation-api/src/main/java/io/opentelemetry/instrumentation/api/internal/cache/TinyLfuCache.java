@@ -0,0 +1,428 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import io.opentelemetry.instrumentation.api.internal.GuardedBy;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache with a W-TinyLFU eviction policy.
+ *
+ * <p>Entries live in a {@link ConcurrentHashMap}, so lookups never take a lock. The eviction
+ * policy is only updated while holding the eviction lock, and threads never wait for it on the read
+ * path:
+ *
+ * <ul>
+ *   <li>Hits are recorded in one of several striped, lossy ring buffers, selected by the current
+ *       thread. When a buffer is full the reading thread tries to drain all buffers; if another
+ *       thread is already doing that the hit is simply not recorded.
+ *   <li>Writes are queued and applied by whichever thread next acquires the eviction lock. Writers
+ *       only block on the lock when the cache has grown well past its capacity.
+ * </ul>
+ *
+ * <p>New entries enter a small LRU admission window (1% of the capacity). An entry leaving the
+ * window is only admitted into the main LRU region if its estimated access frequency is higher
+ * than that of the main region's eviction victim, which keeps entries that are used once from
+ * displacing entries that are used often.
+ *
+ * <p>When the cache is given a name, its hit, miss and eviction counts are reported through {@link
+ * SupportabilityMetrics}.
+ */
+final class TinyLfuCache<K, V> implements Cache<K, V> {
+
+  private static final int READ_BUFFER_SIZE = 16;
+  private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+  private static final int READ_BUFFER_STRIPES =
+      FrequencySketch.ceilingPowerOfTwo(
+          Math.min(4 * Runtime.getRuntime().availableProcessors(), 64));
+
+  private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  private final ReadBuffer[] readBuffers;
+  private final ConcurrentLinkedQueue<Node<K, V>> writeBuffer = new ConcurrentLinkedQueue<>();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  private final int capacity;
+  private final int maximumOverflow;
+
+  @GuardedBy("evictionLock")
+  private final FrequencySketch sketch;
+
+  @GuardedBy("evictionLock")
+  private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+
+  @GuardedBy("evictionLock")
+  private final AccessOrderDeque<K, V> main = new AccessOrderDeque<>();
+
+  private final int windowCapacity;
+  private final int mainCapacity;
+
+  // hits are counted per read buffer
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  TinyLfuCache(@Nullable String name, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+    this.maximumOverflow = Math.max(capacity / 2, READ_BUFFER_STRIPES);
+    this.windowCapacity = Math.max(1, capacity / 100);
+    this.mainCapacity = capacity - windowCapacity;
+    this.sketch = new FrequencySketch(capacity);
+    this.readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+    for (int i = 0; i < readBuffers.length; i++) {
+      readBuffers[i] = new ReadBuffer();
+    }
+    if (name != null) {
+      SupportabilityMetrics supportability = SupportabilityMetrics.instance();
+      // only weakly references the cache, so caches that are no longer used can be collected
+      supportability.registerCounter(name + " cache hit", this, TinyLfuCache::hitCount);
+      supportability.registerCounter(name + " cache miss", this, cache -> cache.misses.get());
+      supportability.registerCounter(
+          name + " cache eviction", this, cache -> cache.evictions.get());
+    }
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Node<K, V> node = data.get(key);
+    if (node != null) {
+      afterRead(node);
+      return node.value;
+    }
+    misses.incrementAndGet();
+    // like ConcurrentMap.computeIfAbsent() the mapping function may be called more than once when
+    // several threads miss the same key at the same time
+    V value = mappingFunction.apply(key);
+    if (value == null) {
+      return null;
+    }
+    Node<K, V> newNode = new Node<>(key, value);
+    Node<K, V> existing = data.putIfAbsent(key, newNode);
+    if (existing != null) {
+      return existing.value;
+    }
+    afterWrite(newNode);
+    return value;
+  }
+
+  @Nullable
+  @Override
+  public V get(K key) {
+    Node<K, V> node = data.get(key);
+    if (node == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    afterRead(node);
+    return node.value;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    Node<K, V> node = data.get(key);
+    if (node != null) {
+      node.value = value;
+      return;
+    }
+    Node<K, V> newNode = new Node<>(key, value);
+    Node<K, V> existing = data.put(key, newNode);
+    if (existing != null) {
+      existing.removed = true;
+      writeBuffer.add(existing);
+    }
+    afterWrite(newNode);
+  }
+
+  @Nullable
+  @Override
+  public V putIfAbsent(K key, V value) {
+    Node<K, V> node = data.get(key);
+    if (node != null) {
+      afterRead(node);
+      return node.value;
+    }
+    Node<K, V> newNode = new Node<>(key, value);
+    Node<K, V> existing = data.putIfAbsent(key, newNode);
+    if (existing != null) {
+      return existing.value;
+    }
+    afterWrite(newNode);
+    return null;
+  }
+
+  @Override
+  public void remove(K key) {
+    Node<K, V> node = data.remove(key);
+    if (node != null) {
+      node.removed = true;
+      afterWrite(node);
+    }
+  }
+
+  private void afterRead(Node<K, V> node) {
+    ReadBuffer buffer = readBuffers[stripeIndex()];
+    buffer.hits.incrementAndGet();
+    if (!buffer.offer(node)) {
+      tryMaintenance();
+    }
+  }
+
+  private void afterWrite(Node<K, V> node) {
+    writeBuffer.add(node);
+    if (evictionLock.tryLock()) {
+      try {
+        maintenance();
+      } finally {
+        evictionLock.unlock();
+      }
+    } else if (data.size() > capacity + maximumOverflow) {
+      // don't let the cache grow without bounds when writes outpace the thread doing maintenance
+      evictionLock.lock();
+      try {
+        maintenance();
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  private void tryMaintenance() {
+    if (evictionLock.tryLock()) {
+      try {
+        maintenance();
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  @GuardedBy("evictionLock")
+  private void maintenance() {
+    for (ReadBuffer buffer : readBuffers) {
+      drainReadBuffer(buffer);
+    }
+    Node<K, V> node;
+    while ((node = writeBuffer.poll()) != null) {
+      onWrite(node);
+    }
+    evict();
+  }
+
+  @GuardedBy("evictionLock")
+  private void drainReadBuffer(ReadBuffer buffer) {
+    long head = buffer.readCounter;
+    long tail = buffer.writeCounter.get();
+    while (head < tail) {
+      int index = (int) (head & READ_BUFFER_MASK);
+      Object node = buffer.buffer.get(index);
+      if (node == null) {
+        // the producer has claimed the slot but not published the node yet
+        break;
+      }
+      buffer.buffer.lazySet(index, null);
+      onRead(node);
+      head++;
+    }
+    buffer.readCounter = head;
+  }
+
+  @GuardedBy("evictionLock")
+  @SuppressWarnings("unchecked")
+  private void onRead(Object readNode) {
+    Node<K, V> node = (Node<K, V>) readNode;
+    sketch.increment(node.key);
+    if (node.queue != null) {
+      node.queue.moveToBack(node);
+    }
+  }
+
+  @GuardedBy("evictionLock")
+  private void onWrite(Node<K, V> node) {
+    if (node.removed) {
+      if (node.queue != null) {
+        node.queue.remove(node);
+      }
+      return;
+    }
+    if (node.queue == null) {
+      sketch.increment(node.key);
+      window.addLast(node);
+    }
+  }
+
+  @GuardedBy("evictionLock")
+  private void evict() {
+    while (window.size > windowCapacity) {
+      Node<K, V> candidate = window.pollFirst();
+      if (main.size < mainCapacity) {
+        main.addLast(candidate);
+        continue;
+      }
+      Node<K, V> victim = main.peekFirst();
+      if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+        main.remove(victim);
+        evictNode(victim);
+        main.addLast(candidate);
+      } else {
+        evictNode(candidate);
+      }
+    }
+  }
+
+  @GuardedBy("evictionLock")
+  private void evictNode(Node<K, V> node) {
+    if (data.remove(node.key, node)) {
+      evictions.incrementAndGet();
+    }
+  }
+
+  private static int stripeIndex() {
+    long id = Thread.currentThread().getId();
+    int hash = (int) (id ^ (id >>> 32)) * 0x9e3779b9;
+    return (hash >>> 16) & (READ_BUFFER_STRIPES - 1);
+  }
+
+  // Visible for testing
+  long hitCount() {
+    long hitCount = 0;
+    for (ReadBuffer buffer : readBuffers) {
+      hitCount += buffer.hits.get();
+    }
+    return hitCount;
+  }
+
+  // Visible for testing
+  long missCount() {
+    return misses.get();
+  }
+
+  // Visible for testing
+  long evictionCount() {
+    return evictions.get();
+  }
+
+  // Visible for testing
+  int size() {
+    return data.size();
+  }
+
+  // Visible for testing
+  void cleanUp() {
+    evictionLock.lock();
+    try {
+      maintenance();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * A lossy, bounded, multi-producer ring buffer of accessed nodes. Producers claim slots by
+   * incrementing the write counter; the buffer is drained by the thread holding the eviction lock.
+   */
+  private static final class ReadBuffer {
+    private final AtomicLong writeCounter = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicReferenceArray<Object> buffer =
+        new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    // only written while holding the eviction lock
+    private volatile long readCounter;
+
+    // returns false when the buffer is full and should be drained
+    boolean offer(Object node) {
+      long head = readCounter;
+      long tail = writeCounter.get();
+      if (tail - head >= READ_BUFFER_SIZE) {
+        return false;
+      }
+      if (writeCounter.compareAndSet(tail, tail + 1)) {
+        buffer.lazySet((int) (tail & READ_BUFFER_MASK), node);
+      }
+      return true;
+    }
+  }
+
+  private static final class Node<K, V> {
+    final K key;
+    volatile V value;
+    volatile boolean removed;
+
+    // guarded by the eviction lock
+    @Nullable AccessOrderDeque<K, V> queue;
+    @Nullable Node<K, V> prev;
+    @Nullable Node<K, V> next;
+
+    Node(K key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  /** An intrusive doubly linked list of nodes, least recently used first. */
+  private static final class AccessOrderDeque<K, V> {
+    @Nullable private Node<K, V> first;
+    @Nullable private Node<K, V> last;
+    int size;
+
+    void addLast(Node<K, V> node) {
+      node.queue = this;
+      node.prev = last;
+      node.next = null;
+      if (last == null) {
+        first = node;
+      } else {
+        last.next = node;
+      }
+      last = node;
+      size++;
+    }
+
+    @Nullable
+    Node<K, V> peekFirst() {
+      return first;
+    }
+
+    Node<K, V> pollFirst() {
+      Node<K, V> node = first;
+      remove(node);
+      return node;
+    }
+
+    void moveToBack(Node<K, V> node) {
+      if (node != last) {
+        remove(node);
+        addLast(node);
+      }
+    }
+
+    void remove(Node<K, V> node) {
+      Node<K, V> prev = node.prev;
+      Node<K, V> next = node.next;
+      if (prev == null) {
+        first = next;
+      } else {
+        prev.next = next;
+      }
+      if (next == null) {
+        last = prev;
+      } else {
+        next.prev = prev;
+      }
+      node.prev = null;
+      node.next = null;
+      node.queue = null;
+      size--;
+    }
+  }
+}
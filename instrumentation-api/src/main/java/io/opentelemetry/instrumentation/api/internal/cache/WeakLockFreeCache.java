@@ -7,6 +7,7 @@ package io.opentelemetry.instrumentation.api.internal.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.weaklockfree.WeakConcurrentMap;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 
 final class WeakLockFreeCache<K, V> implements Cache<K, V> {
 
@@ -31,6 +32,12 @@ final class WeakLockFreeCache<K, V> implements Cache<K, V> {
     delegate.put(key, value);
   }
 
+  @Nullable
+  @Override
+  public V putIfAbsent(K key, V value) {
+    return delegate.putIfAbsent(key, value);
+  }
+
   @Override
   public void remove(K key) {
     delegate.remove(key);
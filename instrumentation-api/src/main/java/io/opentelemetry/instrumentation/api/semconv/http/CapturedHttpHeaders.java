@@ -0,0 +1,57 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv.http;
+
+import static io.opentelemetry.instrumentation.api.semconv.http.CapturedHttpHeadersUtil.lowercase;
+
+import io.opentelemetry.api.common.AttributeKey;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The request or response headers captured by an HTTP attributes extractor, with the header names
+ * lowercased and deduplicated and their attribute keys resolved when the extractor is built.
+ */
+final class CapturedHttpHeaders {
+
+  private final String[] names;
+  private final AttributeKey<List<String>>[] keys;
+
+  static CapturedHttpHeaders request(List<String> headerNames) {
+    return new CapturedHttpHeaders(headerNames, CapturedHttpHeadersUtil::requestAttributeKey);
+  }
+
+  static CapturedHttpHeaders response(List<String> headerNames) {
+    return new CapturedHttpHeaders(headerNames, CapturedHttpHeadersUtil::responseAttributeKey);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"}) // generic array creation
+  private CapturedHttpHeaders(
+      List<String> headerNames, Function<String, AttributeKey<List<String>>> keyFactory) {
+    Set<String> uniqueNames = new LinkedHashSet<>(lowercase(headerNames));
+    names = uniqueNames.toArray(new String[0]);
+    keys = new AttributeKey[names.length];
+    for (int i = 0; i < names.length; i++) {
+      keys[i] = keyFactory.apply(names[i]);
+    }
+  }
+
+  int size() {
+    return names.length;
+  }
+
+  /** Returns the lowercase name of the header at the given index. */
+  String name(int index) {
+    return names[index];
+  }
+
+  /** Returns the attribute key of the header at the given index. */
+  AttributeKey<List<String>> key(int index) {
+    return keys[index];
+  }
+}
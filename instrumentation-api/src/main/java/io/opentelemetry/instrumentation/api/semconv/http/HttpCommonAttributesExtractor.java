@@ -7,11 +7,10 @@ package io.opentelemetry.instrumentation.api.semconv.http;
 
 import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorUtil.internalSet;
 import static io.opentelemetry.instrumentation.api.internal.HttpConstants._OTHER;
-import static io.opentelemetry.instrumentation.api.semconv.http.CapturedHttpHeadersUtil.lowercase;
-import static io.opentelemetry.instrumentation.api.semconv.http.CapturedHttpHeadersUtil.requestAttributeKey;
-import static io.opentelemetry.instrumentation.api.semconv.http.CapturedHttpHeadersUtil.responseAttributeKey;
 
 import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.instrumentation.api.semconv.network.NetworkAttributesGetter;
@@ -37,8 +36,8 @@ abstract class HttpCommonAttributesExtractor<
 
   final GETTER getter;
   private final HttpStatusCodeConverter statusCodeConverter;
-  private final List<String> capturedRequestHeaders;
-  private final List<String> capturedResponseHeaders;
+  private final CapturedHttpHeaders capturedRequestHeaders;
+  private final CapturedHttpHeaders capturedResponseHeaders;
   private final Set<String> knownMethods;
 
   HttpCommonAttributesExtractor(
@@ -49,8 +48,8 @@ abstract class HttpCommonAttributesExtractor<
       Set<String> knownMethods) {
     this.getter = getter;
     this.statusCodeConverter = statusCodeConverter;
-    this.capturedRequestHeaders = lowercase(capturedRequestHeaders);
-    this.capturedResponseHeaders = lowercase(capturedResponseHeaders);
+    this.capturedRequestHeaders = CapturedHttpHeaders.request(capturedRequestHeaders);
+    this.capturedResponseHeaders = CapturedHttpHeaders.response(capturedResponseHeaders);
     this.knownMethods = new HashSet<>(knownMethods);
   }
 
@@ -64,10 +63,10 @@ abstract class HttpCommonAttributesExtractor<
       internalSet(attributes, SemanticAttributes.HTTP_REQUEST_METHOD_ORIGINAL, method);
     }
 
-    for (String name : capturedRequestHeaders) {
-      List<String> values = getter.getHttpRequestHeader(request, name);
+    for (int i = 0; i < capturedRequestHeaders.size(); i++) {
+      List<String> values = getter.getHttpRequestHeader(request, capturedRequestHeaders.name(i));
       if (!values.isEmpty()) {
-        internalSet(attributes, requestAttributeKey(name), values);
+        internalSet(attributes, capturedRequestHeaders.key(i), values);
       }
     }
   }
@@ -87,10 +86,13 @@ abstract class HttpCommonAttributesExtractor<
         internalSet(attributes, SemanticAttributes.HTTP_RESPONSE_STATUS_CODE, (long) statusCode);
       }
 
-      for (String name : capturedResponseHeaders) {
-        List<String> values = getter.getHttpResponseHeader(request, response, name);
-        if (!values.isEmpty()) {
-          internalSet(attributes, responseAttributeKey(name), values);
+      if (capturedResponseHeaders.size() > 0 && !isSpanDropped(context)) {
+        for (int i = 0; i < capturedResponseHeaders.size(); i++) {
+          List<String> values =
+              getter.getHttpResponseHeader(request, response, capturedResponseHeaders.name(i));
+          if (!values.isEmpty()) {
+            internalSet(attributes, capturedResponseHeaders.key(i), values);
+          }
         }
       }
     }
@@ -123,6 +125,13 @@ abstract class HttpCommonAttributesExtractor<
     }
   }
 
+  // captured headers are only recorded on spans, no metric uses them
+  private static boolean isSpanDropped(Context context) {
+    Span span = Span.fromContext(context);
+    SpanContext spanContext = span.getSpanContext();
+    return spanContext.isValid() && !span.isRecording();
+  }
+
   @Nullable
   static String firstHeaderValue(List<String> values) {
     return values.isEmpty() ? null : values.get(0);
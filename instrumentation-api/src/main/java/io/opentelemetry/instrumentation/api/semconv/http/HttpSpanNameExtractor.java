@@ -97,7 +97,7 @@ public final class HttpSpanNameExtractor {
       if (!knownMethods.contains(method)) {
         method = "HTTP";
       }
-      return route == null ? method : method + " " + route;
+      return route == null ? method : HttpSpanNames.get(method, route);
     }
   }
 
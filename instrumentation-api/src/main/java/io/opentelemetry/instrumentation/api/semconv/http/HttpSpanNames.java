@@ -0,0 +1,46 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv.http;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interns the {@code METHOD ROUTE} names of HTTP server spans, so that servers with a fixed set of
+ * routes don't build a new span name for every request.
+ */
+final class HttpSpanNames {
+
+  // methods are either known methods or "HTTP", this only guards against a huge set of known
+  // methods being configured
+  private static final int MAX_METHODS = 32;
+  private static final int MAX_ROUTES_PER_METHOD = 1000;
+
+  private static final ConcurrentMap<String, Cache<String, String>> namesByMethod =
+      new ConcurrentHashMap<>();
+
+  /** Returns the span name for the given method and route. */
+  static String get(String method, String route) {
+    Cache<String, String> names = namesByMethod.get(method);
+    if (names == null) {
+      if (namesByMethod.size() >= MAX_METHODS) {
+        return method + " " + route;
+      }
+      names =
+          namesByMethod.computeIfAbsent(method, unused -> Cache.bounded(MAX_ROUTES_PER_METHOD));
+    }
+    // not using computeIfAbsent() to avoid allocating a lambda capturing the method
+    String name = names.get(route);
+    if (name == null) {
+      name = method + " " + route;
+      names.put(route, name);
+    }
+    return name;
+  }
+
+  private HttpSpanNames() {}
+}
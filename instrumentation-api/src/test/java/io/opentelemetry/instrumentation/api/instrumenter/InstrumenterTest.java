@@ -215,6 +215,88 @@ class InstrumenterTest {
                                 equalTo(AttributeKey.stringKey("resp3"), "resp3_value"))));
   }
 
+  @Test
+  void server_reuseBuffers() {
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addAttributesExtractor(new AttributesExtractor2())
+            .addSpanLinksExtractor(new LinksExtractor())
+            .setReuseBuffers(true)
+            .buildServerInstrumenter(new MapGetter());
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, new IllegalStateException("test"));
+    // second operation on the same thread must not see anything left over from the first one
+    Context context2 = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context2, REQUEST, emptyMap(), null);
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("span")
+                            .hasStatus(StatusData.error())
+                            .hasLinks(expectedSpanLink())
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(AttributeKey.stringKey("req1"), "req1_value"),
+                                equalTo(AttributeKey.stringKey("req2"), "req2_2_value"),
+                                equalTo(AttributeKey.stringKey("req3"), "req3_value"),
+                                equalTo(AttributeKey.stringKey("resp1"), "resp1_value"),
+                                equalTo(AttributeKey.stringKey("resp2"), "resp2_2_value"),
+                                equalTo(AttributeKey.stringKey("resp3"), "resp3_value"))),
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("span")
+                            .hasStatus(StatusData.unset())
+                            .hasLinks(expectedSpanLink())
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(AttributeKey.stringKey("req1"), "req1_value"),
+                                equalTo(AttributeKey.stringKey("req2"), "req2_2_value"),
+                                equalTo(AttributeKey.stringKey("req3"), "req3_value"))));
+  }
+
+  @Test
+  void server_reuseBuffers_operationListenerKeepsEndAttributes() {
+    AtomicReference<Attributes> endAttributes = new AtomicReference<>();
+
+    OperationListener operationListener =
+        new OperationListener() {
+          @Override
+          public Context onStart(Context context, Attributes startAttributes, long startNanos) {
+            return context;
+          }
+
+          @Override
+          public void onEnd(Context context, Attributes attributes, long endNanos) {
+            endAttributes.compareAndSet(null, attributes);
+          }
+        };
+
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addOperationListener(operationListener)
+            .setReuseBuffers(true)
+            .buildServerInstrumenter(new MapGetter());
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+    // the attributes passed to the listener by the first operation must not be recycled
+    Context context2 = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context2, REQUEST, emptyMap(), null);
+
+    assertThat(endAttributes.get())
+        .containsOnly(
+            entry(AttributeKey.stringKey("resp1"), "resp1_value"),
+            entry(AttributeKey.stringKey("resp2"), "resp2_value"));
+  }
+
   @Test
   void server_error() {
     Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
@@ -5,11 +5,20 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
-import static org.assertj.core.api.Assertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
 
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.test.utils.GcUtils;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 
 class SupportabilityMetricsTest {
@@ -71,4 +80,124 @@ class SupportabilityMetricsTest {
             "Suppressed Spans by 'favoriteInstrumentation' (CLIENT) : 1",
             "Counter 'some counter' : 1");
   }
+
+  @Test
+  void reportsRegisteredCounters() {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
+    AtomicLong counter = new AtomicLong();
+    metrics.registerCounter("cache hit", counter, AtomicLong::get);
+
+    counter.addAndGet(3);
+    metrics.report();
+    metrics.report();
+    counter.incrementAndGet();
+    metrics.report();
+
+    assertThat(reports).containsExactly("Counter 'cache hit' : 3", "Counter 'cache hit' : 1");
+  }
+
+  @Test
+  void stopsReportingUnregisteredCounters() {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
+    AtomicLong counter = new AtomicLong();
+    SupportabilityMetrics.CounterRegistration registration =
+        metrics.registerCounter("cache hit", counter, AtomicLong::get);
+
+    counter.incrementAndGet();
+    metrics.report();
+    registration.unregister();
+    counter.incrementAndGet();
+    metrics.report();
+
+    assertThat(reports).containsExactly("Counter 'cache hit' : 1");
+  }
+
+  @Test
+  void doesNotKeepOwnerOfRegisteredCounterReachable() throws Exception {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
+    AtomicLong counter = new AtomicLong(1);
+    metrics.registerCounter("cache hit", counter, AtomicLong::get);
+    WeakReference<AtomicLong> reference = new WeakReference<>(counter);
+
+    counter = null;
+    GcUtils.awaitGc(reference, Duration.ofSeconds(10));
+    metrics.report();
+
+    assertThat(reports).isEmpty();
+  }
+
+  @Test
+  void reportsResolvedCounters() {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
+    SupportabilityMetrics.SuppressedSpanCounter suppressedSpans =
+        metrics.suppressedSpanCounter("favoriteInstrumentation");
+    SupportabilityMetrics.Counter counter = metrics.counter("some counter");
+
+    suppressedSpans.record(SpanKind.CLIENT);
+    suppressedSpans.record(SpanKind.CLIENT);
+    counter.increment();
+    metrics.incrementCounter("some counter");
+
+    metrics.report();
+
+    assertThat(metrics.suppressedSpanCounter("favoriteInstrumentation")).isSameAs(suppressedSpans);
+    assertThat(reports)
+        .containsExactlyInAnyOrder(
+            "Suppressed Spans by 'favoriteInstrumentation' (CLIENT) : 2",
+            "Counter 'some counter' : 2");
+  }
+
+  @Test
+  void exportsMetrics() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    OpenTelemetrySdk openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+            .build();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(false, report -> {});
+    // resolved before the metrics are registered, e.g. in a static initializer
+    SupportabilityMetrics.Counter counter = metrics.counter("some counter");
+    metrics.registerMetrics(openTelemetry, true);
+
+    metrics.suppressedSpanCounter("favoriteInstrumentation").record(SpanKind.SERVER);
+    counter.add(5);
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.instrumentation.suppressed_spans")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(1)
+                                            .hasAttributesSatisfying(
+                                                equalTo(
+                                                    AttributeKey.stringKey("instrumentation.name"),
+                                                    "favoriteInstrumentation"),
+                                                equalTo(
+                                                    AttributeKey.stringKey("span.kind"),
+                                                    "SERVER")))),
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.instrumentation.supportability.counter")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(5)
+                                            .hasAttributesSatisfying(
+                                                equalTo(
+                                                    AttributeKey.stringKey("counter.name"),
+                                                    "some counter")))));
+  }
 }
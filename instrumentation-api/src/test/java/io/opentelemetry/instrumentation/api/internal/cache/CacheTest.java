@@ -34,6 +34,71 @@ class CacheTest {
       assertThat(cache.get("dog")).isEqualTo("bark");
       assertThat(mapBackedCache.size()).isEqualTo(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
+
+      assertThat(cache.putIfAbsent("cat", "hiss")).isEqualTo("purr");
+      assertThat(cache.get("cat")).isEqualTo("purr");
+    }
+  }
+
+  @Nested
+  @SuppressWarnings("ClassCanBeStatic")
+  class TinyLfu {
+    @Test
+    void bounded() {
+      Cache<String, String> cache = Cache.boundedTinyLfu("test", 1);
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      cache.remove("bear");
+      assertThat(cache.get("bear")).isNull();
+
+      TinyLfuCache<?, ?> tinyLfuCache = ((TinyLfuCache<?, ?>) cache);
+      assertThat(cache.computeIfAbsent("cat", unused -> "meow")).isEqualTo("meow");
+      assertThat(tinyLfuCache.size()).isEqualTo(1);
+
+      assertThat(cache.computeIfAbsent("cat", unused -> "bark")).isEqualTo("meow");
+      assertThat(tinyLfuCache.size()).isEqualTo(1);
+
+      cache.put("cat", "purr");
+      assertThat(cache.get("cat")).isEqualTo("purr");
+      assertThat(cache.putIfAbsent("cat", "hiss")).isEqualTo("purr");
+      assertThat(cache.get("cat")).isEqualTo("purr");
+
+      cache.put("dog", "bark");
+      tinyLfuCache.cleanUp();
+      assertThat(tinyLfuCache.size()).isEqualTo(1);
+      assertThat(tinyLfuCache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void frequentlyUsedKeysSurviveScan() {
+      Cache<String, String> cache = Cache.boundedTinyLfu("test", 100);
+      TinyLfuCache<?, ?> tinyLfuCache = ((TinyLfuCache<?, ?>) cache);
+
+      for (int i = 0; i < 100; i++) {
+        cache.put("hot" + i, "value");
+      }
+      for (int round = 0; round < 5; round++) {
+        for (int i = 0; i < 100; i++) {
+          cache.get("hot" + i);
+        }
+        tinyLfuCache.cleanUp();
+      }
+
+      // keys that are only used once must not push out the ones that are used all the time
+      for (int i = 0; i < 1000; i++) {
+        cache.computeIfAbsent("cold" + i, key -> "value");
+      }
+      tinyLfuCache.cleanUp();
+
+      assertThat(tinyLfuCache.missCount()).isEqualTo(1000);
+      assertThat(tinyLfuCache.size()).isEqualTo(100);
+      int hotKeys = 0;
+      for (int i = 0; i < 100; i++) {
+        if (cache.get("hot" + i) != null) {
+          hotKeys++;
+        }
+      }
+      assertThat(hotKeys).isGreaterThanOrEqualTo(90);
     }
   }
 
@@ -63,6 +128,7 @@ class CacheTest {
       assertThat(cache.get(new String("dog"))).isNull();
       assertThat(weakLockFreeCache.size()).isEqualTo(2);
       assertThat(cache.computeIfAbsent(cat, unused -> "meow")).isEqualTo("meow");
+      assertThat(cache.putIfAbsent(cat, "hiss")).isEqualTo("meow");
 
       cat = null;
       System.gc();
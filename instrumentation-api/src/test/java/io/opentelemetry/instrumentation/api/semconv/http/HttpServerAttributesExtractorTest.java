@@ -15,6 +15,10 @@ import static org.assertj.core.api.Assertions.entry;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.instrumentation.api.internal.HttpConstants;
@@ -374,6 +378,39 @@ class HttpServerAttributesExtractorTest {
         .containsEntry(SemanticAttributes.ERROR_TYPE, HttpConstants._OTHER);
   }
 
+  @Test
+  void shouldNotCaptureResponseHeadersOfDroppedSpan() {
+    Map<String, String> response = new HashMap<>();
+    response.put("statusCode", "200");
+    response.put("header.custom-response-header", "654,321");
+
+    AttributesExtractor<Map<String, String>, Map<String, String>> extractor =
+        HttpServerAttributesExtractor.builder(new TestHttpServerAttributesGetter())
+            .setCapturedResponseHeaders(asList("Custom-Response-Header", "custom-response-header"))
+            .build();
+
+    SpanContext spanContext =
+        SpanContext.create(
+            "ff01020304050600ff0a0b0c0d0e0f00",
+            "090a0b0c0d0e0f00",
+            TraceFlags.getDefault(),
+            TraceState.getDefault());
+    Context dropped = Context.root().with(Span.wrap(spanContext));
+
+    AttributesBuilder attributes = Attributes.builder();
+    extractor.onEnd(attributes, dropped, emptyMap(), response, null);
+    assertThat(attributes.build())
+        .doesNotContainKey(
+            AttributeKey.stringArrayKey("http.response.header.custom-response-header"));
+
+    attributes = Attributes.builder();
+    extractor.onEnd(attributes, Context.root(), emptyMap(), response, null);
+    assertThat(attributes.build())
+        .containsEntry(
+            AttributeKey.stringArrayKey("http.response.header.custom-response-header"),
+            asList("654", "321"));
+  }
+
   @Test
   void shouldPreferUrlSchemeFromForwardedHeader() {
     Map<String, String> request = new HashMap<>();
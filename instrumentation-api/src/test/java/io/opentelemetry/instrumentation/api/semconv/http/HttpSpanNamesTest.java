@@ -0,0 +1,23 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HttpSpanNamesTest {
+
+  @SuppressWarnings("StringOperationCanBeSimplified")
+  @Test
+  void internsSpanNames() {
+    String name = HttpSpanNames.get("GET", "/cats/{id}");
+
+    assertThat(name).isEqualTo("GET /cats/{id}");
+    assertThat(HttpSpanNames.get("GET", new String("/cats/{id}"))).isSameAs(name);
+    assertThat(HttpSpanNames.get("POST", "/cats/{id}")).isEqualTo("POST /cats/{id}");
+  }
+}
@@ -11,12 +11,22 @@ import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug;
 
 public final class ContextPropagatingRunnable implements Runnable {
 
+  // We wrap only lambdas' anonymous classes. Anonymous classes have '/' in class name which is not
+  // allowed in 'normal' classes. The answer is cached per class, as the same lambda classes are
+  // submitted over and over again.
+  private static final ClassValue<Boolean> LAMBDA_CLASS =
+      new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          return type.getName().contains("/");
+        }
+      };
+
   public static boolean shouldDecorateRunnable(Runnable task) {
-    // We wrap only lambdas' anonymous classes and if given object has not already been wrapped.
-    // Anonymous classes have '/' in class name which is not allowed in 'normal' classes.
+    // We wrap only lambdas and if given object has not already been wrapped.
     // note: it is always safe to decorate lambdas since downstream code cannot be expecting a
     // specific runnable implementation anyways
-    return task.getClass().getName().contains("/") && !(task instanceof ContextPropagatingRunnable);
+    return LAMBDA_CLASS.get(task.getClass()) && !(task instanceof ContextPropagatingRunnable);
   }
 
   public static Runnable propagateContext(Runnable task, Context context) {
@@ -17,6 +17,9 @@ import javax.annotation.Nullable;
  */
 public final class ExecutorAdviceHelper {
 
+  private static final boolean DEBUG_ENABLED =
+      ContextPropagationDebug.isThreadPropagationDebuggerEnabled();
+
   /**
    * Check if {@code context} should be propagated to the passed {@code task}. This method must be
    * called before each {@link #attachContextToTask(Context, VirtualField, Object)} call to ensure
@@ -50,23 +53,31 @@ public final class ExecutorAdviceHelper {
     // context anyway
     PropagatedContext propagatedContext = virtualField.get(task);
     if (propagatedContext == null) {
-      propagatedContext = new PropagatedContext();
+      // a task that is submitted for the first time, which is by far the most common case: the
+      // context is set before the PropagatedContext is published, which doesn't need a CAS
+      propagatedContext = new PropagatedContext(addDebugInfo(context, task));
       virtualField.set(task, propagatedContext);
-    } else {
-      Context propagated = propagatedContext.get();
-      // if task already has the requested context then we might be inside a nested call to execute
-      // where an outer call already attached state
-      if (propagated != null
-          && (propagated == context || ContextPropagationDebug.unwrap(propagated) == context)) {
-        return null;
-      }
+      return propagatedContext;
+    }
+
+    Context propagated = propagatedContext.get();
+    // if task already has the requested context then we might be inside a nested call to execute
+    // where an outer call already attached state
+    if (propagated != null
+        && (propagated == context
+            || (DEBUG_ENABLED && ContextPropagationDebug.unwrap(propagated) == context))) {
+      return null;
     }
 
-    context = ContextPropagationDebug.addDebugInfo(context, task);
-    propagatedContext.setContext(context);
+    // the task is re-submitted, reuse the PropagatedContext that is already attached to it
+    propagatedContext.setContext(addDebugInfo(context, task));
     return propagatedContext;
   }
 
+  private static Context addDebugInfo(Context context, Object task) {
+    return DEBUG_ENABLED ? ContextPropagationDebug.addDebugInfo(context, task) : context;
+  }
+
   /**
    * Clean up {@code propagatedContext} in case of any submission errors. Call this method after the
    * submission method has exited.
@@ -23,7 +23,9 @@ public final class PropagatedContext {
   @SuppressWarnings("UnusedVariable")
   private volatile Context context;
 
-  PropagatedContext() {}
+  PropagatedContext(Context context) {
+    this.context = context;
+  }
 
   void setContext(Context context) {
     boolean result = contextUpdater.compareAndSet(this, null, context);
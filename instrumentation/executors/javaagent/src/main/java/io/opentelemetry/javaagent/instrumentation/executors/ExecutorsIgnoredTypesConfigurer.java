@@ -0,0 +1,24 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import com.google.auto.service.AutoService;
+import io.opentelemetry.javaagent.extension.ignore.IgnoredTypesBuilder;
+import io.opentelemetry.javaagent.extension.ignore.IgnoredTypesConfigurer;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+
+@AutoService(IgnoredTypesConfigurer.class)
+public class ExecutorsIgnoredTypesConfigurer implements IgnoredTypesConfigurer {
+
+  @Override
+  public void configure(IgnoredTypesBuilder builder, ConfigProperties config) {
+    // starts and runs all virtual threads, see VirtualThreadInstrumentation; the nested classes
+    // (continuations and tasks of the scheduler) don't need to be instrumented
+    builder.allowClass("java.lang.VirtualThread").ignoreClass("java.lang.VirtualThread$");
+    // a thread, not a task that is submitted to an executor
+    builder.ignoreTaskClass("java.lang.VirtualThread");
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.javaagent.bootstrap.Java8BytecodeBridge;
+import io.opentelemetry.javaagent.bootstrap.executors.ContextPropagatingRunnable;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorAdviceHelper;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+/**
+ * Propagates the context to the threads of {@code Executors.newThreadPerTaskExecutor()} and {@code
+ * Executors.newVirtualThreadPerTaskExecutor()} (Java 21+). Every task submitted to these executors
+ * runs in a thread of its own, which is created by {@code newThread()} on the submitting thread.
+ * The context is attached to that thread once instead of to the submitted task, see {@link
+ * VirtualThreadInstrumentation}.
+ */
+public class ThreadPerTaskExecutorInstrumentation implements TypeInstrumentation {
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    return named("java.util.concurrent.ThreadPerTaskExecutor");
+  }
+
+  @Override
+  public void transform(TypeTransformer transformer) {
+    transformer.applyAdviceToMethod(
+        named("newThread").and(takesArguments(1)).and(takesArgument(0, Runnable.class)),
+        ThreadPerTaskExecutorInstrumentation.class.getName() + "$NewThreadAdvice");
+  }
+
+  @SuppressWarnings("unused")
+  public static class NewThreadAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void enter(@Advice.Argument(value = 0, readOnly = false) Runnable task) {
+      Context context = Java8BytecodeBridge.currentContext();
+      if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+        task = ContextPropagatingRunnable.propagateContext(task, context);
+      }
+    }
+  }
+}
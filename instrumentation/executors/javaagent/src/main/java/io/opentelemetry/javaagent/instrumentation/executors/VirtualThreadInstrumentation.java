@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static net.bytebuddy.matcher.ElementMatchers.isPrivate;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.Java8BytecodeBridge;
+import io.opentelemetry.javaagent.bootstrap.executors.ContextPropagatingRunnable;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorAdviceHelper;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+/**
+ * Propagates the context to virtual threads (Java 21+). All virtual threads, whether they are
+ * started with {@code Thread.ofVirtual()}, {@code Thread.startVirtualThread()}, a virtual thread
+ * factory or a thread per task executor, are started by {@code VirtualThread.start()}. The context
+ * of the starting thread is kept there until the virtual thread is mounted for the first time and
+ * runs its task in {@code VirtualThread.run()}, where the task is wrapped so that the context is
+ * current while the virtual thread runs. Like for platform threads, the context of the thread that
+ * only created the virtual thread is not propagated. Thread locals, which hold the current context,
+ * stay with the virtual thread when it is unmounted from and mounted on a carrier thread, so there
+ * is nothing to restore on each mount.
+ */
+public class VirtualThreadInstrumentation implements TypeInstrumentation {
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    return named("java.lang.VirtualThread");
+  }
+
+  @Override
+  public void transform(TypeTransformer transformer) {
+    transformer.applyAdviceToMethod(
+        named("start").and(takesArguments(1)),
+        VirtualThreadInstrumentation.class.getName() + "$StartAdvice");
+    transformer.applyAdviceToMethod(
+        named("run")
+            .and(isPrivate())
+            .and(takesArguments(1))
+            .and(takesArgument(0, Runnable.class)),
+        VirtualThreadInstrumentation.class.getName() + "$RunAdvice");
+  }
+
+  @SuppressWarnings("unused")
+  public static class StartAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void enter(@Advice.This Thread thread) {
+      Context context = Java8BytecodeBridge.currentContext();
+      if (context != Java8BytecodeBridge.rootContext()) {
+        VirtualField.find(Thread.class, Context.class).set(thread, context);
+      }
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class RunAdvice {
+
+    // runs on the carrier thread, before the virtual thread is mounted
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void enter(
+        @Advice.This Thread thread, @Advice.Argument(value = 0, readOnly = false) Runnable task) {
+      VirtualField<Thread, Context> virtualField = VirtualField.find(Thread.class, Context.class);
+      Context context = virtualField.get(thread);
+      if (context == null) {
+        return;
+      }
+      virtualField.set(thread, null);
+      // tasks of thread per task executors were already wrapped when the executor created the
+      // thread
+      if (ExecutorAdviceHelper.shouldPropagateContext(context, task)
+          && !(task instanceof ContextPropagatingRunnable)) {
+        task = ContextPropagatingRunnable.propagateContext(task, context);
+      }
+    }
+  }
+}
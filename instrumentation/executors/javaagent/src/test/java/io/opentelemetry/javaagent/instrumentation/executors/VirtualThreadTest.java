@@ -0,0 +1,180 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  private static final String CONTEXT_PROPAGATING_RUNNABLE =
+      "io.opentelemetry.javaagent.bootstrap.executors.ContextPropagatingRunnable";
+
+  @Test
+  void shouldPropagateContextToStartedVirtualThread() throws Exception {
+    Method startVirtualThread = Thread.class.getMethod("startVirtualThread", Runnable.class);
+    AtomicReference<String> value = new AtomicReference<>();
+
+    Thread thread;
+    try (Scope ignored = Baggage.builder().put("test", "test").build().makeCurrent()) {
+      thread =
+          (Thread)
+              startVirtualThread.invoke(
+                  null, (Runnable) () -> value.set(Baggage.current().getEntryValue("test")));
+    }
+    thread.join();
+
+    assertThat(value).hasValue("test");
+  }
+
+  @Test
+  void shouldPropagateContextToThreadOfVirtualThreadFactory() throws Exception {
+    AtomicReference<String> value = new AtomicReference<>();
+    Thread thread =
+        newVirtualThreadFactory()
+            .newThread(() -> value.set(Baggage.current().getEntryValue("test")));
+
+    try (Scope ignored = Baggage.builder().put("test", "test").build().makeCurrent()) {
+      thread.start();
+    }
+    thread.join();
+
+    assertThat(value).hasValue("test");
+  }
+
+  @Test
+  void shouldNotPropagateContextOfCreatingThread() throws Exception {
+    AtomicReference<String> value = new AtomicReference<>("unset");
+
+    Thread thread;
+    try (Scope ignored = Baggage.builder().put("test", "test").build().makeCurrent()) {
+      thread =
+          newVirtualThreadFactory()
+              .newThread(() -> value.set(Baggage.current().getEntryValue("test")));
+    }
+    thread.start();
+    thread.join();
+
+    // only the context of the starting thread is propagated, not the one of the creating thread
+    assertThat(value.get()).isNull();
+  }
+
+  @Test
+  void shouldPropagateContextToThreadOfPlatformThreadPerTaskExecutor() throws Exception {
+    ExecutorService executor =
+        (ExecutorService)
+            Executors.class
+                .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, Executors.defaultThreadFactory());
+    AtomicReference<String> value = new AtomicReference<>();
+
+    try (Scope ignored = Baggage.builder().put("test", "test").build().makeCurrent()) {
+      executor.submit(() -> value.set(Baggage.current().getEntryValue("test"))).get();
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(value).hasValue("test");
+  }
+
+  @Test
+  void shouldPropagateContextToTaskSubmittedToVirtualThreadPerTaskExecutor() throws Exception {
+    ExecutorService executor = newVirtualThreadPerTaskExecutor();
+    AtomicInteger wrappers = new AtomicInteger();
+
+    try {
+      testing.runWithSpan(
+          "parent",
+          () ->
+              executor
+                  .submit(
+                      () -> {
+                        wrappers.set(contextPropagatingWrappers());
+                        testing.runWithSpan("child", () -> {});
+                      })
+                  .get());
+    } finally {
+      executor.shutdown();
+    }
+
+    assertSingleParent();
+    assertThat(wrappers).hasValue(1);
+  }
+
+  @Test
+  void shouldPropagateContextToTaskExecutedByVirtualThreadPerTaskExecutor() throws Exception {
+    ExecutorService executor = newVirtualThreadPerTaskExecutor();
+    AtomicInteger wrappers = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    try {
+      testing.runWithSpan(
+          "parent",
+          () ->
+              executor.execute(
+                  () -> {
+                    wrappers.set(contextPropagatingWrappers());
+                    testing.runWithSpan("child", () -> {});
+                    latch.countDown();
+                  }));
+      assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdown();
+    }
+
+    assertSingleParent();
+    assertThat(wrappers).hasValue(1);
+  }
+
+  private static ThreadFactory newVirtualThreadFactory() throws Exception {
+    Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+    return (ThreadFactory)
+        Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+    return (ExecutorService)
+        Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+  }
+
+  // the task runs in a thread of its own, so the context must be attached only once: when the
+  // executor creates the thread, and neither again for the thread nor for the submitted task
+  private static int contextPropagatingWrappers() {
+    return (int)
+        Arrays.stream(Thread.currentThread().getStackTrace())
+            .filter(element -> element.getClassName().equals(CONTEXT_PROPAGATING_RUNNABLE))
+            .count();
+  }
+
+  private static void assertSingleParent() {
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasNoParent(),
+                span -> span.hasName("child").hasParent(trace.getSpan(0))));
+  }
+}
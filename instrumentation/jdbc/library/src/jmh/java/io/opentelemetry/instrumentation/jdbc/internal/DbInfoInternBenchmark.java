@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulates a connection pool handing out connections to many threads: every connection
+ * acquisition parses the connection url and interns the resulting {@link DbInfo}.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class DbInfoInternBenchmark {
+
+  private static final String[] URLS = {
+    "jdbc:postgresql://pg.host:5432/orders",
+    "jdbc:mysql://my.host:3306/customers",
+    "jdbc:oracle:thin:@ora.host:1521/ORCL",
+    "jdbc:sqlserver://mssql.host:1433;databaseName=inventory",
+  };
+
+  // the implementation that JdbcData.intern() used before, as a baseline
+  private static final Map<DbInfo, WeakReference<DbInfo>> synchronizedDbInfos =
+      new WeakHashMap<>();
+
+  private String url;
+  private Properties props;
+  private DbInfo dbInfo;
+
+  @Setup
+  public void setUp() {
+    url = URLS[ThreadLocalRandom.current().nextInt(URLS.length)];
+    props = new Properties();
+    props.setProperty("user", "app");
+    props.setProperty("password", "secret");
+    // a new instance per thread, equal to the ones of other threads using the same url
+    dbInfo = DbInfo.builder().system("postgresql").host(url).port(5432).build();
+  }
+
+  @Benchmark
+  @Threads(128)
+  public DbInfo threads128_intern() {
+    return JdbcData.intern(dbInfo);
+  }
+
+  @Benchmark
+  @Threads(128)
+  public DbInfo threads128_synchronizedIntern() {
+    synchronized (synchronizedDbInfos) {
+      WeakReference<DbInfo> reference = synchronizedDbInfos.get(dbInfo);
+      if (reference != null) {
+        DbInfo result = reference.get();
+        if (result != null) {
+          return result;
+        }
+      }
+      synchronizedDbInfos.put(dbInfo, new WeakReference<>(dbInfo));
+      return dbInfo;
+    }
+  }
+
+  @Benchmark
+  @Threads(128)
+  public DbInfo threads128_parseAndIntern() {
+    return JdbcData.intern(JdbcConnectionUrlParser.parse(url, props));
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class JdbcConnectionUrlParserBenchmark {
+
+  // one url for each of the supported vendors
+  @Param({
+    "jdbc:postgresql://pg.host:11/pgdb?user=pguser&password=PW",
+    "jdbc:mysql://my.host:22/mydb?user=myuser&password=PW",
+    "jdbc:mariadb:loadbalance://mdb.host:33/mdbdb?user=mdbuser&password=PW",
+    "jdbc:mysql:aurora://mdb.host/mdbdb",
+    "jdbc:sap://sap.host:88/?databaseName=sapdb&user=sapuser&password=PW",
+    "jdbc:sqlserver://ss.host\\ssinstance:44;databaseName=ssdb;user=ssuser;password=pw",
+    "jdbc:jtds:sqlserver://ss.host/ssdb;instance=ssinstance;user=ssuser",
+    "jdbc:db2://db2.host:77/db2db:user=db2user;password=PW;",
+    "jdbc:as400://ashost:66/asdb:user=asuser;password=PW;",
+    "jdbc:oracle:thin:orauser/PW@//orcl.host:55/orclsn",
+    "jdbc:oracle:thin:@(description=(address=(protocol=tcp)(host=orcl.host)(port=55))"
+        + "(connect_data=(service_name=orclsn)))",
+    "jdbc:h2:tcp://h2.host:111/h2db;user=h2user;password=PW",
+    "jdbc:hsqldb:hsql://hs.host:333/hsdb",
+    "jdbc:derby://derby.host:222/memory:derbydb;create=true;user=derbyuser;password=pw",
+    "jdbc:datadirect:sqlserver://server_name:1433;DatabaseName=dbname",
+    "jdbc:tibcosoftware:postgresql://server_name:5432;DatabaseName=dbname",
+    "jdbc-secretsmanager:mysql://example.com:50000",
+    "jdbc:unknown://unknown.host:1234/db"
+  })
+  public String url;
+
+  @Benchmark
+  public DbInfo parse() {
+    return JdbcConnectionUrlParser.parse(url, null);
+  }
+
+  @Benchmark
+  public DbInfo parseUncached() {
+    return JdbcConnectionUrlParser.parseUncached(url, null);
+  }
+}
@@ -10,6 +10,7 @@ import static java.util.logging.Level.FINE;
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
 import io.opentelemetry.semconv.SemanticAttributes.DbSystemValues;
 import java.io.UnsupportedEncodingException;
@@ -836,12 +837,24 @@ public enum JdbcConnectionUrlParser {
 
   private static final Logger logger = Logger.getLogger(JdbcConnectionUrlParser.class.getName());
 
-  private static final Map<String, JdbcConnectionUrlParser> typeParsers = new HashMap<>();
+  // the parser and db system of every supported subprotocol, i.e. the "type" in "jdbc:type:..."
+  private static final Map<String, Scheme> schemes = new HashMap<>();
+  private static final Scheme GENERIC_SCHEME =
+      new Scheme(GENERIC_URL_LIKE, DbSystemValues.OTHER_SQL);
+
+  // the properties read by populateStandardProperties(), their values are part of the memo key
+  private static final String[] STANDARD_PROPERTIES = {
+    "user", "databasename", "databaseName", "servername", "serverName", "portnumber", "portNumber"
+  };
+
+  // applications typically connect to a handful of urls, with the same properties every time
+  private static final Cache<Object, DbInfo> parsedUrls =
+      Cache.boundedTinyLfu("JdbcConnectionUrlParser", 1000);
 
   static {
     for (JdbcConnectionUrlParser parser : JdbcConnectionUrlParser.values()) {
       for (String key : parser.typeKeys) {
-        typeParsers.put(key, parser);
+        schemes.put(key, new Scheme(parser, toDbSystem(key)));
       }
     }
   }
@@ -860,6 +873,36 @@ public enum JdbcConnectionUrlParser {
     if (connectionUrl == null) {
       return DEFAULT;
     }
+    Object key = memoKey(connectionUrl, props);
+    DbInfo dbInfo = parsedUrls.get(key);
+    if (dbInfo == null) {
+      // not using computeIfAbsent() to parse concurrently rather than while holding a lock
+      dbInfo = parseUncached(connectionUrl, props);
+      parsedUrls.put(key, dbInfo);
+    }
+    return dbInfo;
+  }
+
+  private static Object memoKey(String connectionUrl, Properties props) {
+    if (props == null || props.isEmpty()) {
+      return connectionUrl;
+    }
+    Object[] key = null;
+    for (int i = 0; i < STANDARD_PROPERTIES.length; i++) {
+      Object value = props.get(STANDARD_PROPERTIES[i]);
+      if (value != null) {
+        if (key == null) {
+          key = new Object[STANDARD_PROPERTIES.length + 1];
+          key[0] = connectionUrl;
+        }
+        key[i + 1] = value;
+      }
+    }
+    return key == null ? connectionUrl : Arrays.asList(key);
+  }
+
+  // visible for benchmarks
+  static DbInfo parseUncached(String connectionUrl, Properties props) {
     // Make this easier and ignore case.
     connectionUrl = connectionUrl.toLowerCase(Locale.ROOT);
 
@@ -880,16 +923,15 @@ public enum JdbcConnectionUrlParser {
     }
 
     String type = jdbcUrl.substring(0, typeLoc);
-    String system = toDbSystem(type);
-    DbInfo.Builder parsedProps = DEFAULT.toBuilder().system(system);
+    Scheme scheme = schemes.get(type);
+    if (scheme == null) {
+      scheme = GENERIC_SCHEME;
+    }
+    DbInfo.Builder parsedProps = DEFAULT.toBuilder().system(scheme.system);
     populateStandardProperties(parsedProps, props);
 
     try {
-      if (typeParsers.containsKey(type)) {
-        // Delegate to specific parser
-        return withUrl(typeParsers.get(type).doParse(jdbcUrl, parsedProps), type);
-      }
-      return withUrl(GENERIC_URL_LIKE.doParse(jdbcUrl, parsedProps), type);
+      return withUrl(scheme.parser.doParse(jdbcUrl, parsedProps), type);
     } catch (RuntimeException e) {
       logger.log(FINE, "Error parsing URL", e);
       return parsedProps.build();
@@ -1019,4 +1061,14 @@ public enum JdbcConnectionUrlParser {
         return DbSystemValues.OTHER_SQL; // Unknown DBMS
     }
   }
+
+  private static final class Scheme {
+    final JdbcConnectionUrlParser parser;
+    final String system;
+
+    Scheme(JdbcConnectionUrlParser parser, String system) {
+      this.parser = parser;
+      this.system = system;
+    }
+  }
 }
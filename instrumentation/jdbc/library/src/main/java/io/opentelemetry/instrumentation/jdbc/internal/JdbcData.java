@@ -7,11 +7,14 @@ package io.opentelemetry.instrumentation.jdbc.internal;
 
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
 
 /**
  * Holds info associated with JDBC connections and prepared statements.
@@ -21,7 +24,10 @@ import java.util.WeakHashMap;
  */
 public final class JdbcData {
 
-  private static final Map<DbInfo, WeakReference<DbInfo>> dbInfos = new WeakHashMap<>();
+  // DbInfo instances are canonicalized via a weak-keyed set instead of a synchronized WeakHashMap
+  // so that threads acquiring connections concurrently don't contend on a single lock
+  private static final ConcurrentMap<Object, WeakKey> dbInfos = new ConcurrentHashMap<>();
+  private static final ReferenceQueue<DbInfo> staleDbInfos = new ReferenceQueue<>();
   public static final VirtualField<Connection, DbInfo> connectionInfo =
       VirtualField.find(Connection.class, DbInfo.class);
   public static final VirtualField<PreparedStatement, String> preparedStatement =
@@ -38,16 +44,83 @@ public final class JdbcData {
    *     and a different instance later if the original interned instance was garbage collected.
    */
   public static DbInfo intern(DbInfo dbInfo) {
-    synchronized (dbInfos) {
-      WeakReference<DbInfo> reference = dbInfos.get(dbInfo);
-      if (reference != null) {
-        DbInfo result = reference.get();
-        if (result != null) {
-          return result;
-        }
+    expungeStaleEntries();
+
+    WeakKey existing = dbInfos.get(new LookupKey(dbInfo));
+    if (existing != null) {
+      DbInfo result = existing.get();
+      if (result != null) {
+        return result;
+      }
+    }
+
+    WeakKey key = new WeakKey(dbInfo, staleDbInfos);
+    while (true) {
+      existing = dbInfos.putIfAbsent(key, key);
+      if (existing == null) {
+        return dbInfo;
       }
-      dbInfos.put(dbInfo, new WeakReference<>(dbInfo));
-      return dbInfo;
+      DbInfo result = existing.get();
+      if (result != null) {
+        return result;
+      }
+      // the interned instance was collected but its entry was not expunged yet
+      dbInfos.remove(existing, existing);
+    }
+  }
+
+  private static void expungeStaleEntries() {
+    Reference<?> reference;
+    while ((reference = staleDbInfos.poll()) != null) {
+      dbInfos.remove(reference, reference);
+    }
+  }
+
+  private static final class WeakKey extends WeakReference<DbInfo> {
+    private final int hashCode;
+
+    WeakKey(DbInfo dbInfo, ReferenceQueue<DbInfo> queue) {
+      super(dbInfo, queue);
+      hashCode = dbInfo.hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof WeakKey)) {
+        return false;
+      }
+      DbInfo dbInfo = get();
+      return dbInfo != null && dbInfo.equals(((WeakKey) obj).get());
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  // used for lookups so that no weak reference is created when the db info is already interned
+  private static final class LookupKey {
+    private final DbInfo dbInfo;
+
+    LookupKey(DbInfo dbInfo) {
+      this.dbInfo = dbInfo;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (obj instanceof WeakKey) {
+        return dbInfo.equals(((WeakKey) obj).get());
+      }
+      return obj instanceof LookupKey && dbInfo.equals(((LookupKey) obj).dbInfo);
+    }
+
+    @Override
+    public int hashCode() {
+      return dbInfo.hashCode();
     }
   }
 }
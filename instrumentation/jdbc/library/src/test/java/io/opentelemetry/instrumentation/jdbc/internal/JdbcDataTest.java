@@ -0,0 +1,77 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class JdbcDataTest {
+
+  @Test
+  void internReturnsCanonicalInstance() {
+    DbInfo first = DbInfo.builder().system("h2").host("intern-test").build();
+    DbInfo second = DbInfo.builder().system("h2").host("intern-test").build();
+    DbInfo other = DbInfo.builder().system("h2").host("other-intern-test").build();
+
+    assertThat(JdbcData.intern(first)).isSameAs(first);
+    assertThat(JdbcData.intern(second)).isSameAs(first);
+    assertThat(JdbcData.intern(other)).isSameAs(other);
+  }
+
+  @Test
+  void concurrentInternReturnsSameInstance() throws Exception {
+    int threads = 16;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<DbInfo>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return JdbcData.intern(
+                      DbInfo.builder().system("h2").host("concurrent-intern-test").build());
+                }));
+      }
+      start.countDown();
+
+      DbInfo interned = results.get(0).get();
+      for (Future<DbInfo> result : results) {
+        assertThat(result.get()).isSameAs(interned);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void parsedUrlsAreMemoized() {
+    String url = "jdbc:postgresql://memo.host:5432/db";
+    Properties props = new Properties();
+    props.setProperty("password", "secret");
+    Properties userProps = new Properties();
+    userProps.setProperty("user", "memo-user");
+
+    DbInfo dbInfo = JdbcConnectionUrlParser.parse(url, null);
+    assertThat(JdbcConnectionUrlParser.parse(url, null)).isSameAs(dbInfo);
+    // properties that don't contribute to the db info share the memoized result
+    assertThat(JdbcConnectionUrlParser.parse(url, props)).isSameAs(dbInfo);
+
+    DbInfo withUser = JdbcConnectionUrlParser.parse(url, userProps);
+    assertThat(withUser.getUser()).isEqualTo("memo-user");
+    assertThat(JdbcConnectionUrlParser.parse(url, userProps)).isSameAs(withUser);
+  }
+}
@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11;
 
 import static io.opentelemetry.javaagent.bootstrap.kafka.KafkaClientsConsumerProcessTracing.wrappingEnabledSupplier;
 import static io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11.KafkaSingletons.consumerProcessInstrumenter;
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11.KafkaSingletons.processSpanPolicy;
 import static net.bytebuddy.matcher.ElementMatchers.isMethod;
 import static net.bytebuddy.matcher.ElementMatchers.isPublic;
 import static net.bytebuddy.matcher.ElementMatchers.named;
@@ -77,7 +78,11 @@ public class ConsumerRecordsInstrumentation implements TypeInstrumentation {
       KafkaConsumerContext consumerContext = KafkaConsumerContextUtil.get(records);
       iterable =
           TracingIterable.wrap(
-              iterable, consumerProcessInstrumenter(), wrappingEnabledSupplier(), consumerContext);
+              iterable,
+              consumerProcessInstrumenter(),
+              wrappingEnabledSupplier(),
+              consumerContext,
+              processSpanPolicy());
     }
   }
 
@@ -97,7 +102,11 @@ public class ConsumerRecordsInstrumentation implements TypeInstrumentation {
       KafkaConsumerContext consumerContext = KafkaConsumerContextUtil.get(records);
       list =
           TracingList.wrap(
-              list, consumerProcessInstrumenter(), wrappingEnabledSupplier(), consumerContext);
+              list,
+              consumerProcessInstrumenter(),
+              wrappingEnabledSupplier(),
+              consumerContext,
+              processSpanPolicy());
     }
   }
 
@@ -117,7 +126,11 @@ public class ConsumerRecordsInstrumentation implements TypeInstrumentation {
       KafkaConsumerContext consumerContext = KafkaConsumerContextUtil.get(records);
       iterator =
           TracingIterator.wrap(
-              iterator, consumerProcessInstrumenter(), wrappingEnabledSupplier(), consumerContext);
+              iterator,
+              consumerProcessInstrumenter(),
+              wrappingEnabledSupplier(),
+              consumerContext,
+              processSpanPolicy());
     }
   }
 }
@@ -5,10 +5,13 @@
 
 package io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11;
 
+import static java.util.Collections.emptyMap;
+
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.kafka.internal.KafkaInstrumenterFactory;
 import io.opentelemetry.instrumentation.kafka.internal.KafkaProcessRequest;
+import io.opentelemetry.instrumentation.kafka.internal.KafkaProcessSpanPolicy;
 import io.opentelemetry.instrumentation.kafka.internal.KafkaProducerRequest;
 import io.opentelemetry.instrumentation.kafka.internal.KafkaReceiveRequest;
 import io.opentelemetry.javaagent.bootstrap.internal.ExperimentalConfig;
@@ -22,6 +25,15 @@ public final class KafkaSingletons {
       InstrumentationConfig.get()
           .getBoolean("otel.instrumentation.kafka.producer-propagation.enabled", true);
 
+  private static final KafkaProcessSpanPolicy PROCESS_SPAN_POLICY =
+      KafkaProcessSpanPolicy.parse(
+          InstrumentationConfig.get()
+              .getDouble("otel.instrumentation.kafka.experimental-process-span-ratio", 1),
+          InstrumentationConfig.get()
+              .getMap(
+                  "otel.instrumentation.kafka.experimental-process-span-ratio-per-topic",
+                  emptyMap()));
+
   private static final Instrumenter<KafkaProducerRequest, RecordMetadata> PRODUCER_INSTRUMENTER;
   private static final Instrumenter<KafkaReceiveRequest, Void> CONSUMER_RECEIVE_INSTRUMENTER;
   private static final Instrumenter<KafkaProcessRequest, Void> CONSUMER_PROCESS_INSTRUMENTER;
@@ -44,6 +56,10 @@ public final class KafkaSingletons {
     return PRODUCER_PROPAGATION_ENABLED;
   }
 
+  public static KafkaProcessSpanPolicy processSpanPolicy() {
+    return PROCESS_SPAN_POLICY;
+  }
+
   public static Instrumenter<KafkaProducerRequest, RecordMetadata> producerInstrumenter() {
     return PRODUCER_INSTRUMENTER;
   }
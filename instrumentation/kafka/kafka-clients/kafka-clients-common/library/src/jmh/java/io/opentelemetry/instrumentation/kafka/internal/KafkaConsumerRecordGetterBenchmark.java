@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Extracts the propagated context of every record of a batch, like the process instrumentation
+ * does, with the default {@code tracecontext,baggage} propagators.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class KafkaConsumerRecordGetterBenchmark {
+
+  private static final int BATCH_SIZE = 500;
+
+  private static final TextMapPropagator propagator =
+      TextMapPropagator.composite(
+          W3CTraceContextPropagator.getInstance(), W3CBaggagePropagator.getInstance());
+
+  private final List<KafkaProcessRequest> requests = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    TopicPartition topicPartition = new TopicPartition("orders", 0);
+    List<ConsumerRecord<String, String>> records = new ArrayList<>();
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      ConsumerRecord<String, String> record =
+          new ConsumerRecord<>(topicPartition.topic(), 0, i, "key-" + i, "value-" + i);
+      addHeader(record, "content-type", "application/json");
+      addHeader(record, "traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+      addHeader(record, "tracestate", "congo=t61rcWkgMzE,rojo=00f067aa0ba902b7");
+      addHeader(record, "baggage", "userId=alice,serverNode=DF%2028,isProduction=false");
+      addHeader(record, "correlation-id", "3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+      records.add(record);
+    }
+    ConsumerRecords<String, String> batch =
+        new ConsumerRecords<>(Collections.singletonMap(topicPartition, records));
+    for (ConsumerRecord<String, String> record : batch) {
+      requests.add(KafkaProcessRequest.create(record, "order-processors", "consumer-1"));
+    }
+  }
+
+  private static void addHeader(ConsumerRecord<?, ?> record, String key, String value) {
+    record.headers().add(key, value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void extract(Blackhole blackhole) {
+    for (KafkaProcessRequest request : requests) {
+      blackhole.consume(
+          propagator.extract(Context.root(), request, KafkaConsumerRecordGetter.INSTANCE));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void extractPrevious(Blackhole blackhole) {
+    for (KafkaProcessRequest request : requests) {
+      blackhole.consume(propagator.extract(Context.root(), request, PreviousGetter.INSTANCE));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void keys(Blackhole blackhole) {
+    for (KafkaProcessRequest request : requests) {
+      blackhole.consume(KafkaConsumerRecordGetter.INSTANCE.keys(request));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void keysPrevious(Blackhole blackhole) {
+    for (KafkaProcessRequest request : requests) {
+      blackhole.consume(PreviousGetter.INSTANCE.keys(request));
+    }
+  }
+
+  // the getter before it stopped using streams
+  private enum PreviousGetter implements TextMapGetter<KafkaProcessRequest> {
+    INSTANCE;
+
+    @Override
+    public Iterable<String> keys(KafkaProcessRequest carrier) {
+      return StreamSupport.stream(carrier.getRecord().headers().spliterator(), false)
+          .map(Header::key)
+          .collect(Collectors.toList());
+    }
+
+    @Nullable
+    @Override
+    public String get(@Nullable KafkaProcessRequest carrier, String key) {
+      Header header = carrier.getRecord().headers().lastHeader(key);
+      if (header == null || header.value() == null) {
+        return null;
+      }
+      return new String(header.value(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -5,33 +5,111 @@
 
 package io.opentelemetry.instrumentation.kafka.internal;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanLinksBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanLinksExtractor;
-import io.opentelemetry.instrumentation.api.internal.PropagatorBasedSpanLinksExtractor;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
+/**
+ * Links the batch process span to the spans that produced the records of the batch. Records that
+ * were produced by the same span are linked once, and at most {@code linkLimit} links are added.
+ *
+ * <p>By default the links are the first distinct producer spans of the batch, and the remaining
+ * records are not looked at once the limit is reached. When sampling is enabled, half of the links
+ * are the first distinct producer spans and the other half is a uniform (reservoir) sample of the
+ * remaining records, so that the links are representative of the whole batch while the context is
+ * only extracted from the records that end up in the sample.
+ */
 final class KafkaBatchProcessSpanLinksExtractor implements SpanLinksExtractor<KafkaReceiveRequest> {
 
-  private final SpanLinksExtractor<KafkaProcessRequest> singleRecordLinkExtractor;
+  private final TextMapPropagator propagator;
+  private final int linkLimit;
+  private final boolean sampling;
 
-  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator) {
-    this.singleRecordLinkExtractor =
-        new PropagatorBasedSpanLinksExtractor<>(propagator, KafkaConsumerRecordGetter.INSTANCE);
+  KafkaBatchProcessSpanLinksExtractor(
+      TextMapPropagator propagator, int linkLimit, boolean sampling) {
+    this.propagator = propagator;
+    this.linkLimit = linkLimit;
+    this.sampling = sampling;
   }
 
   @Override
   public void extract(
       SpanLinksBuilder spanLinks, Context parentContext, KafkaReceiveRequest request) {
+    if (linkLimit <= 0) {
+      return;
+    }
+
+    Set<SpanContext> linked = new HashSet<>();
+    int firstCount = sampling ? (linkLimit + 1) / 2 : linkLimit;
+    SpanContext[] reservoir = new SpanContext[linkLimit - firstCount];
+    // the number of records that were considered for the reservoir once it was filled, plus the
+    // size of the reservoir
+    int sampled = 0;
 
     for (ConsumerRecord<?, ?> record : request.getRecords()) {
-      // explicitly passing root to avoid situation where context propagation is turned off and the
-      // parent (CONSUMER receive) span is linked
-      singleRecordLinkExtractor.extract(
-          spanLinks,
-          Context.root(),
-          KafkaProcessRequest.create(record, request.getConsumerGroup(), request.getClientId()));
+      if (linked.size() < firstCount) {
+        SpanContext spanContext = extract(record, request);
+        if (spanContext.isValid() && linked.add(spanContext)) {
+          spanLinks.addLink(spanContext);
+        }
+        continue;
+      }
+      if (reservoir.length == 0) {
+        break;
+      }
+      if (sampled < reservoir.length) {
+        // records that can't be linked don't take a slot while the reservoir is filled
+        SpanContext spanContext = extract(record, request);
+        if (spanContext.isValid()
+            && !linked.contains(spanContext)
+            && !contains(reservoir, spanContext)) {
+          reservoir[sampled++] = spanContext;
+        }
+        continue;
+      }
+      int index = ThreadLocalRandom.current().nextInt(sampled + 1);
+      sampled++;
+      if (index < reservoir.length) {
+        SpanContext spanContext = extract(record, request);
+        if (spanContext.isValid()
+            && !linked.contains(spanContext)
+            && !contains(reservoir, spanContext)) {
+          reservoir[index] = spanContext;
+        }
+      }
+    }
+
+    for (SpanContext spanContext : reservoir) {
+      if (spanContext != null) {
+        spanLinks.addLink(spanContext);
+      }
+    }
+  }
+
+  private SpanContext extract(ConsumerRecord<?, ?> record, KafkaReceiveRequest request) {
+    // explicitly passing root to avoid situation where context propagation is turned off and the
+    // parent (CONSUMER receive) span is linked
+    Context context =
+        propagator.extract(
+            Context.root(),
+            KafkaProcessRequest.create(record, request.getConsumerGroup(), request.getClientId()),
+            KafkaConsumerRecordGetter.INSTANCE);
+    return Span.fromContext(context).getSpanContext();
+  }
+
+  private static boolean contains(SpanContext[] spanContexts, SpanContext spanContext) {
+    for (SpanContext element : spanContexts) {
+      if (spanContext.equals(element)) {
+        return true;
+      }
     }
+    return false;
   }
 }
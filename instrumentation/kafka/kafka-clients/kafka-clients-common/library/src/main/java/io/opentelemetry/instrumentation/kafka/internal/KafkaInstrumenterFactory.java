@@ -35,6 +35,8 @@ public final class KafkaInstrumenterFactory {
   private List<String> capturedHeaders = emptyList();
   private boolean captureExperimentalSpanAttributes = false;
   private boolean messagingReceiveInstrumentationEnabled = false;
+  private int batchProcessSpanLinkLimit = 128;
+  private boolean batchProcessSpanLinkSamplingEnabled = false;
 
   public KafkaInstrumenterFactory(OpenTelemetry openTelemetry, String instrumentationName) {
     this.openTelemetry = openTelemetry;
@@ -78,6 +80,28 @@ public final class KafkaInstrumenterFactory {
     return this;
   }
 
+  /**
+   * Sets the maximum number of links that are added to a batch process span, one for each distinct
+   * span that produced the records of the batch. Defaults to {@code 128}, the default span link
+   * limit of the SDK.
+   */
+  @CanIgnoreReturnValue
+  public KafkaInstrumenterFactory setBatchProcessSpanLinkLimit(int batchProcessSpanLinkLimit) {
+    this.batchProcessSpanLinkLimit = batchProcessSpanLinkLimit;
+    return this;
+  }
+
+  /**
+   * Sets whether half of the links of a batch process span are sampled from the whole batch,
+   * instead of all links coming from the first records of the batch.
+   */
+  @CanIgnoreReturnValue
+  public KafkaInstrumenterFactory setBatchProcessSpanLinkSamplingEnabled(
+      boolean batchProcessSpanLinkSamplingEnabled) {
+    this.batchProcessSpanLinkSamplingEnabled = batchProcessSpanLinkSamplingEnabled;
+    return this;
+  }
+
   public Instrumenter<KafkaProducerRequest, RecordMetadata> createProducerInstrumenter() {
     return createProducerInstrumenter(Collections.emptyList());
   }
@@ -169,7 +193,9 @@ public final class KafkaInstrumenterFactory {
         .addAttributesExtractor(KafkaReceiveAttributesExtractor.INSTANCE)
         .addSpanLinksExtractor(
             new KafkaBatchProcessSpanLinksExtractor(
-                openTelemetry.getPropagators().getTextMapPropagator()))
+                openTelemetry.getPropagators().getTextMapPropagator(),
+                batchProcessSpanLinkLimit,
+                batchProcessSpanLinkSamplingEnabled))
         .setErrorCauseExtractor(errorCauseExtractor)
         .buildInstrumenter(SpanKindExtractor.alwaysConsumer());
   }
@@ -0,0 +1,114 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import static java.util.Collections.emptyMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * Decides for which consumed records a process span is created when iterating over the records
+ * returned by {@code poll()}, per topic:
+ *
+ * <ul>
+ *   <li>a ratio of {@code 1} creates a process span for every record,
+ *   <li>a ratio of {@code 0} creates no process spans, leaving only the receive span of the batch,
+ *   <li>a ratio in between creates a process span for that fraction of the records, picked at
+ *       random.
+ * </ul>
+ *
+ * <p>The decision is made before anything is allocated for the record, so records without a
+ * process span cost next to nothing. This also means it does not look at the producer context in
+ * the record headers: a record of a sampled trace may get no process span, and a record of a
+ * trace that was not sampled may get one, which is then dropped by the sampler as usual.
+ *
+ * <p>Processing code that runs without a process span sees the parent context of the iteration
+ * instead of the producer context: the receive span when receive telemetry is enabled, otherwise
+ * whatever context is current when iterating (usually none).
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class KafkaProcessSpanPolicy {
+
+  private static final Logger logger = Logger.getLogger(KafkaProcessSpanPolicy.class.getName());
+
+  private static final KafkaProcessSpanPolicy ALWAYS = new KafkaProcessSpanPolicy(1, emptyMap());
+
+  private final double defaultRatio;
+  private final Map<String, Double> topicRatios;
+  private final boolean never;
+
+  /** Returns a policy that creates a process span for every record. */
+  public static KafkaProcessSpanPolicy always() {
+    return ALWAYS;
+  }
+
+  /**
+   * Returns a policy that uses the given ratio for the topics in {@code topicRatios}, and {@code
+   * defaultRatio} for all other topics.
+   */
+  public static KafkaProcessSpanPolicy create(
+      double defaultRatio, Map<String, Double> topicRatios) {
+    if (defaultRatio >= 1 && topicRatios.isEmpty()) {
+      return ALWAYS;
+    }
+    return new KafkaProcessSpanPolicy(defaultRatio, new HashMap<>(topicRatios));
+  }
+
+  /**
+   * Returns a policy from the given default ratio and {@code topic=ratio} configuration entries;
+   * entries that are not a number are ignored.
+   */
+  public static KafkaProcessSpanPolicy parse(double defaultRatio, Map<String, String> topicRatios) {
+    Map<String, Double> parsed = new HashMap<>();
+    topicRatios.forEach(
+        (topic, ratio) -> {
+          try {
+            parsed.put(topic, Double.parseDouble(ratio));
+          } catch (NumberFormatException e) {
+            logger.warning("Ignoring invalid process span ratio for topic " + topic + ": " + ratio);
+          }
+        });
+    return create(defaultRatio, parsed);
+  }
+
+  private KafkaProcessSpanPolicy(double defaultRatio, Map<String, Double> topicRatios) {
+    this.defaultRatio = defaultRatio;
+    this.topicRatios = topicRatios;
+    boolean never = defaultRatio <= 0;
+    for (double ratio : topicRatios.values()) {
+      never &= ratio <= 0;
+    }
+    this.never = never;
+  }
+
+  /** Returns whether no process span is created for any record. */
+  boolean isNever() {
+    return never;
+  }
+
+  /** Returns whether a process span should be created for a record of the given topic. */
+  boolean shouldCreateSpan(String topic) {
+    double ratio = defaultRatio;
+    if (!topicRatios.isEmpty()) {
+      Double topicRatio = topicRatios.get(topic);
+      if (topicRatio != null) {
+        ratio = topicRatio;
+      }
+    }
+    if (ratio >= 1) {
+      return true;
+    }
+    if (ratio <= 0) {
+      return false;
+    }
+    return ThreadLocalRandom.current().nextDouble() < ratio;
+  }
+}
@@ -19,17 +19,20 @@ public class TracingIterable<K, V> implements Iterable<ConsumerRecord<K, V>> {
   private final Instrumenter<KafkaProcessRequest, Void> instrumenter;
   private final BooleanSupplier wrappingEnabled;
   private final KafkaConsumerContext consumerContext;
+  private final KafkaProcessSpanPolicy processSpanPolicy;
   private boolean firstIterator = true;
 
   protected TracingIterable(
       Iterable<ConsumerRecord<K, V>> delegate,
       Instrumenter<KafkaProcessRequest, Void> instrumenter,
       BooleanSupplier wrappingEnabled,
-      KafkaConsumerContext consumerContext) {
+      KafkaConsumerContext consumerContext,
+      KafkaProcessSpanPolicy processSpanPolicy) {
     this.delegate = delegate;
     this.instrumenter = instrumenter;
     this.wrappingEnabled = wrappingEnabled;
     this.consumerContext = consumerContext;
+    this.processSpanPolicy = processSpanPolicy;
   }
 
   public static <K, V> Iterable<ConsumerRecord<K, V>> wrap(
@@ -37,8 +40,19 @@ public class TracingIterable<K, V> implements Iterable<ConsumerRecord<K, V>> {
       Instrumenter<KafkaProcessRequest, Void> instrumenter,
       BooleanSupplier wrappingEnabled,
       KafkaConsumerContext consumerContext) {
-    if (wrappingEnabled.getAsBoolean()) {
-      return new TracingIterable<>(delegate, instrumenter, wrappingEnabled, consumerContext);
+    return wrap(
+        delegate, instrumenter, wrappingEnabled, consumerContext, KafkaProcessSpanPolicy.always());
+  }
+
+  public static <K, V> Iterable<ConsumerRecord<K, V>> wrap(
+      Iterable<ConsumerRecord<K, V>> delegate,
+      Instrumenter<KafkaProcessRequest, Void> instrumenter,
+      BooleanSupplier wrappingEnabled,
+      KafkaConsumerContext consumerContext,
+      KafkaProcessSpanPolicy processSpanPolicy) {
+    if (wrappingEnabled.getAsBoolean() && !processSpanPolicy.isNever()) {
+      return new TracingIterable<>(
+          delegate, instrumenter, wrappingEnabled, consumerContext, processSpanPolicy);
     }
     return delegate;
   }
@@ -51,7 +65,12 @@ public class TracingIterable<K, V> implements Iterable<ConsumerRecord<K, V>> {
     // ConsumerRecords is performed in the same thread that called poll()
     if (firstIterator) {
       it =
-          TracingIterator.wrap(delegate.iterator(), instrumenter, wrappingEnabled, consumerContext);
+          TracingIterator.wrap(
+              delegate.iterator(),
+              instrumenter,
+              wrappingEnabled,
+              consumerContext,
+              processSpanPolicy);
       firstIterator = false;
     } else {
       it = delegate.iterator();
@@ -24,6 +24,7 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
   private final BooleanSupplier wrappingEnabled;
   private final Context parentContext;
   private final KafkaConsumerContext consumerContext;
+  private final KafkaProcessSpanPolicy processSpanPolicy;
 
   /*
    * Note: this may potentially create problems if this iterator is used from different threads. But
@@ -37,7 +38,8 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
       Iterator<ConsumerRecord<K, V>> delegateIterator,
       Instrumenter<KafkaProcessRequest, Void> instrumenter,
       BooleanSupplier wrappingEnabled,
-      KafkaConsumerContext consumerContext) {
+      KafkaConsumerContext consumerContext,
+      KafkaProcessSpanPolicy processSpanPolicy) {
     this.delegateIterator = delegateIterator;
     this.instrumenter = instrumenter;
     this.wrappingEnabled = wrappingEnabled;
@@ -46,6 +48,7 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
     // use the receive CONSUMER as parent if it's available
     this.parentContext = receiveContext != null ? receiveContext : Context.current();
     this.consumerContext = consumerContext;
+    this.processSpanPolicy = processSpanPolicy;
   }
 
   public static <K, V> Iterator<ConsumerRecord<K, V>> wrap(
@@ -53,9 +56,23 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
       Instrumenter<KafkaProcessRequest, Void> instrumenter,
       BooleanSupplier wrappingEnabled,
       KafkaConsumerContext consumerContext) {
-    if (wrappingEnabled.getAsBoolean()) {
+    return wrap(
+        delegateIterator,
+        instrumenter,
+        wrappingEnabled,
+        consumerContext,
+        KafkaProcessSpanPolicy.always());
+  }
+
+  public static <K, V> Iterator<ConsumerRecord<K, V>> wrap(
+      Iterator<ConsumerRecord<K, V>> delegateIterator,
+      Instrumenter<KafkaProcessRequest, Void> instrumenter,
+      BooleanSupplier wrappingEnabled,
+      KafkaConsumerContext consumerContext,
+      KafkaProcessSpanPolicy processSpanPolicy) {
+    if (wrappingEnabled.getAsBoolean() && !processSpanPolicy.isNever()) {
       return new TracingIterator<>(
-          delegateIterator, instrumenter, wrappingEnabled, consumerContext);
+          delegateIterator, instrumenter, wrappingEnabled, consumerContext, processSpanPolicy);
     }
     return delegateIterator;
   }
@@ -77,7 +94,9 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
     // suppressing the correct span
     // (https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/1947)
     ConsumerRecord<K, V> next = delegateIterator.next();
-    if (next != null && wrappingEnabled.getAsBoolean()) {
+    if (next != null
+        && wrappingEnabled.getAsBoolean()
+        && processSpanPolicy.shouldCreateSpan(next.topic())) {
       currentRequest = KafkaProcessRequest.create(consumerContext, next);
       currentContext = instrumenter.start(parentContext, currentRequest);
       currentScope = currentContext.makeCurrent();
@@ -23,8 +23,9 @@ public class TracingList<K, V> extends TracingIterable<K, V> implements List<Con
       List<ConsumerRecord<K, V>> delegate,
       Instrumenter<KafkaProcessRequest, Void> instrumenter,
       BooleanSupplier wrappingEnabled,
-      KafkaConsumerContext consumerContext) {
-    super(delegate, instrumenter, wrappingEnabled, consumerContext);
+      KafkaConsumerContext consumerContext,
+      KafkaProcessSpanPolicy processSpanPolicy) {
+    super(delegate, instrumenter, wrappingEnabled, consumerContext, processSpanPolicy);
     this.delegate = delegate;
   }
 
@@ -33,8 +34,19 @@ public class TracingList<K, V> extends TracingIterable<K, V> implements List<Con
       Instrumenter<KafkaProcessRequest, Void> instrumenter,
       BooleanSupplier wrappingEnabled,
       KafkaConsumerContext consumerContext) {
-    if (wrappingEnabled.getAsBoolean()) {
-      return new TracingList<>(delegate, instrumenter, wrappingEnabled, consumerContext);
+    return wrap(
+        delegate, instrumenter, wrappingEnabled, consumerContext, KafkaProcessSpanPolicy.always());
+  }
+
+  public static <K, V> List<ConsumerRecord<K, V>> wrap(
+      List<ConsumerRecord<K, V>> delegate,
+      Instrumenter<KafkaProcessRequest, Void> instrumenter,
+      BooleanSupplier wrappingEnabled,
+      KafkaConsumerContext consumerContext,
+      KafkaProcessSpanPolicy processSpanPolicy) {
+    if (wrappingEnabled.getAsBoolean() && !processSpanPolicy.isNever()) {
+      return new TracingList<>(
+          delegate, instrumenter, wrappingEnabled, consumerContext, processSpanPolicy);
     }
     return delegate;
   }
@@ -0,0 +1,182 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.SpanLinksBuilder;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class KafkaBatchProcessSpanLinksExtractorTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
+
+  @Test
+  void linksDuplicateProducerContextsOnce() {
+    SpanContext first = spanContext(1);
+    SpanContext second = spanContext(2);
+
+    List<SpanContext> links = extract(10, false, first, first, second, first, second);
+
+    assertThat(links).containsExactly(first, second);
+  }
+
+  @Test
+  void honoursLinkLimit() {
+    List<SpanContext> links = extract(3, false, spanContexts(10));
+
+    assertThat(links).containsExactly(spanContext(0), spanContext(1), spanContext(2));
+  }
+
+  @Test
+  void skipsInvalidContexts() {
+    SpanContext valid = spanContext(1);
+
+    List<SpanContext> links =
+        extract(
+            10,
+            false,
+            Arrays.asList(
+                recordWithTraceparent(null),
+                recordWithTraceparent("not a traceparent"),
+                record(valid)));
+
+    assertThat(links).containsExactly(valid);
+  }
+
+  @Test
+  void samplingFillsBothHalvesWithoutDuplicates() {
+    List<ConsumerRecord<?, ?>> records = new ArrayList<>();
+    // the producer contexts of the first records are repeated throughout the batch
+    for (int i = 0; i < 100; i++) {
+      records.add(record(spanContext(i % 2 == 0 ? 0 : i % 10)));
+    }
+
+    List<SpanContext> links = extract(4, true, records);
+
+    assertThat(links).hasSize(4).doesNotHaveDuplicates();
+    // the first half are the first distinct producer spans
+    assertThat(links.subList(0, 2)).containsExactly(spanContext(0), spanContext(1));
+    // the second half is sampled from the remaining records
+    assertThat(links.subList(2, 4))
+        .allSatisfy(link -> assertThat(link).isIn((Object[]) spanContexts(10)));
+  }
+
+  @Test
+  void linkLimitIsSetThroughFactory() {
+    Instrumenter<KafkaReceiveRequest, Void> instrumenter =
+        new KafkaInstrumenterFactory(testing.getOpenTelemetry(), "test")
+            .setBatchProcessSpanLinkLimit(2)
+            .createBatchProcessInstrumenter();
+    KafkaReceiveRequest request =
+        KafkaReceiveRequest.create(consumerRecords(records(spanContexts(5))), null, null);
+
+    Context context = instrumenter.start(Context.root(), request);
+    instrumenter.end(context, request, null, null);
+
+    List<List<SpanData>> traces = testing.waitForTraces(1);
+    assertThat(traces.get(0).get(0).getLinks())
+        .extracting(LinkData::getSpanContext)
+        .containsExactly(spanContext(0), spanContext(1));
+  }
+
+  private static List<SpanContext> extract(
+      int linkLimit, boolean sampling, SpanContext... spanContexts) {
+    return extract(linkLimit, sampling, records(spanContexts));
+  }
+
+  private static List<SpanContext> extract(
+      int linkLimit, boolean sampling, List<ConsumerRecord<?, ?>> records) {
+    KafkaBatchProcessSpanLinksExtractor extractor =
+        new KafkaBatchProcessSpanLinksExtractor(
+            W3CTraceContextPropagator.getInstance(), linkLimit, sampling);
+    List<SpanContext> links = new ArrayList<>();
+    extractor.extract(
+        new SpanLinksBuilder() {
+          @Override
+          public SpanLinksBuilder addLink(SpanContext spanContext) {
+            links.add(spanContext);
+            return this;
+          }
+
+          @Override
+          public SpanLinksBuilder addLink(SpanContext spanContext, Attributes attributes) {
+            return addLink(spanContext);
+          }
+        },
+        Context.root(),
+        KafkaReceiveRequest.create(consumerRecords(records), null, null));
+    return links;
+  }
+
+  private static SpanContext[] spanContexts(int count) {
+    SpanContext[] spanContexts = new SpanContext[count];
+    for (int i = 0; i < count; i++) {
+      spanContexts[i] = spanContext(i);
+    }
+    return spanContexts;
+  }
+
+  private static SpanContext spanContext(int i) {
+    return SpanContext.createFromRemoteParent(
+        String.format("%032x", i + 1),
+        String.format("%016x", i + 1),
+        TraceFlags.getSampled(),
+        TraceState.getDefault());
+  }
+
+  private static List<ConsumerRecord<?, ?>> records(SpanContext... spanContexts) {
+    return Arrays.stream(spanContexts)
+        .map(KafkaBatchProcessSpanLinksExtractorTest::record)
+        .collect(Collectors.toList());
+  }
+
+  private static ConsumerRecord<?, ?> record(SpanContext spanContext) {
+    return recordWithTraceparent(
+        "00-"
+            + spanContext.getTraceId()
+            + "-"
+            + spanContext.getSpanId()
+            + "-"
+            + spanContext.getTraceFlags().asHex());
+  }
+
+  private static ConsumerRecord<?, ?> recordWithTraceparent(@Nullable String traceparent) {
+    ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, 0, null, "value");
+    if (traceparent != null) {
+      record.headers().add("traceparent", traceparent.getBytes(UTF_8));
+    }
+    return record;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static ConsumerRecords<?, ?> consumerRecords(List<ConsumerRecord<?, ?>> records) {
+    return new ConsumerRecords<>(singletonMap(new TopicPartition("topic", 0), (List) records));
+  }
+}
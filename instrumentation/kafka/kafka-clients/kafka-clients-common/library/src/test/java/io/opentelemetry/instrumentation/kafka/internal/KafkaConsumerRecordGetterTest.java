@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+class KafkaConsumerRecordGetterTest {
+
+  @Test
+  void keysReturnsAllHeaderKeys() {
+    ConsumerRecord<String, String> record = record();
+    record.headers().add("traceparent", "value".getBytes(UTF_8));
+    record.headers().add("baggage", "value".getBytes(UTF_8));
+    record.headers().add("traceparent", "other value".getBytes(UTF_8));
+
+    assertThat(KafkaConsumerRecordGetter.INSTANCE.keys(request(record)))
+        .containsExactly("traceparent", "baggage", "traceparent");
+  }
+
+  @Test
+  void keysOfRecordWithoutHeaders() {
+    assertThat(KafkaConsumerRecordGetter.INSTANCE.keys(request(record()))).isEmpty();
+  }
+
+  @Test
+  void getReturnsLastHeaderValue() {
+    ConsumerRecord<String, String> record = record();
+    record.headers().add("baggage", "first=1".getBytes(UTF_8));
+    record.headers().add("baggage", "second=2".getBytes(UTF_8));
+
+    assertThat(KafkaConsumerRecordGetter.INSTANCE.get(request(record), "baggage"))
+        .isEqualTo("second=2");
+  }
+
+  @Test
+  void getDecodesNonAsciiValue() {
+    ConsumerRecord<String, String> record = record();
+    record.headers().add("baggage", "city=Zürich,greeting=こんにちは".getBytes(UTF_8));
+
+    assertThat(KafkaConsumerRecordGetter.INSTANCE.get(request(record), "baggage"))
+        .isEqualTo("city=Zürich,greeting=こんにちは");
+  }
+
+  @Test
+  void getReturnsNullForMissingHeaderOrValue() {
+    ConsumerRecord<String, String> record = record();
+    record.headers().add("baggage", null);
+
+    assertThat(KafkaConsumerRecordGetter.INSTANCE.get(request(record), "baggage")).isNull();
+    assertThat(KafkaConsumerRecordGetter.INSTANCE.get(request(record), "traceparent")).isNull();
+  }
+
+  private static ConsumerRecord<String, String> record() {
+    return new ConsumerRecord<>("topic", 0, 0, null, "value");
+  }
+
+  private static KafkaProcessRequest request(ConsumerRecord<String, String> record) {
+    return KafkaProcessRequest.create(record, null, null);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+class KafkaProcessSpanPolicyTest {
+
+  @Test
+  void ratioOneCreatesEverySpan() {
+    KafkaProcessSpanPolicy policy = KafkaProcessSpanPolicy.create(1, emptyMap());
+
+    assertThat(policy).isSameAs(KafkaProcessSpanPolicy.always());
+    assertThat(policy.isNever()).isFalse();
+    assertThat(spanCount(policy, "topic", 1000)).isEqualTo(1000);
+  }
+
+  @Test
+  void ratioZeroCreatesNoSpans() {
+    KafkaProcessSpanPolicy policy = KafkaProcessSpanPolicy.create(0, emptyMap());
+
+    assertThat(policy.isNever()).isTrue();
+    assertThat(spanCount(policy, "topic", 1000)).isZero();
+  }
+
+  @Test
+  void ratioInBetweenCreatesFractionOfSpans() {
+    KafkaProcessSpanPolicy policy = KafkaProcessSpanPolicy.create(0.5, emptyMap());
+
+    assertThat(policy.isNever()).isFalse();
+    // far outside of any plausible deviation for 10000 records
+    assertThat(spanCount(policy, "topic", 10000)).isBetween(4000, 6000);
+  }
+
+  @Test
+  void topicRatiosOverrideDefaultRatio() {
+    Map<String, Double> topicRatios = new HashMap<>();
+    topicRatios.put("clicks", 0.0);
+    topicRatios.put("orders", 1.0);
+    KafkaProcessSpanPolicy policy = KafkaProcessSpanPolicy.create(0.5, topicRatios);
+
+    assertThat(policy.isNever()).isFalse();
+    assertThat(spanCount(policy, "clicks", 1000)).isZero();
+    assertThat(spanCount(policy, "orders", 1000)).isEqualTo(1000);
+    assertThat(spanCount(policy, "other", 10000)).isBetween(4000, 6000);
+  }
+
+  @Test
+  void topicRatioKeepsPolicyFromBeingNever() {
+    KafkaProcessSpanPolicy policy = KafkaProcessSpanPolicy.create(0, singletonMap("orders", 1.0));
+
+    assertThat(policy.isNever()).isFalse();
+    assertThat(spanCount(policy, "orders", 1000)).isEqualTo(1000);
+    assertThat(spanCount(policy, "other", 1000)).isZero();
+  }
+
+  @Test
+  void topicRatioCanDisableDefaultRatio() {
+    KafkaProcessSpanPolicy policy = KafkaProcessSpanPolicy.create(1, singletonMap("clicks", 0.0));
+
+    assertThat(policy).isNotSameAs(KafkaProcessSpanPolicy.always());
+    assertThat(spanCount(policy, "clicks", 1000)).isZero();
+    assertThat(spanCount(policy, "other", 1000)).isEqualTo(1000);
+  }
+
+  @Test
+  void parseIgnoresInvalidEntries() {
+    Map<String, String> topicRatios = new HashMap<>();
+    topicRatios.put("clicks", "0");
+    topicRatios.put("orders", "not a number");
+    KafkaProcessSpanPolicy policy = KafkaProcessSpanPolicy.parse(1, topicRatios);
+
+    assertThat(spanCount(policy, "clicks", 1000)).isZero();
+    // the invalid entry falls back to the default ratio
+    assertThat(spanCount(policy, "orders", 1000)).isEqualTo(1000);
+  }
+
+  @Test
+  void parseWithOnlyInvalidEntriesCreatesEverySpan() {
+    KafkaProcessSpanPolicy policy =
+        KafkaProcessSpanPolicy.parse(1, singletonMap("orders", "not a number"));
+
+    assertThat(policy).isSameAs(KafkaProcessSpanPolicy.always());
+  }
+
+  @Test
+  void neverDoesNotWrapRecords() {
+    KafkaProcessSpanPolicy never = KafkaProcessSpanPolicy.create(0, singletonMap("orders", 0.0));
+    Instrumenter<KafkaProcessRequest, Void> instrumenter =
+        new KafkaInstrumenterFactory(OpenTelemetry.noop(), "test")
+            .createConsumerProcessInstrumenter();
+    KafkaConsumerContext consumerContext = KafkaConsumerContext.create(Context.root(), null, null);
+    List<ConsumerRecord<String, String>> records =
+        singletonList(new ConsumerRecord<>("orders", 0, 0, null, "value"));
+    Iterator<ConsumerRecord<String, String>> iterator = records.iterator();
+
+    assertThat(never.isNever()).isTrue();
+    assertThat(TracingList.wrap(records, instrumenter, () -> true, consumerContext, never))
+        .isSameAs(records);
+    assertThat(TracingIterable.wrap(records, instrumenter, () -> true, consumerContext, never))
+        .isSameAs(records);
+    assertThat(TracingIterator.wrap(iterator, instrumenter, () -> true, consumerContext, never))
+        .isSameAs(iterator);
+    // other policies still wrap
+    assertThat(
+            TracingList.wrap(
+                records,
+                instrumenter,
+                () -> true,
+                consumerContext,
+                KafkaProcessSpanPolicy.create(0.5, emptyMap())))
+        .isNotSameAs(records);
+  }
+
+  private static int spanCount(KafkaProcessSpanPolicy policy, String topic, int records) {
+    int count = 0;
+    for (int i = 0; i < records; i++) {
+      if (policy.shouldCreateSpan(topic)) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
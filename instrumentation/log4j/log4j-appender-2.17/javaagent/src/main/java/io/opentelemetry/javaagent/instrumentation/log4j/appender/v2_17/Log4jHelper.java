@@ -61,10 +61,8 @@ public final class Log4jHelper {
       instrumentationName = "ROOT";
     }
     LogRecordBuilder builder =
-        GlobalOpenTelemetry.get()
-            .getLogsBridge()
-            .loggerBuilder(instrumentationName)
-            .build()
+        mapper
+            .getLogger(GlobalOpenTelemetry.get().getLogsBridge(), instrumentationName)
             .logRecordBuilder();
     Map<String, String> contextData = ThreadContext.getImmutableContext();
 
@@ -14,11 +14,18 @@ import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.impl.ThrowableProxy;
 import org.apache.logging.log4j.core.time.Instant;
+import org.apache.logging.log4j.core.time.MutableInstant;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.StringMapMessage;
 import org.apache.logging.log4j.message.StructuredDataMessage;
 import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
 
+/**
+ * A copy of a log event that can be emitted later, from another thread: either when the
+ * OpenTelemetry instance is installed, or by the background thread in async mode.
+ */
 class LogEventToReplay implements LogEvent {
 
   private static final long serialVersionUID = 1L;
@@ -56,14 +63,35 @@ class LogEventToReplay implements LogEvent {
     }
 
     this.level = logEvent.getLevel();
-    this.instant = logEvent.getInstant();
+    this.instant = copy(logEvent.getInstant());
     this.thrown = logEvent.getThrown();
     this.marker = logEvent.getMarker();
-    this.contextData = logEvent.getContextData();
+    this.contextData = copy(logEvent.getContextData());
     this.threadName = logEvent.getThreadName();
     this.threadId = logEvent.getThreadId();
   }
 
+  @Nullable
+  private static Instant copy(@Nullable Instant instant) {
+    if (!(instant instanceof MutableInstant)) {
+      return instant;
+    }
+    MutableInstant copy = new MutableInstant();
+    copy.initFrom(instant);
+    return copy;
+  }
+
+  @Nullable
+  private static ReadOnlyStringMap copy(@Nullable ReadOnlyStringMap contextData) {
+    if (contextData == null
+        || (contextData instanceof StringMap && ((StringMap) contextData).isFrozen())) {
+      return contextData;
+    }
+    StringMap copy = new SortedArrayStringMap(contextData);
+    copy.freeze();
+    return copy;
+  }
+
   @Override
   public LogEvent toImmutable() {
     return null;
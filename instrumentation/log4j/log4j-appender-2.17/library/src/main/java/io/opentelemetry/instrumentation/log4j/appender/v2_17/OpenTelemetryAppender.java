@@ -10,6 +10,7 @@ import static java.util.Collections.emptyList;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.AsyncLogEmitter;
 import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.ContextDataAccessor;
 import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.LogEventMapper;
 import java.io.Serializable;
@@ -52,8 +53,15 @@ public class OpenTelemetryAppender extends AbstractAppender {
 
   static final String PLUGIN_NAME = "OpenTelemetry";
 
+  // used when the appender is stopped without a timeout
+  private static final long DEFAULT_ASYNC_SHUTDOWN_TIMEOUT_MILLIS = 1000;
+
   private final LogEventMapper<ReadOnlyStringMap> mapper;
   private volatile OpenTelemetry openTelemetry;
+  private final boolean async;
+  private final int asyncQueueSize;
+  private final boolean asyncBlockWhenFull;
+  @Nullable private volatile AsyncLogEmitter<LogEvent> asyncEmitter;
 
   private final BlockingQueue<LogEventToReplay> eventsToReplay;
 
@@ -96,6 +104,9 @@ public class OpenTelemetryAppender extends AbstractAppender {
     @PluginBuilderAttribute private boolean captureMarkerAttribute;
     @PluginBuilderAttribute private String captureContextDataAttributes;
     @PluginBuilderAttribute private int numLogsCapturedBeforeOtelInstall;
+    @PluginBuilderAttribute private boolean async;
+    @PluginBuilderAttribute private int asyncQueueSize;
+    @PluginBuilderAttribute private boolean asyncBlockWhenFull;
 
     @Nullable private OpenTelemetry openTelemetry;
 
@@ -147,6 +158,37 @@ public class OpenTelemetryAppender extends AbstractAppender {
       return asBuilder();
     }
 
+    /**
+     * Sets whether logs are emitted by a background thread. When enabled, the logging threads only
+     * take a snapshot of the log event, and the background thread maps and emits the logs.
+     */
+    @CanIgnoreReturnValue
+    public B setAsync(boolean async) {
+      this.async = async;
+      return asBuilder();
+    }
+
+    /**
+     * Sets the number of logs that can be waiting to be emitted by the background thread in async
+     * mode. Logs that don't fit are dropped, unless {@link #setAsyncBlockWhenFull(boolean)} is
+     * enabled.
+     */
+    @CanIgnoreReturnValue
+    public B setAsyncQueueSize(int asyncQueueSize) {
+      this.asyncQueueSize = asyncQueueSize;
+      return asBuilder();
+    }
+
+    /**
+     * Sets whether the logging threads wait for the background thread to catch up in async mode
+     * when the queue is full, instead of dropping the logs.
+     */
+    @CanIgnoreReturnValue
+    public B setAsyncBlockWhenFull(boolean asyncBlockWhenFull) {
+      this.asyncBlockWhenFull = asyncBlockWhenFull;
+      return asBuilder();
+    }
+
     /** Configures the {@link OpenTelemetry} used to append logs. */
     @CanIgnoreReturnValue
     public B setOpenTelemetry(OpenTelemetry openTelemetry) {
@@ -168,6 +210,9 @@ public class OpenTelemetryAppender extends AbstractAppender {
           captureMarkerAttribute,
           captureContextDataAttributes,
           numLogsCapturedBeforeOtelInstall,
+          async,
+          asyncQueueSize,
+          asyncBlockWhenFull,
           openTelemetry);
     }
   }
@@ -183,6 +228,9 @@ public class OpenTelemetryAppender extends AbstractAppender {
       boolean captureMarkerAttribute,
       String captureContextDataAttributes,
       int numLogsCapturedBeforeOtelInstall,
+      boolean async,
+      int asyncQueueSize,
+      boolean asyncBlockWhenFull,
       OpenTelemetry openTelemetry) {
 
     super(name, filter, layout, ignoreExceptions, properties);
@@ -199,6 +247,37 @@ public class OpenTelemetryAppender extends AbstractAppender {
     } else {
       this.eventsToReplay = new ArrayBlockingQueue<>(1000);
     }
+    this.async = async;
+    this.asyncQueueSize = asyncQueueSize != 0 ? asyncQueueSize : 2048;
+    this.asyncBlockWhenFull = asyncBlockWhenFull;
+  }
+
+  @Override
+  public void start() {
+    if (async) {
+      asyncEmitter =
+          AsyncLogEmitter.start(
+              getName(),
+              asyncQueueSize,
+              asyncBlockWhenFull,
+              event -> emit(openTelemetry, event));
+    }
+    super.start();
+  }
+
+  @Override
+  public boolean stop(long timeout, TimeUnit timeUnit) {
+    boolean stopped = super.stop(timeout, timeUnit);
+    AsyncLogEmitter<LogEvent> asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      this.asyncEmitter = null;
+      if (timeout > 0) {
+        asyncEmitter.shutdown(timeout, timeUnit);
+      } else {
+        asyncEmitter.shutdown(DEFAULT_ASYNC_SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      }
+    }
+    return stopped;
   }
 
   private static List<String> splitAndFilterBlanksAndNulls(String value) {
@@ -238,7 +317,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
     OpenTelemetry openTelemetry = this.openTelemetry;
     if (openTelemetry != null) {
       // optimization to avoid locking after the OpenTelemetry instance is set
-      emit(openTelemetry, event);
+      emitOrEnqueue(openTelemetry, event);
       return;
     }
 
@@ -247,7 +326,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
     try {
       openTelemetry = this.openTelemetry;
       if (openTelemetry != null) {
-        emit(openTelemetry, event);
+        emitOrEnqueue(openTelemetry, event);
         return;
       }
 
@@ -263,6 +342,16 @@ public class OpenTelemetryAppender extends AbstractAppender {
     }
   }
 
+  private void emitOrEnqueue(OpenTelemetry openTelemetry, LogEvent event) {
+    AsyncLogEmitter<LogEvent> asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      // Log4j 2 reuses LogEvent objects
+      asyncEmitter.emit(new LogEventToReplay(event));
+    } else {
+      emit(openTelemetry, event);
+    }
+  }
+
   private void emit(OpenTelemetry openTelemetry, LogEvent event) {
     String instrumentationName = event.getLoggerName();
     if (instrumentationName == null || instrumentationName.isEmpty()) {
@@ -270,7 +359,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
     }
 
     LogRecordBuilder builder =
-        openTelemetry.getLogsBridge().loggerBuilder(instrumentationName).build().logRecordBuilder();
+        mapper.getLogger(openTelemetry.getLogsBridge(), instrumentationName).logRecordBuilder();
     ReadOnlyStringMap contextData = event.getContextData();
     mapper.mapLogEvent(
         builder,
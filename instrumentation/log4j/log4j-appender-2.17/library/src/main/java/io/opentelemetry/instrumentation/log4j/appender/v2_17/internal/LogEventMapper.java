@@ -9,12 +9,14 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.LoggerProvider;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.LoggerCache;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.StackTraceRenderer;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.semconv.SemanticAttributes;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.List;
 import javax.annotation.Nullable;
 import org.apache.logging.log4j.Level;
@@ -45,6 +47,7 @@ public final class LogEventMapper<T> {
   private final boolean captureMarkerAttribute;
   private final List<String> captureContextDataAttributes;
   private final boolean captureAllContextDataAttributes;
+  private final LoggerCache loggerCache = new LoggerCache();
 
   public LogEventMapper(
       ContextDataAccessor<T> contextDataAccessor,
@@ -62,6 +65,14 @@ public final class LogEventMapper<T> {
         captureContextDataAttributes.size() == 1 && captureContextDataAttributes.get(0).equals("*");
   }
 
+  /**
+   * Returns the {@link Logger} of the given {@link LoggerProvider} for the given instrumentation
+   * name, see {@link LoggerCache}.
+   */
+  public Logger getLogger(LoggerProvider loggerProvider, String instrumentationName) {
+    return loggerCache.getLogger(loggerProvider, instrumentationName);
+  }
+
   /**
    * Map the {@link LogEvent} data model onto the {@link LogRecordBuilder}. Unmapped fields include:
    *
@@ -189,9 +200,8 @@ public final class LogEventMapper<T> {
     // io.opentelemetry:opentelemetry-api
     attributes.put(SemanticAttributes.EXCEPTION_TYPE, throwable.getClass().getName());
     attributes.put(SemanticAttributes.EXCEPTION_MESSAGE, throwable.getMessage());
-    StringWriter writer = new StringWriter();
-    throwable.printStackTrace(new PrintWriter(writer));
-    attributes.put(SemanticAttributes.EXCEPTION_STACKTRACE, writer.toString());
+    attributes.put(
+        SemanticAttributes.EXCEPTION_STACKTRACE, StackTraceRenderer.get().render(throwable));
   }
 
   private static Severity levelToSeverity(Level level) {
@@ -0,0 +1,123 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.log4j.appender.v2_17;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncOpenTelemetryAppenderTest extends AbstractOpenTelemetryAppenderTest {
+
+  private static final String APPENDER_NAME = "OpenTelemetryAppender";
+
+  private Appender configuredAppender;
+  private OpenTelemetryAppender appender;
+
+  @BeforeEach
+  void setup() {
+    generalBeforeEachSetup();
+    // replaces the appender of log4j2.xml with an async appender with the same settings
+    LoggerConfig loggerConfig = testLoggerConfig();
+    configuredAppender = loggerConfig.getAppenders().get(APPENDER_NAME);
+    loggerConfig.removeAppender(APPENDER_NAME);
+    appender = startAsyncAppender();
+    loggerConfig.addAppender(appender, null, null);
+    updateLoggers();
+  }
+
+  @AfterEach
+  void cleanup() {
+    LoggerConfig loggerConfig = testLoggerConfig();
+    loggerConfig.removeAppender(APPENDER_NAME);
+    appender.stop(10, TimeUnit.SECONDS);
+    loggerConfig.addAppender(configuredAppender, null, null);
+    updateLoggers();
+  }
+
+  @Override
+  void executeAfterLogsExecution() {
+    // emits the logs that are waiting for the background thread
+    LoggerConfig loggerConfig = testLoggerConfig();
+    loggerConfig.removeAppender(APPENDER_NAME);
+    appender.stop(10, TimeUnit.SECONDS);
+    appender = startAsyncAppender();
+    loggerConfig.addAppender(appender, null, null);
+    updateLoggers();
+  }
+
+  @Test
+  void logWithSpanAndContextData() {
+    Span span = SdkTracerProvider.builder().build().get("tracer").spanBuilder("span").startSpan();
+    ThreadContext.put("key1", "val1");
+    try (Scope ignored = span.makeCurrent()) {
+      // more logs than fit in the queue
+      for (int i = 0; i < 10; i++) {
+        logger.info("log message {}", i);
+      }
+    } finally {
+      ThreadContext.clearMap();
+      span.end();
+    }
+    logger.info("log message without span");
+
+    executeAfterLogsExecution();
+
+    List<LogRecordData> logDataList = logRecordExporter.getFinishedLogRecordItems();
+    assertThat(logDataList).hasSize(11);
+    for (int i = 0; i < 10; i++) {
+      LogRecordData logData = logDataList.get(i);
+      assertThat(logData)
+          .hasBody("log message " + i)
+          .hasSpanContext(span.getSpanContext());
+      assertThat(logData.getAttributes().get(stringKey("key1"))).isEqualTo("val1");
+    }
+    assertThat(logDataList.get(10)).hasBody("log message without span");
+    assertThat(logDataList.get(10).getSpanContext().isValid()).isFalse();
+    assertThat(logDataList.get(10).getAttributes().get(stringKey("key1"))).isNull();
+  }
+
+  private static OpenTelemetryAppender startAsyncAppender() {
+    OpenTelemetryAppender appender =
+        OpenTelemetryAppender.builder()
+            .setName(APPENDER_NAME)
+            .setCaptureMapMessageAttributes(true)
+            .setCaptureMarkerAttribute(true)
+            .setCaptureContextDataAttributes("*")
+            .setAsync(true)
+            .setAsyncQueueSize(4)
+            .setAsyncBlockWhenFull(true)
+            .setOpenTelemetry(openTelemetry)
+            .build();
+    appender.start();
+    return appender;
+  }
+
+  private static LoggerConfig testLoggerConfig() {
+    return loggerContext().getConfiguration().getLoggerConfig("TestLogger");
+  }
+
+  private static void updateLoggers() {
+    loggerContext().updateLoggers();
+  }
+
+  private static LoggerContext loggerContext() {
+    return (LoggerContext) LogManager.getContext(false);
+  }
+}
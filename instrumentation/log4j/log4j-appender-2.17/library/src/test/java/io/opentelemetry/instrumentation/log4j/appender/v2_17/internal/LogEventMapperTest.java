@@ -12,11 +12,16 @@ import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.LoggerBuilder;
+import io.opentelemetry.api.logs.LoggerProvider;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -175,6 +180,42 @@ class LogEventMapperTest {
             attributeEntry("log4j.map_message.message", "value2"));
   }
 
+  @Test
+  void testLoggersAreCached() {
+    // given
+    LogEventMapper<Map<String, String>> mapper =
+        new LogEventMapper<>(ContextDataAccessorImpl.INSTANCE, false, false, false, emptyList());
+    LoggerProvider loggerProvider = mockLoggerProvider();
+    LoggerProvider otherLoggerProvider = mockLoggerProvider();
+
+    // when
+    Logger logger = mapper.getLogger(loggerProvider, "first");
+    Logger otherLogger = mapper.getLogger(loggerProvider, "second");
+
+    // then
+    assertThat(mapper.getLogger(loggerProvider, "first")).isSameAs(logger);
+    assertThat(mapper.getLogger(loggerProvider, "second")).isSameAs(otherLogger);
+    verify(loggerProvider, times(1)).loggerBuilder("first");
+    verify(loggerProvider, times(1)).loggerBuilder("second");
+
+    // loggers are built again when the logger provider changes
+    assertThat(mapper.getLogger(otherLoggerProvider, "first")).isNotSameAs(logger);
+    verify(otherLoggerProvider, times(1)).loggerBuilder("first");
+  }
+
+  private static LoggerProvider mockLoggerProvider() {
+    LoggerProvider loggerProvider = mock(LoggerProvider.class);
+    when(loggerProvider.loggerBuilder(anyString()))
+        .thenAnswer(
+            invocation -> {
+              LoggerBuilder loggerBuilder = mock(LoggerBuilder.class);
+              Logger logger = mock(Logger.class);
+              when(loggerBuilder.build()).thenReturn(logger);
+              return loggerBuilder;
+            });
+    return loggerProvider;
+  }
+
   private enum ContextDataAccessorImpl implements ContextDataAccessor<Map<String, String>> {
     INSTANCE;
 
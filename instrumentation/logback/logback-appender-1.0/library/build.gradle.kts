@@ -1,5 +1,8 @@
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
   id("org.graalvm.buildtools.native")
 }
 
@@ -36,6 +39,18 @@ dependencies {
   }
 
   testImplementation("io.opentelemetry:opentelemetry-sdk-testing")
+
+  jmhImplementation("ch.qos.logback:logback-classic") {
+    version {
+      strictly("1.3.0")
+    }
+  }
+  jmhImplementation("org.slf4j:slf4j-api") {
+    version {
+      strictly("2.0.0")
+    }
+  }
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk-logs")
 }
 
 graalvmNative {
@@ -95,6 +110,13 @@ tasks {
   check {
     dependsOn(testing.suites)
   }
+
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
 }
 
 tasks.withType<Test>().configureEach {
@@ -0,0 +1,70 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0.internal;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of emitting a log event, run with the {@code gc} profiler to see the bytes
+ * allocated per event ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LoggingEventMapperBenchmark {
+
+  private SdkLoggerProvider loggerProvider;
+  private LoggingEventMapper mapper;
+  private LoggingEvent event;
+
+  @Setup
+  public void setUp() {
+    loggerProvider = SdkLoggerProvider.builder().build();
+    mapper = LoggingEventMapper.builder().build();
+    Logger logger = new LoggerContext().getLogger("io.opentelemetry.benchmark.Logger");
+    event =
+        new LoggingEvent(
+            Logger.class.getName(), logger, Level.INFO, "hello {}", null, new Object[] {"world"});
+    // formats the message once, as logback appenders do before the event reaches them
+    event.getFormattedMessage();
+  }
+
+  @TearDown
+  public void tearDown() {
+    loggerProvider.close();
+  }
+
+  @Benchmark
+  public void emit() {
+    mapper.emit(loggerProvider, event, 1);
+  }
+
+  // what emit() did for every event before loggers were cached
+  @Benchmark
+  public LogRecordBuilder buildLogger() {
+    return loggerProvider.loggerBuilder(event.getLoggerName()).build().logRecordBuilder();
+  }
+}
@@ -14,6 +14,10 @@ import java.util.Map;
 import org.slf4j.Marker;
 import org.slf4j.event.KeyValuePair;
 
+/**
+ * A copy of a logging event that can be emitted later, from another thread: either when the
+ * OpenTelemetry instance is installed, or by the background thread in async mode.
+ */
 class LoggingEventToReplay implements ILoggingEvent {
 
   private final ILoggingEvent loggingEvent;
@@ -26,6 +30,8 @@ class LoggingEventToReplay implements ILoggingEvent {
       boolean captureExperimentalAttributes,
       boolean captureCodeAttributes) {
     this.loggingEvent = loggingEvent;
+    // formats the message and copies the MDC, which are read from the logging thread
+    loggingEvent.prepareForDeferredProcessing();
     // The values are copied because the current values are not more available when the log is
     // replayed
     this.timeStamp = loggingEvent.getTimeStamp();
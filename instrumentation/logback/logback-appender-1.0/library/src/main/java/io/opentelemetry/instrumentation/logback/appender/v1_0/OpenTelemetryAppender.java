@@ -11,32 +11,42 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.AsyncLogEmitter;
 import io.opentelemetry.instrumentation.logback.appender.v1_0.internal.LoggingEventMapper;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
 
+  // the time stop() waits for the logs that were not emitted yet in async mode
+  private static final long ASYNC_SHUTDOWN_TIMEOUT_MILLIS = 1000;
+
   private boolean captureExperimentalAttributes = false;
   private boolean captureCodeAttributes = false;
   private boolean captureMarkerAttribute = false;
   private boolean captureKeyValuePairAttributes = false;
   private boolean captureLoggerContext = false;
   private List<String> captureMdcAttributes = emptyList();
+  private boolean async = false;
+  private int asyncQueueSize = 2048;
+  private boolean asyncBlockWhenFull = false;
 
   private volatile OpenTelemetry openTelemetry;
   private LoggingEventMapper mapper;
+  @Nullable private volatile AsyncLogEmitter<ILoggingEvent> asyncEmitter;
 
   private int numLogsCapturedBeforeOtelInstall = 1000;
   private BlockingQueue<LoggingEventToReplay> eventsToReplay =
@@ -81,16 +91,34 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
             .setCaptureLoggerContext(captureLoggerContext)
             .build();
     eventsToReplay = new ArrayBlockingQueue<>(numLogsCapturedBeforeOtelInstall);
+    if (async) {
+      asyncEmitter =
+          AsyncLogEmitter.start(
+              name != null ? name : "OpenTelemetryAppender",
+              asyncQueueSize,
+              asyncBlockWhenFull,
+              event -> emit(openTelemetry, event));
+    }
     super.start();
   }
 
+  @Override
+  public void stop() {
+    super.stop();
+    AsyncLogEmitter<ILoggingEvent> asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      this.asyncEmitter = null;
+      asyncEmitter.shutdown(ASYNC_SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
   @SuppressWarnings("SystemOut")
   @Override
   protected void append(ILoggingEvent event) {
     OpenTelemetry openTelemetry = this.openTelemetry;
     if (openTelemetry != null) {
       // optimization to avoid locking after the OpenTelemetry instance is set
-      emit(openTelemetry, event);
+      emitOrEnqueue(openTelemetry, event);
       return;
     }
 
@@ -99,7 +127,7 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     try {
       openTelemetry = this.openTelemetry;
       if (openTelemetry != null) {
-        emit(openTelemetry, event);
+        emitOrEnqueue(openTelemetry, event);
         return;
       }
 
@@ -173,6 +201,31 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     }
   }
 
+  /**
+   * Sets whether logs are emitted by a background thread. When enabled, the logging threads only
+   * take a snapshot of the logging event, and the background thread maps and emits the logs.
+   */
+  public void setAsync(boolean async) {
+    this.async = async;
+  }
+
+  /**
+   * Sets the number of logs that can be waiting to be emitted by the background thread in async
+   * mode. Logs that don't fit are dropped, unless {@link #setAsyncBlockWhenFull(boolean)} is
+   * enabled.
+   */
+  public void setAsyncQueueSize(int asyncQueueSize) {
+    this.asyncQueueSize = asyncQueueSize;
+  }
+
+  /**
+   * Sets whether the logging threads wait for the background thread to catch up in async mode when
+   * the queue is full, instead of dropping the logs.
+   */
+  public void setAsyncBlockWhenFull(boolean asyncBlockWhenFull) {
+    this.asyncBlockWhenFull = asyncBlockWhenFull;
+  }
+
   /**
    * Log telemetry is emitted after the initialization of the OpenTelemetry Logback appender with an
    * {@link OpenTelemetry} object. This setting allows you to modify the size of the cache used to
@@ -203,6 +256,16 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     }
   }
 
+  private void emitOrEnqueue(OpenTelemetry openTelemetry, ILoggingEvent event) {
+    AsyncLogEmitter<ILoggingEvent> asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      asyncEmitter.emit(
+          new LoggingEventToReplay(event, captureExperimentalAttributes, captureCodeAttributes));
+    } else {
+      emit(openTelemetry, event);
+    }
+  }
+
   private void emit(OpenTelemetry openTelemetry, ILoggingEvent event) {
     mapper.emit(openTelemetry.getLogsBridge(), event, -1);
   }
@@ -15,14 +15,15 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.api.logs.LoggerProvider;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.LoggerCache;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.StackTraceRenderer;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.tooling.muzzle.NoMuzzle;
 import io.opentelemetry.semconv.SemanticAttributes;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +52,7 @@ public final class LoggingEventMapper {
   private final boolean captureMarkerAttribute;
   private final boolean captureKeyValuePairAttributes;
   private final boolean captureLoggerContext;
+  private final LoggerCache loggerCache = new LoggerCache();
 
   private LoggingEventMapper(Builder builder) {
     this.captureExperimentalAttributes = builder.captureExperimentalAttributes;
@@ -72,12 +74,16 @@ public final class LoggingEventMapper {
     if (instrumentationName == null || instrumentationName.isEmpty()) {
       instrumentationName = "ROOT";
     }
-    LogRecordBuilder builder =
-        loggerProvider.loggerBuilder(instrumentationName).build().logRecordBuilder();
+    LogRecordBuilder builder = getLogger(loggerProvider, instrumentationName).logRecordBuilder();
     mapLoggingEvent(builder, event, threadId);
     builder.emit();
   }
 
+  // Visible for testing
+  Logger getLogger(LoggerProvider loggerProvider, String instrumentationName) {
+    return loggerCache.getLogger(loggerProvider, instrumentationName);
+  }
+
   /**
    * Map the {@link ILoggingEvent} data model onto the {@link LogRecordBuilder}. Unmapped fields
    * include:
@@ -191,9 +197,8 @@ public final class LoggingEventMapper {
     // io.opentelemetry:opentelemetry-api
     attributes.put(SemanticAttributes.EXCEPTION_TYPE, throwable.getClass().getName());
     attributes.put(SemanticAttributes.EXCEPTION_MESSAGE, throwable.getMessage());
-    StringWriter writer = new StringWriter();
-    throwable.printStackTrace(new PrintWriter(writer));
-    attributes.put(SemanticAttributes.EXCEPTION_STACKTRACE, writer.toString());
+    attributes.put(
+        SemanticAttributes.EXCEPTION_STACKTRACE, StackTraceRenderer.get().render(throwable));
   }
 
   private static Severity levelToSeverity(Level level) {
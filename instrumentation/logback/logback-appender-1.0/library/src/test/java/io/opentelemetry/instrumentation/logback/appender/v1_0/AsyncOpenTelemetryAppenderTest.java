@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+class AsyncOpenTelemetryAppenderTest extends AbstractOpenTelemetryAppenderTest {
+
+  private OpenTelemetryAppender appender;
+
+  @BeforeEach
+  void setup() {
+    generalBeforeEachSetup();
+    LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    appender =
+        (OpenTelemetryAppender)
+            loggerContext
+                .getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)
+                .getAppender("OpenTelemetry");
+    appender.stop();
+    appender.setAsync(true);
+    appender.setAsyncQueueSize(4);
+    appender.setAsyncBlockWhenFull(true);
+    appender.start();
+    OpenTelemetryAppender.install(openTelemetrySdk);
+  }
+
+  @AfterEach
+  void cleanup() {
+    appender.stop();
+    appender.setAsync(false);
+    appender.start();
+  }
+
+  @Override
+  void executeAfterLogsExecution() {
+    // emits the logs that are waiting for the background thread
+    appender.stop();
+    appender.start();
+  }
+
+  @Test
+  void logWithSpanAndMdc() {
+    Span span = SdkTracerProvider.builder().build().get("tracer").spanBuilder("span").startSpan();
+    MDC.put("key1", "val1");
+    try (Scope ignored = span.makeCurrent()) {
+      // more logs than fit in the queue
+      for (int i = 0; i < 10; i++) {
+        logger.info("log message {}", i);
+      }
+    } finally {
+      MDC.clear();
+      span.end();
+    }
+    logger.info("log message without span");
+
+    executeAfterLogsExecution();
+
+    List<LogRecordData> logDataList = logRecordExporter.getFinishedLogRecordItems();
+    assertThat(logDataList).hasSize(11);
+    for (int i = 0; i < 10; i++) {
+      LogRecordData logData = logDataList.get(i);
+      assertThat(logData)
+          .hasBody("log message " + i)
+          .hasSpanContext(span.getSpanContext());
+      assertThat(logData.getAttributes().get(AttributeKey.stringKey("key1"))).isEqualTo("val1");
+    }
+    assertThat(logDataList.get(10)).hasBody("log message without span");
+    assertThat(logDataList.get(10).getSpanContext().isValid()).isFalse();
+    assertThat(logDataList.get(10).getAttributes().get(AttributeKey.stringKey("key1"))).isNull();
+  }
+}
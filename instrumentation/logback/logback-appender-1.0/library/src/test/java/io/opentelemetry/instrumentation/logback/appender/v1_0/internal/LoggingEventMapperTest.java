@@ -8,10 +8,18 @@ package io.opentelemetry.instrumentation.logback.appender.v1_0.internal;
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.LoggerBuilder;
+import io.opentelemetry.api.logs.LoggerProvider;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -70,4 +78,42 @@ class LoggingEventMapperTest {
             entry(AttributeKey.stringKey("key1"), "value1"),
             entry(AttributeKey.stringKey("key2"), "value2"));
   }
+
+  @Test
+  void testLoggersAreCached() {
+    // given
+    LoggingEventMapper mapper = LoggingEventMapper.builder().build();
+    LoggerProvider loggerProvider = mockLoggerProvider();
+    LoggerProvider otherLoggerProvider = mockLoggerProvider();
+
+    // when
+    Logger logger = mapper.getLogger(loggerProvider, "first");
+    Logger otherLogger = mapper.getLogger(loggerProvider, "second");
+
+    // then
+    assertThat(mapper.getLogger(loggerProvider, "first")).isSameAs(logger);
+    assertThat(mapper.getLogger(loggerProvider, "second")).isSameAs(otherLogger);
+    verify(loggerProvider, times(1)).loggerBuilder("first");
+    verify(loggerProvider, times(1)).loggerBuilder("second");
+
+    // loggers are built again when the logger provider changes, e.g. when the OpenTelemetry
+    // instance is installed
+    assertThat(mapper.getLogger(otherLoggerProvider, "first")).isNotSameAs(logger);
+    assertThat(mapper.getLogger(otherLoggerProvider, "first"))
+        .isSameAs(mapper.getLogger(otherLoggerProvider, "first"));
+    verify(otherLoggerProvider, times(1)).loggerBuilder("first");
+  }
+
+  private static LoggerProvider mockLoggerProvider() {
+    LoggerProvider loggerProvider = mock(LoggerProvider.class);
+    when(loggerProvider.loggerBuilder(anyString()))
+        .thenAnswer(
+            invocation -> {
+              LoggerBuilder loggerBuilder = mock(LoggerBuilder.class);
+              Logger logger = mock(Logger.class);
+              when(loggerBuilder.build()).thenReturn(logger);
+              return loggerBuilder;
+            });
+    return loggerProvider;
+  }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1.internal;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.annotation.Nullable;
+
+/**
+ * The {@link ServerContext}s of the requests of a channel that are being processed, in the order
+ * in which the requests were received.
+ *
+ * <p>Unless requests are pipelined there is at most one request being processed per channel, which
+ * is kept in a field; a deque is only created for the following requests when they are pipelined.
+ * Only accessed from the event loop of the channel.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ServerContexts {
+
+  @Nullable private ServerContext first;
+  // the requests received while the first one is being processed
+  @Nullable private Deque<ServerContext> pipelined;
+
+  /** Returns the {@link ServerContexts} of the given channel, or {@code null} if there are none. */
+  @Nullable
+  public static ServerContexts get(Channel channel) {
+    return channel.attr(AttributeKeys.SERVER_CONTEXT).get();
+  }
+
+  /** Returns the {@link ServerContexts} of the given channel, creating them if necessary. */
+  public static ServerContexts getOrCreate(Channel channel) {
+    Attribute<ServerContexts> attribute = channel.attr(AttributeKeys.SERVER_CONTEXT);
+    ServerContexts serverContexts = attribute.get();
+    if (serverContexts == null) {
+      serverContexts = new ServerContexts();
+      attribute.set(serverContexts);
+    }
+    return serverContexts;
+  }
+
+  private ServerContexts() {}
+
+  /** Adds the context of a newly received request. */
+  public void addLast(ServerContext serverContext) {
+    if (first == null) {
+      first = serverContext;
+      return;
+    }
+    if (pipelined == null) {
+      pipelined = new ArrayDeque<>();
+    }
+    pipelined.addLast(serverContext);
+  }
+
+  /** Returns the context of the oldest request, whose response is written next. */
+  @Nullable
+  public ServerContext peekFirst() {
+    return first;
+  }
+
+  /** Returns the context of the most recently received request. */
+  @Nullable
+  public ServerContext peekLast() {
+    if (pipelined != null && !pipelined.isEmpty()) {
+      return pipelined.peekLast();
+    }
+    return first;
+  }
+
+  /** Removes and returns the context of the oldest request. */
+  @Nullable
+  public ServerContext pollFirst() {
+    ServerContext serverContext = first;
+    first = pipelined != null ? pipelined.pollFirst() : null;
+    return serverContext;
+  }
+
+  /** Removes and returns the context of the most recently received request. */
+  @Nullable
+  public ServerContext pollLast() {
+    if (pipelined != null && !pipelined.isEmpty()) {
+      return pipelined.pollLast();
+    }
+    ServerContext serverContext = first;
+    first = null;
+    return serverContext;
+  }
+}
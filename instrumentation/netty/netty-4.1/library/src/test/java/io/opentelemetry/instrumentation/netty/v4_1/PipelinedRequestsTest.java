@@ -0,0 +1,139 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1;
+
+import static io.opentelemetry.instrumentation.testing.util.TelemetryDataUtil.comparingRootSpanAttribute;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.ServerContexts;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.sdk.testing.assertj.SpanDataAssert;
+import io.opentelemetry.semconv.SemanticAttributes;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class PipelinedRequestsTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
+
+  // the span that is current in the handler after the tracing handler, for each inbound message
+  private final List<SpanContext> currentSpans = new CopyOnWriteArrayList<>();
+  private EmbeddedChannel channel;
+
+  @BeforeEach
+  void setUp() {
+    channel =
+        new EmbeddedChannel(
+            NettyServerTelemetry.create(testing.getOpenTelemetry()).createCombinedHandler(),
+            new ChannelInboundHandlerAdapter() {
+              @Override
+              public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                currentSpans.add(Span.current().getSpanContext());
+                ReferenceCountUtil.release(msg);
+              }
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void responsesEndSpansInOrderOfRequests() {
+    channel.writeInbound(request("/first"), request("/second"));
+    // the content of the second request
+    channel.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT);
+
+    ServerContexts serverContexts = ServerContexts.get(channel);
+    assertThat(serverContexts).isNotNull();
+    assertThat(serverContexts.peekFirst().request().request().uri()).isEqualTo("/first");
+    assertThat(serverContexts.peekLast().request().request().uri()).isEqualTo("/second");
+
+    channel.writeOutbound(response(HttpResponseStatus.OK));
+    channel.writeOutbound(response(HttpResponseStatus.NOT_FOUND));
+
+    assertThat(serverContexts.peekFirst()).isNull();
+    assertThat(currentSpans).hasSize(3);
+    assertThat(currentSpans.get(0).getTraceId()).isNotEqualTo(currentSpans.get(1).getTraceId());
+    assertThat(currentSpans.get(2)).isEqualTo(currentSpans.get(1));
+    testing.waitAndAssertSortedTraces(
+        comparingRootSpanAttribute(SemanticAttributes.URL_PATH),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasName("GET")
+                        .hasKind(SpanKind.SERVER)
+                        .hasNoParent()
+                        .hasSpanId(currentSpans.get(0).getSpanId())
+                        .hasAttributesSatisfying(
+                            equalTo(SemanticAttributes.URL_PATH, "/first"),
+                            equalTo(SemanticAttributes.HTTP_RESPONSE_STATUS_CODE, 200))),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasName("GET")
+                        .hasKind(SpanKind.SERVER)
+                        .hasNoParent()
+                        .hasSpanId(currentSpans.get(1).getSpanId())
+                        .hasAttributesSatisfying(
+                            equalTo(SemanticAttributes.URL_PATH, "/second"),
+                            equalTo(SemanticAttributes.HTTP_RESPONSE_STATUS_CODE, 404))));
+  }
+
+  @Test
+  void closingChannelEndsRemainingSpans() {
+    channel.writeInbound(request("/first"), request("/second"));
+
+    channel.close();
+
+    assertThat(ServerContexts.get(channel).peekFirst()).isNull();
+    testing.waitAndAssertSortedTraces(
+        comparingRootSpanAttribute(SemanticAttributes.URL_PATH),
+        trace -> trace.hasSpansSatisfyingExactly(spanWithoutResponse("/first")),
+        trace -> trace.hasSpansSatisfyingExactly(spanWithoutResponse("/second")));
+  }
+
+  private static Consumer<SpanDataAssert> spanWithoutResponse(String path) {
+    return span ->
+        span.hasName("GET")
+            .hasKind(SpanKind.SERVER)
+            .hasAttributesSatisfying(equalTo(SemanticAttributes.URL_PATH, path))
+            .satisfies(
+                spanData ->
+                    assertThat(spanData.getAttributes().asMap())
+                        .doesNotContainKey(SemanticAttributes.HTTP_RESPONSE_STATUS_CODE));
+  }
+
+  private static DefaultHttpRequest request(String uri) {
+    return new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+  }
+
+  private static DefaultFullHttpResponse response(HttpResponseStatus status) {
+    return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status);
+  }
+}
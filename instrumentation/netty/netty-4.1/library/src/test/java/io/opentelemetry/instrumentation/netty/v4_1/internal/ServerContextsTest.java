@@ -0,0 +1,144 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ServerContextsTest {
+
+  private final EmbeddedChannel channel = new EmbeddedChannel();
+
+  @AfterEach
+  void tearDown() {
+    channel.finish();
+  }
+
+  @Test
+  void getOrCreateAttachesContextsToChannel() {
+    assertThat(ServerContexts.get(channel)).isNull();
+
+    ServerContexts serverContexts = ServerContexts.getOrCreate(channel);
+
+    assertThat(ServerContexts.get(channel)).isSameAs(serverContexts);
+    assertThat(ServerContexts.getOrCreate(channel)).isSameAs(serverContexts);
+  }
+
+  @Test
+  void singleRequest() {
+    ServerContexts serverContexts = ServerContexts.getOrCreate(channel);
+    ServerContext first = serverContext("/first");
+
+    serverContexts.addLast(first);
+
+    assertThat(serverContexts.peekFirst()).isSameAs(first);
+    assertThat(serverContexts.peekLast()).isSameAs(first);
+    assertThat(serverContexts.pollFirst()).isSameAs(first);
+    assertThat(serverContexts.peekFirst()).isNull();
+    assertThat(serverContexts.peekLast()).isNull();
+    assertThat(serverContexts.pollFirst()).isNull();
+    assertThat(serverContexts.pollLast()).isNull();
+  }
+
+  @Test
+  void pollFirstMovesNextPipelinedRequestUp() {
+    ServerContexts serverContexts = ServerContexts.getOrCreate(channel);
+    ServerContext first = serverContext("/first");
+    ServerContext second = serverContext("/second");
+    ServerContext third = serverContext("/third");
+    serverContexts.addLast(first);
+    serverContexts.addLast(second);
+    serverContexts.addLast(third);
+
+    assertThat(serverContexts.pollFirst()).isSameAs(first);
+    assertThat(serverContexts.peekFirst()).isSameAs(second);
+    assertThat(serverContexts.peekLast()).isSameAs(third);
+
+    assertThat(serverContexts.pollFirst()).isSameAs(second);
+    assertThat(serverContexts.peekFirst()).isSameAs(third);
+    assertThat(serverContexts.peekLast()).isSameAs(third);
+
+    assertThat(serverContexts.pollFirst()).isSameAs(third);
+    assertThat(serverContexts.peekFirst()).isNull();
+    assertThat(serverContexts.peekLast()).isNull();
+  }
+
+  @Test
+  void pollLastAndPeekLastWithPipelinedRequests() {
+    ServerContexts serverContexts = ServerContexts.getOrCreate(channel);
+    ServerContext first = serverContext("/first");
+    ServerContext second = serverContext("/second");
+    ServerContext third = serverContext("/third");
+    serverContexts.addLast(first);
+    serverContexts.addLast(second);
+    serverContexts.addLast(third);
+
+    assertThat(serverContexts.peekLast()).isSameAs(third);
+    assertThat(serverContexts.pollLast()).isSameAs(third);
+    assertThat(serverContexts.peekLast()).isSameAs(second);
+    assertThat(serverContexts.pollLast()).isSameAs(second);
+    // the pipelined requests are gone, the first request is the last one
+    assertThat(serverContexts.peekLast()).isSameAs(first);
+    assertThat(serverContexts.peekFirst()).isSameAs(first);
+    assertThat(serverContexts.pollLast()).isSameAs(first);
+    assertThat(serverContexts.peekFirst()).isNull();
+    assertThat(serverContexts.pollLast()).isNull();
+  }
+
+  @Test
+  void addLastAfterPipelinedRequestsWereProcessed() {
+    ServerContexts serverContexts = ServerContexts.getOrCreate(channel);
+    ServerContext first = serverContext("/first");
+    ServerContext second = serverContext("/second");
+    ServerContext third = serverContext("/third");
+    serverContexts.addLast(first);
+    serverContexts.addLast(second);
+    serverContexts.pollFirst();
+    serverContexts.pollFirst();
+
+    serverContexts.addLast(third);
+
+    assertThat(serverContexts.peekFirst()).isSameAs(third);
+    assertThat(serverContexts.peekLast()).isSameAs(third);
+  }
+
+  @Test
+  void drainsRemainingRequestsInOrderOfArrival() {
+    ServerContexts serverContexts = ServerContexts.getOrCreate(channel);
+    ServerContext first = serverContext("/first");
+    ServerContext second = serverContext("/second");
+    ServerContext third = serverContext("/third");
+    serverContexts.addLast(first);
+    serverContexts.addLast(second);
+    serverContexts.addLast(third);
+
+    // like HttpServerRequestTracingHandler.channelInactive()
+    List<ServerContext> drained = new ArrayList<>();
+    ServerContext serverContext;
+    while ((serverContext = serverContexts.pollFirst()) != null) {
+      drained.add(serverContext);
+    }
+
+    assertThat(drained).containsExactly(first, second, third);
+  }
+
+  private ServerContext serverContext(String uri) {
+    return ServerContext.create(
+        Context.root(),
+        HttpRequestAndChannel.create(
+            new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri), channel));
+  }
+}
@@ -19,6 +19,13 @@ public final class SpringKafkaSingletons {
                   .getBoolean("otel.instrumentation.kafka.experimental-span-attributes", false))
           .setMessagingReceiveInstrumentationEnabled(
               ExperimentalConfig.get().messagingReceiveInstrumentationEnabled())
+          .setBatchProcessSpanLinkLimit(
+              InstrumentationConfig.get()
+                  .getInt("otel.instrumentation.kafka.experimental-batch-span-link-limit", 128))
+          .setBatchProcessSpanLinkSamplingEnabled(
+              InstrumentationConfig.get()
+                  .getBoolean(
+                      "otel.instrumentation.kafka.experimental-batch-span-link-sampling", false))
           .build();
 
   public static SpringKafkaTelemetry telemetry() {
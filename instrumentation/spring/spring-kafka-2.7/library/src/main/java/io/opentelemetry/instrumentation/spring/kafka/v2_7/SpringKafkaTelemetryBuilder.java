@@ -21,6 +21,8 @@ public final class SpringKafkaTelemetryBuilder {
   private List<String> capturedHeaders = emptyList();
   private boolean captureExperimentalSpanAttributes = false;
   private boolean messagingReceiveInstrumentationEnabled = false;
+  private int batchProcessSpanLinkLimit = 128;
+  private boolean batchProcessSpanLinkSamplingEnabled = false;
 
   SpringKafkaTelemetryBuilder(OpenTelemetry openTelemetry) {
     this.openTelemetry = openTelemetry;
@@ -63,6 +65,27 @@ public final class SpringKafkaTelemetryBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum number of links that are added to the span of a batch listener, one for each
+   * distinct span that produced the records of the batch. Defaults to {@code 128}.
+   */
+  @CanIgnoreReturnValue
+  public SpringKafkaTelemetryBuilder setBatchProcessSpanLinkLimit(int batchProcessSpanLinkLimit) {
+    this.batchProcessSpanLinkLimit = batchProcessSpanLinkLimit;
+    return this;
+  }
+
+  /**
+   * Sets whether half of the links of the span of a batch listener are sampled from the whole
+   * batch, instead of all links coming from the first records of the batch.
+   */
+  @CanIgnoreReturnValue
+  public SpringKafkaTelemetryBuilder setBatchProcessSpanLinkSamplingEnabled(
+      boolean batchProcessSpanLinkSamplingEnabled) {
+    this.batchProcessSpanLinkSamplingEnabled = batchProcessSpanLinkSamplingEnabled;
+    return this;
+  }
+
   /**
    * Returns a new {@link SpringKafkaTelemetry} with the settings of this {@link
    * SpringKafkaTelemetryBuilder}.
@@ -73,6 +96,8 @@ public final class SpringKafkaTelemetryBuilder {
             .setCapturedHeaders(capturedHeaders)
             .setCaptureExperimentalSpanAttributes(captureExperimentalSpanAttributes)
             .setMessagingReceiveInstrumentationEnabled(messagingReceiveInstrumentationEnabled)
+            .setBatchProcessSpanLinkLimit(batchProcessSpanLinkLimit)
+            .setBatchProcessSpanLinkSamplingEnabled(batchProcessSpanLinkSamplingEnabled)
             .setErrorCauseExtractor(SpringKafkaErrorCauseExtractor.INSTANCE);
 
     return new SpringKafkaTelemetry(
@@ -28,7 +28,14 @@ public final class VertxKafkaSingletons {
                 InstrumentationConfig.get()
                     .getBoolean("otel.instrumentation.kafka.experimental-span-attributes", false))
             .setMessagingReceiveInstrumentationEnabled(
-                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled());
+                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled())
+            .setBatchProcessSpanLinkLimit(
+                InstrumentationConfig.get()
+                    .getInt("otel.instrumentation.kafka.experimental-batch-span-link-limit", 128))
+            .setBatchProcessSpanLinkSamplingEnabled(
+                InstrumentationConfig.get()
+                    .getBoolean(
+                        "otel.instrumentation.kafka.experimental-batch-span-link-sampling", false));
     BATCH_PROCESS_INSTRUMENTER = factory.createBatchProcessInstrumenter();
     PROCESS_INSTRUMENTER = factory.createConsumerProcessInstrumenter();
   }
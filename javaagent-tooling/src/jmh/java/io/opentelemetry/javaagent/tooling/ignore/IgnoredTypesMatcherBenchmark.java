@@ -6,7 +6,14 @@
 package io.opentelemetry.javaagent.tooling.ignore;
 
 import io.opentelemetry.javaagent.tooling.EmptyConfigProperties;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -14,6 +21,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -24,18 +32,61 @@ import org.openjdk.jmh.annotations.Warmup;
 @BenchmarkMode(Mode.AverageTime)
 public class IgnoredTypesMatcherBenchmark {
 
+  private static final int CLASS_COUNT = 10_000;
+
   private static final TypeDescription springType =
       new TypeDescription.Latent("org.springframework.test.SomeClass", 0, null);
   private static final TypeDescription testAppType =
       new TypeDescription.Latent("com.example.myapp.Main", 0, null);
 
   private static final ElementMatcher<TypeDescription> ignoredTypesMatcher;
+  // same configuration as the agent at startup, without user configured excludes
+  private static final IgnoredTypesMatcher startupMatcher;
+  private static final TypeDescription[] classpathTypes;
 
   static {
     IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
     new AdditionalLibraryIgnoredTypesConfigurer()
         .configure(builder, EmptyConfigProperties.INSTANCE);
-    ignoredTypesMatcher = new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie());
+    ignoredTypesMatcher = builder.buildIgnoredTypesMatcher();
+
+    IgnoredTypesBuilderImpl startupBuilder = new IgnoredTypesBuilderImpl();
+    new GlobalIgnoredTypesConfigurer().configure(startupBuilder, EmptyConfigProperties.INSTANCE);
+    new AdditionalLibraryIgnoredTypesConfigurer()
+        .configure(startupBuilder, EmptyConfigProperties.INSTANCE);
+    startupMatcher = startupBuilder.buildIgnoredTypesMatcher();
+
+    classpathTypes = loadClasspathTypes();
+  }
+
+  // class names of the benchmark classpath stand in for the classes loaded by an application
+  private static TypeDescription[] loadClasspathTypes() {
+    List<String> names = new ArrayList<>();
+    for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      if (!path.endsWith(".jar")) {
+        continue;
+      }
+      try (JarFile jarFile = new JarFile(path)) {
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+          String entryName = entries.nextElement().getName();
+          if (entryName.endsWith(".class") && !entryName.contains("-")) {
+            names.add(
+                entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.'));
+          }
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    if (names.isEmpty()) {
+      throw new IllegalStateException("No classes found on the classpath");
+    }
+    TypeDescription[] types = new TypeDescription[CLASS_COUNT];
+    for (int i = 0; i < CLASS_COUNT; i++) {
+      types[i] = new TypeDescription.Latent(names.get(i % names.size()), 0, null);
+    }
+    return types;
   }
 
   @Benchmark
@@ -47,4 +98,19 @@ public class IgnoredTypesMatcherBenchmark {
   public boolean appType() {
     return ignoredTypesMatcher.matches(testAppType);
   }
+
+  /** Reports the number of classes matched per second. */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(CLASS_COUNT)
+  public int classpathClasses() {
+    int ignored = 0;
+    for (TypeDescription type : classpathTypes) {
+      if (startupMatcher.matches(type)) {
+        ignored++;
+      }
+    }
+    return ignored;
+  }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.util;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.javaagent.extension.ignore.IgnoredTypesBuilder;
+import io.opentelemetry.javaagent.tooling.EmptyConfigProperties;
+import io.opentelemetry.javaagent.tooling.ignore.AdditionalLibraryIgnoredTypesConfigurer;
+import io.opentelemetry.javaagent.tooling.ignore.GlobalIgnoredTypesConfigurer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class TrieBenchmark {
+
+  private static final String[] CLASS_NAMES = {
+    "org.springframework.test.SomeClass",
+    "org.springframework.context.support.AbstractApplicationContext$1",
+    "com.example.myapp.Main",
+    "java.util.concurrent.ThreadPoolExecutor$Worker",
+    "kotlin.coroutines.jvm.internal.BaseContinuationImpl",
+    "org.apache.catalina.core.StandardContext",
+    "com.google.common.util.concurrent.AbstractFuture",
+    "io.netty.util.concurrent.SingleThreadEventExecutor$4",
+  };
+
+  private static final Trie<Boolean> trie;
+  private static final Trie<Boolean> packedTrie;
+
+  static {
+    // all prefixes configured by the agent at startup, without user configured excludes
+    TrieFiller builder = new TrieFiller();
+    new GlobalIgnoredTypesConfigurer().configure(builder, EmptyConfigProperties.INSTANCE);
+    new AdditionalLibraryIgnoredTypesConfigurer()
+        .configure(builder, EmptyConfigProperties.INSTANCE);
+    trie = builder.trie.build();
+    packedTrie = builder.packedTrie.build();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(8)
+  public int trie() {
+    return lookup(trie);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(8)
+  public int packedTrie() {
+    return lookup(packedTrie);
+  }
+
+  private static int lookup(Trie<Boolean> trie) {
+    int matched = 0;
+    for (String className : CLASS_NAMES) {
+      if (trie.getOrDefault(className, false)) {
+        matched++;
+      }
+    }
+    return matched;
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Trie<Boolean> buildTrie() {
+    TrieFiller builder = new TrieFiller();
+    new AdditionalLibraryIgnoredTypesConfigurer()
+        .configure(builder, EmptyConfigProperties.INSTANCE);
+    return builder.trie.build();
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Trie<Boolean> buildPackedTrie() {
+    TrieFiller builder = new TrieFiller();
+    new AdditionalLibraryIgnoredTypesConfigurer()
+        .configure(builder, EmptyConfigProperties.INSTANCE);
+    return builder.packedTrie.build();
+  }
+
+  /** Puts every configured prefix in both kinds of trie, ignored prefixes map to {@code true}. */
+  private static class TrieFiller implements IgnoredTypesBuilder {
+    final Trie.Builder<Boolean> trie = Trie.builder();
+    final Trie.Builder<Boolean> packedTrie = Trie.packedBuilder();
+
+    @CanIgnoreReturnValue
+    private IgnoredTypesBuilder put(String prefix, boolean ignored) {
+      trie.put(prefix, ignored);
+      packedTrie.put(prefix, ignored);
+      return this;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public IgnoredTypesBuilder ignoreClass(String classNameOrPrefix) {
+      return put(classNameOrPrefix, true);
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public IgnoredTypesBuilder allowClass(String classNameOrPrefix) {
+      return put(classNameOrPrefix, false);
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public IgnoredTypesBuilder ignoreClassLoader(String classNameOrPrefix) {
+      return this;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public IgnoredTypesBuilder allowClassLoader(String classNameOrPrefix) {
+      return this;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public IgnoredTypesBuilder ignoreTaskClass(String classNameOrPrefix) {
+      return this;
+    }
+  }
+}
@@ -14,10 +14,12 @@ import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.SEVERE;
 import static net.bytebuddy.matcher.ElementMatchers.any;
 
+import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextStorage;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.javaagent.bootstrap.AgentClassLoader;
 import io.opentelemetry.javaagent.bootstrap.BootstrapPackagePrefixesHolder;
 import io.opentelemetry.javaagent.bootstrap.ClassFileTransformerHolder;
@@ -38,7 +40,6 @@ import io.opentelemetry.javaagent.tooling.config.ConfigPropertiesBridge;
 import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredClassLoadersMatcher;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesBuilderImpl;
-import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesMatcher;
 import io.opentelemetry.javaagent.tooling.muzzle.AgentTooling;
 import io.opentelemetry.javaagent.tooling.util.Trie;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
@@ -125,6 +126,8 @@ public class AgentInstaller {
     ConfigProperties sdkConfig = AutoConfigureUtil.getConfig(autoConfiguredSdk);
     InstrumentationConfig.internalInitializeConfig(new ConfigPropertiesBridge(sdkConfig));
     copyNecessaryConfigToSystemProperties(sdkConfig);
+    // does nothing unless supportability metrics are enabled
+    SupportabilityMetrics.instance().registerMetrics(GlobalOpenTelemetry.get());
 
     setBootstrapPackages(sdkConfig, extensionClassLoader);
     ConfiguredResourceAttributesHolder.initialize(
@@ -204,6 +207,10 @@ public class AgentInstaller {
     for (String property :
         asList(
             "otel.instrumentation.experimental.span-suppression-strategy",
+            "otel.instrumentation.experimental.supportability-metrics.enabled",
+            "otel.instrumentation.common.experimental.exception-stacktrace.max-frames",
+            "otel.instrumentation.common.experimental.exception-stacktrace.max-length",
+            "otel.instrumentation.common.experimental.exception-stacktrace.deduplication-window",
             "otel.semconv-stability.opt-in")) {
       String value = config.getString(property);
       if (value != null) {
@@ -247,7 +254,7 @@ public class AgentInstaller {
 
     return agentBuilder
         .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
-        .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
+        .or(builder.buildIgnoredTypesMatcher())
         .or(
             (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
               return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
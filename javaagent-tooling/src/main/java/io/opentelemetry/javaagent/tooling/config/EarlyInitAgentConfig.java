@@ -6,7 +6,9 @@
 package io.opentelemetry.javaagent.tooling.config;
 
 import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 /**
@@ -52,6 +54,11 @@ public final class EarlyInitAgentConfig {
     }
   }
 
+  /** Returns the names of the properties set in the configuration file. */
+  public Set<String> getConfigFilePropertyNames() {
+    return Collections.unmodifiableSet(configFileContents.keySet());
+  }
+
   public void logEarlyConfigErrorsIfAny() {
     ConfigurationFile.logErrorIfAny();
   }
@@ -0,0 +1,213 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * Matches a class name against a set of prefixes (longest prefix wins, like {@link
+ * io.opentelemetry.javaagent.tooling.util.Trie}) and a set of substrings in a single pass over the
+ * name.
+ *
+ * <p>The substrings are compiled into an Aho-Corasick automaton with a dense transition table for
+ * ASCII characters. Every node of the prefix tree knows the automaton state for its prefix, so when
+ * the name leaves the prefix tree without a decision the substring search continues from that
+ * position instead of starting over.
+ */
+final class ClassNameAutomaton {
+
+  /** Returned by {@link #match(String)} when the longest matching prefix is ignored. */
+  static final int IGNORED = -1;
+
+  /** Returned by {@link #match(String)} when the longest matching prefix is allowed. */
+  static final int ALLOWED = -2;
+
+  private static final int ALPHABET_SIZE = 128;
+
+  private final PrefixNode root;
+  // dense transition table of the substring automaton, indexed by state * ALPHABET_SIZE + char
+  private final int[] transitions;
+  // bit mask of the substrings found when entering each state
+  private final int[] outputs;
+
+  /**
+   * Creates an automaton matching the given prefixes and substrings. The substrings must only
+   * contain ASCII characters, there can be at most 31 of them; the bit {@code 1 << i} of the result
+   * of {@link #match(String)} is set when the substring at index {@code i} is found.
+   */
+  ClassNameAutomaton(Map<String, IgnoreAllow> prefixes, List<String> substrings) {
+    if (substrings.size() > 31) {
+      throw new IllegalArgumentException("Too many substrings: " + substrings.size());
+    }
+
+    // goto function of the Aho-Corasick automaton
+    List<int[]> gotos = new ArrayList<>();
+    List<Integer> outputList = new ArrayList<>();
+    gotos.add(newGotoRow());
+    outputList.add(0);
+    for (int i = 0; i < substrings.size(); i++) {
+      String substring = substrings.get(i);
+      int state = 0;
+      for (int j = 0; j < substring.length(); j++) {
+        char c = substring.charAt(j);
+        if (c >= ALPHABET_SIZE) {
+          throw new IllegalArgumentException("Not an ASCII string: " + substring);
+        }
+        int next = gotos.get(state)[c];
+        if (next == -1) {
+          next = gotos.size();
+          gotos.add(newGotoRow());
+          outputList.add(0);
+          gotos.get(state)[c] = next;
+        }
+        state = next;
+      }
+      outputList.set(state, outputList.get(state) | (1 << i));
+    }
+
+    // breadth-first over the goto tree to compute failure links, merging them into a dense table
+    int stateCount = gotos.size();
+    transitions = new int[stateCount * ALPHABET_SIZE];
+    outputs = new int[stateCount];
+    int[] failure = new int[stateCount];
+    Queue<Integer> queue = new ArrayDeque<>();
+    for (int c = 0; c < ALPHABET_SIZE; c++) {
+      int next = gotos.get(0)[c];
+      if (next == -1) {
+        transitions[c] = 0;
+      } else {
+        transitions[c] = next;
+        failure[next] = 0;
+        queue.add(next);
+      }
+    }
+    outputs[0] = outputList.get(0);
+    while (!queue.isEmpty()) {
+      int state = queue.remove();
+      outputs[state] = outputList.get(state) | outputs[failure[state]];
+      for (int c = 0; c < ALPHABET_SIZE; c++) {
+        int next = gotos.get(state)[c];
+        if (next == -1) {
+          transitions[state * ALPHABET_SIZE + c] = transitions[failure[state] * ALPHABET_SIZE + c];
+        } else {
+          transitions[state * ALPHABET_SIZE + c] = next;
+          failure[next] = transitions[failure[state] * ALPHABET_SIZE + c];
+          queue.add(next);
+        }
+      }
+    }
+
+    PrefixNodeBuilder rootBuilder = new PrefixNodeBuilder();
+    prefixes.forEach(
+        (prefix, value) -> {
+          PrefixNodeBuilder node = rootBuilder;
+          for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), k -> new PrefixNodeBuilder());
+          }
+          node.value = value;
+        });
+    // like Trie, a value associated with the empty prefix is never returned
+    root = rootBuilder.build(0, null, true);
+  }
+
+  private static int[] newGotoRow() {
+    int[] row = new int[ALPHABET_SIZE];
+    Arrays.fill(row, -1);
+    return row;
+  }
+
+  /**
+   * Returns {@link #IGNORED} or {@link #ALLOWED} when the name starts with one of the prefixes,
+   * otherwise the bit mask of the substrings found in the name.
+   */
+  int match(String name) {
+    PrefixNode node = root;
+    int mask = 0;
+    int length = name.length();
+    int i = 0;
+    for (; i < length; i++) {
+      PrefixNode next = node.getNext(name.charAt(i));
+      if (next == null) {
+        break;
+      }
+      node = next;
+      mask |= node.output;
+    }
+    if (node.value != null) {
+      return node.value == IgnoreAllow.IGNORE ? IGNORED : ALLOWED;
+    }
+
+    int state = node.state;
+    for (; i < length; i++) {
+      char c = name.charAt(i);
+      // none of the substrings contain non-ASCII characters
+      state = c < ALPHABET_SIZE ? transitions[state * ALPHABET_SIZE + c] : 0;
+      mask |= outputs[state];
+    }
+    return mask;
+  }
+
+  private static final class PrefixNode {
+    private final char[] chars;
+    private final PrefixNode[] children;
+    // value of the longest prefix ending at or before this node
+    @Nullable private final IgnoreAllow value;
+    // substring automaton state after reading this node's prefix
+    private final int state;
+    private final int output;
+
+    private PrefixNode(
+        char[] chars,
+        PrefixNode[] children,
+        @Nullable IgnoreAllow value,
+        int state,
+        int output) {
+      this.chars = chars;
+      this.children = children;
+      this.value = value;
+      this.state = state;
+      this.output = output;
+    }
+
+    @Nullable
+    PrefixNode getNext(char c) {
+      int index = Arrays.binarySearch(chars, c);
+      if (index < 0) {
+        return null;
+      }
+      return children[index];
+    }
+  }
+
+  private final class PrefixNodeBuilder {
+    private final Map<Character, PrefixNodeBuilder> children = new HashMap<>();
+    @Nullable private IgnoreAllow value;
+
+    PrefixNode build(int state, @Nullable IgnoreAllow inheritedValue, boolean isRoot) {
+      IgnoreAllow effectiveValue = !isRoot && value != null ? value : inheritedValue;
+      Map<Character, PrefixNodeBuilder> sorted = new TreeMap<>(children);
+      char[] chars = new char[sorted.size()];
+      PrefixNode[] nodes = new PrefixNode[sorted.size()];
+      int i = 0;
+      for (Map.Entry<Character, PrefixNodeBuilder> entry : sorted.entrySet()) {
+        char c = entry.getKey();
+        int childState = c < ALPHABET_SIZE ? transitions[state * ALPHABET_SIZE + c] : 0;
+        chars[i] = c;
+        nodes[i] = entry.getValue().build(childState, effectiveValue, false);
+        i++;
+      }
+      return new PrefixNode(chars, nodes, effectiveValue, state, outputs[state]);
+    }
+  }
+}
@@ -8,23 +8,26 @@ package io.opentelemetry.javaagent.tooling.ignore;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.javaagent.extension.ignore.IgnoredTypesBuilder;
 import io.opentelemetry.javaagent.tooling.util.Trie;
+import java.util.HashMap;
+import java.util.Map;
 
 public class IgnoredTypesBuilderImpl implements IgnoredTypesBuilder {
-  private final Trie.Builder<IgnoreAllow> ignoredTypesTrie = Trie.builder();
-  private final Trie.Builder<IgnoreAllow> ignoredClassLoadersTrie = Trie.builder();
-  private final Trie.Builder<Boolean> ignoredTasksTrie = Trie.builder();
+  private final Map<String, IgnoreAllow> ignoredTypes = new HashMap<>();
+  // queried on every class loader and executor task, packed for faster lookups
+  private final Trie.Builder<IgnoreAllow> ignoredClassLoadersTrie = Trie.packedBuilder();
+  private final Trie.Builder<Boolean> ignoredTasksTrie = Trie.packedBuilder();
 
   @Override
   @CanIgnoreReturnValue
   public IgnoredTypesBuilder ignoreClass(String classNameOrPrefix) {
-    ignoredTypesTrie.put(classNameOrPrefix, IgnoreAllow.IGNORE);
+    ignoredTypes.put(classNameOrPrefix, IgnoreAllow.IGNORE);
     return this;
   }
 
   @Override
   @CanIgnoreReturnValue
   public IgnoredTypesBuilder allowClass(String classNameOrPrefix) {
-    ignoredTypesTrie.put(classNameOrPrefix, IgnoreAllow.ALLOW);
+    ignoredTypes.put(classNameOrPrefix, IgnoreAllow.ALLOW);
     return this;
   }
 
@@ -49,8 +52,8 @@ public class IgnoredTypesBuilderImpl implements IgnoredTypesBuilder {
     return this;
   }
 
-  public Trie<IgnoreAllow> buildIgnoredTypesTrie() {
-    return ignoredTypesTrie.build();
+  public IgnoredTypesMatcher buildIgnoredTypesMatcher() {
+    return new IgnoredTypesMatcher(ignoredTypes);
   }
 
   public Trie<IgnoreAllow> buildIgnoredClassLoadersTrie() {
@@ -5,47 +5,72 @@
 
 package io.opentelemetry.javaagent.tooling.ignore;
 
-import io.opentelemetry.javaagent.tooling.util.Trie;
+import static java.util.Arrays.asList;
+
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 
 public class IgnoredTypesMatcher extends ElementMatcher.Junction.AbstractBase<TypeDescription> {
 
-  private final Trie<IgnoreAllow> ignoredTypes;
+  // bit positions in the result of ClassNameAutomaton.match()
+  private static final int PROXY = 1;
+  private static final int LAMBDA = 1 << 1;
+  private static final int SCALA_ANON = 1 << 2;
+  private static final int SCALA_ANONFUN = 1 << 3;
+  // any of the remaining substrings
+  private static final int GENERATED_MASK = -1 << 4;
+
+  private static final List<String> SUBSTRINGS =
+      asList(
+          // bytecode proxies typically have $$ in their name
+          "$$",
+          "$$Lambda$",
+          // allow scala anonymous classes
+          "$$anon$",
+          "$$anonfun$",
+          // generated classes
+          "$JaxbAccessor",
+          "CGLIB$$",
+          "javassist",
+          ".asm.",
+          "$__sisu",
+          "$$EnhancerByProxool$$",
+          // glassfish ejb proxy
+          // We skip instrumenting these because some instrumentations e.g. jax-rs instrument methods
+          // that are annotated with @Path in an interface implemented by the class. We don't really
+          // want to instrument these methods in generated classes as this would create spans that
+          // have the generated class name in them instead of the actual class that handles the
+          // call.
+          "__EJB31_Generated__");
 
-  public IgnoredTypesMatcher(Trie<IgnoreAllow> ignoredTypes) {
-    this.ignoredTypes = ignoredTypes;
+  private final ClassNameAutomaton automaton;
+
+  IgnoredTypesMatcher(Map<String, IgnoreAllow> ignoredTypes) {
+    this.automaton = new ClassNameAutomaton(ignoredTypes, SUBSTRINGS);
   }
 
   @Override
   public boolean matches(TypeDescription target) {
-    String name = target.getActualName();
+    return matches(target.getActualName());
+  }
 
-    IgnoreAllow ignored = ignoredTypes.getOrNull(name);
-    if (ignored == IgnoreAllow.ALLOW) {
+  // visible for testing
+  boolean matches(String name) {
+    int result = automaton.match(name);
+    if (result == ClassNameAutomaton.ALLOWED) {
       return false;
-    } else if (ignored == IgnoreAllow.IGNORE) {
+    } else if (result == ClassNameAutomaton.IGNORED) {
       return true;
     }
 
-    // bytecode proxies typically have $$ in their name
-    if (name.contains("$$") && !name.contains("$$Lambda$") && !name.endsWith("$$Lambda")) {
-      // allow scala anonymous classes
-      return !name.contains("$$anon$") && !name.contains("$$anonfun$");
+    if ((result & PROXY) != 0 && (result & LAMBDA) == 0 && !name.endsWith("$$Lambda")) {
+      return (result & (SCALA_ANON | SCALA_ANONFUN)) == 0;
     }
 
-    if (name.contains("$JaxbAccessor")
-        || name.contains("CGLIB$$")
-        || name.contains("javassist")
-        || name.contains(".asm.")
-        || name.contains("$__sisu")
-        || name.contains("$$EnhancerByProxool$$")
-        // glassfish ejb proxy
-        // We skip instrumenting these because some instrumentations e.g. jax-rs instrument methods
-        // that are annotated with @Path in an interface implemented by the class. We don't really
-        // want to instrument these methods in generated classes as this would create spans that
-        // have the generated class name in them instead of the actual class that handles the call.
-        || name.contains("__EJB31_Generated__")) {
+    if ((result & GENERATED_MASK) != 0) {
       return true;
     }
 
@@ -55,4 +80,20 @@ public class IgnoredTypesMatcher extends ElementMatcher.Junction.AbstractBase<Ty
 
     return false;
   }
+
+  /**
+   * Returns whether the longest configured prefix of the given class name is ignored or allowed, or
+   * {@code null} if no configured prefix matches. Unlike {@link #matches(TypeDescription)} this
+   * does not take the generated class name patterns into account.
+   */
+  @Nullable
+  public IgnoreAllow getIgnoreAllow(String name) {
+    int result = automaton.match(name);
+    if (result == ClassNameAutomaton.IGNORED) {
+      return IgnoreAllow.IGNORE;
+    } else if (result == ClassNameAutomaton.ALLOWED) {
+      return IgnoreAllow.ALLOW;
+    }
+    return null;
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingMatcher;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+/**
+ * A type matcher that reuses the result stored in the {@link MatchResultCache} for the class that
+ * is being transformed, and stores the result of the delegate matcher otherwise.
+ */
+final class CachedTypeMatcher implements ElementMatcher<TypeDescription>, DelegatingMatcher {
+
+  private final MatchResultCache matchResultCache;
+  private final int typeInstrumentationId;
+  private final ElementMatcher<TypeDescription> delegate;
+
+  CachedTypeMatcher(
+      MatchResultCache matchResultCache,
+      int typeInstrumentationId,
+      ElementMatcher<TypeDescription> delegate) {
+    this.matchResultCache = matchResultCache;
+    this.typeInstrumentationId = typeInstrumentationId;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean matches(TypeDescription target) {
+    MatchResultCache.TypeResult result = matchResultCache.typeResult(target.getName());
+    if (result == null) {
+      return delegate.matches(target);
+    }
+    Boolean cached = result.matches(typeInstrumentationId);
+    if (cached != null) {
+      return cached;
+    }
+    boolean matches = delegate.matches(target);
+    result.put(typeInstrumentationId, matches);
+    return matches;
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+
+  @Override
+  public ElementMatcher<?> getDelegate() {
+    return delegate;
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.tooling.Utils;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import javax.annotation.Nullable;
+
+/**
+ * Computes a fingerprint of the classes a class loader can see, from the checksums of the jars on
+ * its class path and on the class paths of its parents, including the jars referenced by the
+ * {@code Class-Path} attribute of their manifests. Two class loaders with the same shape load the
+ * same classes from the same jars, so type matching and muzzle results computed for one of them
+ * hold for the other, including in a later run of the JVM.
+ *
+ * <p>The checksum of a jar is computed from its path and the names, sizes and CRCs of its entries,
+ * which are read from its central directory without reading the entries themselves. Sizes and
+ * modification times alone are not enough, because image builds often set the modification times
+ * of all files to the same value. The central directory is read once per JVM, and again when the
+ * size or the modification time of the jar change.
+ *
+ * <p>Class loaders whose classes can't be fingerprinted, e.g. class loaders that aren't {@link
+ * URLClassLoader}s or that load classes from directories, have the {@link #UNKNOWN} shape.
+ */
+final class ClassLoaderShapes {
+
+  static final long UNKNOWN = 0;
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  // returned by checksumOf(File) for missing files, which don't contribute any classes
+  private static final long MISSING = 1;
+
+  private final Cache<ClassLoader, Long> shapes = Cache.weak();
+  // contents of the jars by their absolute path
+  private final Map<String, JarContents> jars = new ConcurrentHashMap<>();
+  private final long bootstrapShape =
+      nonZero(
+          hash(
+              hash(
+                  hash(FNV_OFFSET_BASIS, System.getProperty("java.home")),
+                  System.getProperty("java.version")),
+              System.getProperty("java.vm.version")));
+
+  long shapeOf(@Nullable ClassLoader classLoader) {
+    if (classLoader == null || classLoader == Utils.getBootstrapProxy()) {
+      return bootstrapShape;
+    }
+    Long shape = shapes.get(classLoader);
+    if (shape == null) {
+      // not computeIfAbsent(), computing the shape recursively computes the shapes of the parents
+      shape = computeShape(classLoader);
+      shapes.put(classLoader, shape);
+    }
+    return shape;
+  }
+
+  private long computeShape(ClassLoader classLoader) {
+    long parentShape = shapeOf(classLoader.getParent());
+    if (parentShape == UNKNOWN) {
+      return UNKNOWN;
+    }
+    long hash = hash(hash(FNV_OFFSET_BASIS, parentShape), classLoader.getClass().getName());
+
+    ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+    if (classLoader instanceof URLClassLoader) {
+      for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+        long urlChecksum = checksumOf(url);
+        if (urlChecksum == UNKNOWN) {
+          return UNKNOWN;
+        }
+        hash = hash(hash, urlChecksum);
+      }
+    } else if (classLoader == systemClassLoader) {
+      // the application class loader is not a URLClassLoader since java 9
+      for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+        if (path.isEmpty()) {
+          continue;
+        }
+        long fileChecksum = checksumOf(new File(path), new HashSet<>());
+        if (fileChecksum == UNKNOWN) {
+          return UNKNOWN;
+        }
+        hash = hash(hash, fileChecksum);
+      }
+    } else if (classLoader != systemClassLoader.getParent()) {
+      // the platform class loader only loads classes of the jdk, which are covered by the bootstrap
+      // shape; nothing is known about other class loaders
+      return UNKNOWN;
+    }
+    return nonZero(hash);
+  }
+
+  long checksumOf(URL url) {
+    String protocol = url.getProtocol();
+    if ("file".equals(protocol)) {
+      try {
+        return checksumOf(new File(url.toURI()), new HashSet<>());
+      } catch (URISyntaxException | IllegalArgumentException e) {
+        return UNKNOWN;
+      }
+    }
+    if ("jar".equals(protocol)) {
+      // nested archives, e.g. jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/, are covered by the
+      // checksum of the outermost archive, their manifests are not read
+      String path = url.getPath();
+      int separator = path.indexOf("!/");
+      if (separator == -1) {
+        return UNKNOWN;
+      }
+      try {
+        long outerChecksum = checksumOf(new URL(path.substring(0, separator)));
+        return outerChecksum == UNKNOWN
+            ? UNKNOWN
+            : nonZero(hash(hash(FNV_OFFSET_BASIS, outerChecksum), path.substring(separator)));
+      } catch (IOException e) {
+        return UNKNOWN;
+      }
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * Returns the checksum of the given jar combined with the checksums of the jars on its manifest
+   * class path, or {@link #UNKNOWN} if any of them is a directory.
+   */
+  private long checksumOf(File file, Set<String> visited) {
+    visited.add(file.getAbsolutePath());
+    long checksum = checksumOf(file);
+    if (checksum == UNKNOWN || checksum == MISSING) {
+      return checksum;
+    }
+    List<String> classPath = contentsOf(file).classPath;
+    if (classPath == null) {
+      return UNKNOWN;
+    }
+    if (classPath.isEmpty()) {
+      return checksum;
+    }
+    long hash = hash(FNV_OFFSET_BASIS, checksum);
+    for (String path : classPath) {
+      // class paths may reference each other
+      if (visited.add(path)) {
+        long pathChecksum = checksumOf(new File(path), visited);
+        if (pathChecksum == UNKNOWN) {
+          return UNKNOWN;
+        }
+        hash = hash(hash, pathChecksum);
+      }
+    }
+    return nonZero(hash);
+  }
+
+  /**
+   * Returns the checksum of the given file, without the jars on its manifest class path, or {@link
+   * #UNKNOWN} if it is a directory.
+   */
+  long checksumOf(File file) {
+    if (!file.exists()) {
+      return MISSING;
+    }
+    if (!file.isFile()) {
+      return UNKNOWN;
+    }
+    long hash = hash(FNV_OFFSET_BASIS, file.getAbsolutePath());
+    return nonZero(hash(hash, contentsOf(file).checksum));
+  }
+
+  /**
+   * Returns the contents of the given jar. The jar is only read again when its size or its
+   * modification time change.
+   */
+  private JarContents contentsOf(File file) {
+    String path = file.getAbsolutePath();
+    long size = file.length();
+    long lastModified = file.lastModified();
+    JarContents contents = jars.get(path);
+    if (contents == null || contents.size != size || contents.lastModified != lastModified) {
+      contents = readContents(file, size, lastModified);
+      jars.put(path, contents);
+    }
+    return contents;
+  }
+
+  private static JarContents readContents(File file, long size, long lastModified) {
+    long checksum = FNV_OFFSET_BASIS;
+    String classPath;
+    try (JarFile jarFile = new JarFile(file, false)) {
+      Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        JarEntry entry = entries.nextElement();
+        checksum = hash(hash(checksum, entry.getName().hashCode()), entry.getCrc());
+        checksum = hash(checksum, entry.getSize());
+      }
+      Manifest manifest = jarFile.getManifest();
+      classPath =
+          manifest == null
+              ? null
+              : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+    } catch (IOException e) {
+      // not a jar, no classes are loaded from it
+      return new JarContents(
+          size, lastModified, hash(hash(FNV_OFFSET_BASIS, size), lastModified), new ArrayList<>());
+    }
+    return new JarContents(size, lastModified, checksum, manifestClassPath(file, classPath));
+  }
+
+  /**
+   * Returns the absolute paths of the files on the given manifest class path of the jar, or {@code
+   * null} if an entry is not a file.
+   */
+  @Nullable
+  private static List<String> manifestClassPath(File file, @Nullable String classPath) {
+    List<String> paths = new ArrayList<>();
+    if (classPath == null) {
+      return paths;
+    }
+    for (String entry : classPath.trim().split("\\s+")) {
+      if (entry.isEmpty()) {
+        continue;
+      }
+      try {
+        // relative to the url of the jar
+        URL url = new URL(file.toURI().toURL(), entry);
+        if (!"file".equals(url.getProtocol())) {
+          return null;
+        }
+        paths.add(new File(url.toURI()).getAbsolutePath());
+      } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+        return null;
+      }
+    }
+    return paths;
+  }
+
+  static long hash(long hash, long value) {
+    for (int i = 0; i < 8; i++) {
+      hash ^= (value >>> (i * 8)) & 0xff;
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+
+  static long hash(long hash, @Nullable String value) {
+    if (value == null) {
+      return hash(hash, -1L);
+    }
+    for (int i = 0; i < value.length(); i++) {
+      hash = hash(hash, value.charAt(i));
+    }
+    // separates consecutive strings
+    return hash(hash, value.length());
+  }
+
+  static long initialHash() {
+    return FNV_OFFSET_BASIS;
+  }
+
+  static long nonZero(long hash) {
+    return hash == UNKNOWN ? 1 : hash;
+  }
+
+  private static final class JarContents {
+    private final long size;
+    private final long lastModified;
+    private final long checksum;
+    // absolute paths of the manifest class path, null if it references something else than files
+    @Nullable private final List<String> classPath;
+
+    private JarContents(
+        long size, long lastModified, long checksum, @Nullable List<String> classPath) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.checksum = checksum;
+      this.classPath = classPath;
+    }
+  }
+}
@@ -27,6 +27,8 @@ public class InstrumentationLoader implements AgentExtension {
 
   @Override
   public AgentBuilder extend(AgentBuilder agentBuilder, ConfigProperties config) {
+    MatchResultCache matchResultCache = MatchResultCache.create(config);
+    ParallelMuzzleChecker parallelMuzzleChecker = ParallelMuzzleChecker.create(config);
     int numberOfLoadedModules = 0;
     for (InstrumentationModule instrumentationModule :
         loadOrdered(InstrumentationModule.class, Utils.getExtensionsClassLoader())) {
@@ -41,7 +43,12 @@ public class InstrumentationLoader implements AgentExtension {
       }
       try {
         agentBuilder =
-            instrumentationModuleInstaller.install(instrumentationModule, agentBuilder, config);
+            instrumentationModuleInstaller.install(
+                instrumentationModule,
+                agentBuilder,
+                config,
+                matchResultCache,
+                parallelMuzzleChecker);
         numberOfLoadedModules++;
       } catch (Exception | LinkageError e) {
         logger.log(
@@ -56,7 +63,7 @@ public class InstrumentationLoader implements AgentExtension {
     }
     logger.log(FINE, "Installed {0} instrumenter(s)", numberOfLoadedModules);
 
-    return agentBuilder;
+    return matchResultCache.start(agentBuilder);
   }
 
   @Override
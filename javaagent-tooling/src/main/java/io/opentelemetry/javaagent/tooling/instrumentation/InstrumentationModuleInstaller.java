@@ -63,7 +63,9 @@ public final class InstrumentationModuleInstaller {
   AgentBuilder install(
       InstrumentationModule instrumentationModule,
       AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
+      ConfigProperties config,
+      MatchResultCache matchResultCache,
+      ParallelMuzzleChecker parallelMuzzleChecker) {
     if (!AgentConfig.isInstrumentationEnabled(
         config,
         instrumentationModule.instrumentationNames(),
@@ -74,16 +76,28 @@ public final class InstrumentationModuleInstaller {
     }
 
     if (instrumentationModule.isIndyModule()) {
-      return installIndyModule(instrumentationModule, parentAgentBuilder, config);
+      return installIndyModule(
+          instrumentationModule,
+          parentAgentBuilder,
+          config,
+          matchResultCache,
+          parallelMuzzleChecker);
     } else {
-      return installInjectingModule(instrumentationModule, parentAgentBuilder, config);
+      return installInjectingModule(
+          instrumentationModule,
+          parentAgentBuilder,
+          config,
+          matchResultCache,
+          parallelMuzzleChecker);
     }
   }
 
   private AgentBuilder installIndyModule(
       InstrumentationModule instrumentationModule,
       AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
+      ConfigProperties config,
+      MatchResultCache matchResultCache,
+      ParallelMuzzleChecker parallelMuzzleChecker) {
     List<String> helperClassNames =
         InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
     HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
@@ -115,7 +129,9 @@ public final class InstrumentationModuleInstaller {
           .injectClasses(injectedClassesCollector);
     }
 
-    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(logger, instrumentationModule, config);
+    MuzzleMatcher muzzleMatcher =
+        new MuzzleMatcher(
+            logger, instrumentationModule, config, matchResultCache, parallelMuzzleChecker);
 
     Function<ClassLoader, List<HelperClassDefinition>> helperGenerator =
         cl -> {
@@ -145,7 +161,7 @@ public final class InstrumentationModuleInstaller {
     AgentBuilder agentBuilder = parentAgentBuilder;
     for (TypeInstrumentation typeInstrumentation : instrumentationModule.typeInstrumentations()) {
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
+          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation, matchResultCache)
               .and(muzzleMatcher)
               .transform(new PatchByteCodeVersionTransformer());
 
@@ -174,7 +190,9 @@ public final class InstrumentationModuleInstaller {
   private AgentBuilder installInjectingModule(
       InstrumentationModule instrumentationModule,
       AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
+      ConfigProperties config,
+      MatchResultCache matchResultCache,
+      ParallelMuzzleChecker parallelMuzzleChecker) {
     List<String> helperClassNames =
         InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
     HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
@@ -191,7 +209,9 @@ public final class InstrumentationModuleInstaller {
       return parentAgentBuilder;
     }
 
-    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(logger, instrumentationModule, config);
+    MuzzleMatcher muzzleMatcher =
+        new MuzzleMatcher(
+            logger, instrumentationModule, config, matchResultCache, parallelMuzzleChecker);
     AgentBuilder.Transformer helperInjector =
         new HelperInjector(
             instrumentationModule.instrumentationName(),
@@ -206,7 +226,7 @@ public final class InstrumentationModuleInstaller {
     for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
 
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
+          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation, matchResultCache)
               .and(muzzleMatcher)
               .transform(ConstantAdjuster.instance())
               .transform(helperInjector);
@@ -226,17 +246,28 @@ public final class InstrumentationModuleInstaller {
   private static AgentBuilder.Identified.Narrowable setTypeMatcher(
       AgentBuilder agentBuilder,
       InstrumentationModule instrumentationModule,
-      TypeInstrumentation typeInstrumentation) {
+      TypeInstrumentation typeInstrumentation,
+      MatchResultCache matchResultCache) {
 
     ElementMatcher.Junction<ClassLoader> moduleClassLoaderMatcher =
         instrumentationModule.classLoaderMatcher();
 
     ElementMatcher<TypeDescription> typeMatcher =
+        new IgnoreFailedTypeMatcher(typeInstrumentation.typeMatcher());
+    if (matchResultCache.isEnabled()) {
+      typeMatcher =
+          new CachedTypeMatcher(
+              matchResultCache,
+              matchResultCache.registerTypeInstrumentation(
+                  instrumentationModule, typeInstrumentation),
+              typeMatcher);
+    }
+    typeMatcher =
         new NamedMatcher<>(
             instrumentationModule.getClass().getSimpleName()
                 + "#"
                 + typeInstrumentation.getClass().getSimpleName(),
-            new IgnoreFailedTypeMatcher(typeInstrumentation.typeMatcher()));
+            typeMatcher);
     ElementMatcher<ClassLoader> classLoaderMatcher =
         new NamedMatcher<>(
             instrumentationModule.getClass().getSimpleName()
@@ -0,0 +1,624 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.tooling.AgentVersion;
+import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * Type matching and muzzle results that are kept across runs of the JVM, so that a restart with
+ * unchanged jars doesn't need to match the same classes again. Disabled unless {@code
+ * otel.javaagent.experimental.match-cache.enabled} is set.
+ *
+ * <p>Results are keyed by the {@linkplain ClassLoaderShapes shape} of the class loader, i.e. the
+ * checksums of the jars it loads classes from, and by the class name or the instrumentation module.
+ * Type matching results also store a checksum of the class file, so that generated classes and
+ * classes loaded from changed jars are matched again. All results are discarded when the agent, its
+ * extensions, the installed type instrumentations or the effective {@code otel.instrumentation.*}
+ * and {@code otel.javaagent.*} configuration, including the configuration file, change.
+ *
+ * <p>The results are written to {@code otel.javaagent.experimental.match-cache.directory} (a
+ * directory of the current user in {@code java.io.tmpdir} by default) when the JVM shuts down. The
+ * cache decides which classes are instrumented, so it is only read from and written to a directory
+ * that is owned by the current user and that other users can't write to. A missing directory is
+ * created with owner only permissions.
+ */
+final class MatchResultCache {
+
+  private static final Logger logger = Logger.getLogger(MatchResultCache.class.getName());
+
+  private static final String ENABLED_CONFIG = "otel.javaagent.experimental.match-cache.enabled";
+  private static final String DIRECTORY_CONFIG =
+      "otel.javaagent.experimental.match-cache.directory";
+
+  private static final int MAGIC = 0x4f544d43;
+  private static final int FORMAT_VERSION = 3;
+
+  private static final MatchResultCache DISABLED = new MatchResultCache(null, null);
+
+  @Nullable private final File directory;
+  @Nullable private final ConfigProperties config;
+  private final ClassLoaderShapes shapes = new ClassLoaderShapes();
+  private final List<String> typeInstrumentationNames = new ArrayList<>();
+  // code source locations of the instrumentation modules by their string form
+  private final Map<String, URL> moduleLocations = new LinkedHashMap<>();
+  private boolean unknownModuleLocation;
+
+  // type matching results by class loader shape and class name
+  private final Map<Long, Map<String, TypeResult>> typeResults = new ConcurrentHashMap<>();
+  // muzzle results by instrumentation module class name and class loader shape
+  private final Map<String, Map<Long, Boolean>> muzzleResults = new ConcurrentHashMap<>();
+  // shapes seen by this JVM, results for other shapes are not written back
+  private final Set<Long> usedShapes = ConcurrentHashMap.newKeySet();
+  private final ThreadLocal<DiscoveredType> discoveredType = new ThreadLocal<>();
+  private final AtomicBoolean modified = new AtomicBoolean();
+  private volatile boolean active;
+
+  static MatchResultCache create(ConfigProperties config) {
+    if (!config.getBoolean(ENABLED_CONFIG, false)) {
+      return DISABLED;
+    }
+    String directory = config.getString(DIRECTORY_CONFIG);
+    if (directory == null) {
+      // the name is predictable, another user may have created it first, see isPrivate()
+      String user = System.getProperty("user.name", "").replaceAll("[^A-Za-z0-9._-]", "_");
+      directory =
+          new File(
+                  System.getProperty("java.io.tmpdir"),
+                  "opentelemetry-javaagent-match-cache-" + user)
+              .getPath();
+    }
+    return new MatchResultCache(new File(directory), config);
+  }
+
+  private MatchResultCache(@Nullable File directory, @Nullable ConfigProperties config) {
+    this.directory = directory;
+    this.config = config;
+  }
+
+  boolean isEnabled() {
+    return directory != null;
+  }
+
+  /**
+   * Registers a type instrumentation before the cache is {@linkplain #start(AgentBuilder)
+   * started}, and returns the id its type matching results are stored under.
+   */
+  synchronized int registerTypeInstrumentation(
+      InstrumentationModule instrumentationModule, TypeInstrumentation typeInstrumentation) {
+    typeInstrumentationNames.add(
+        instrumentationModule.getClass().getName()
+            + "#"
+            + typeInstrumentation.getClass().getName());
+    CodeSource codeSource = instrumentationModule.getClass().getProtectionDomain().getCodeSource();
+    if (codeSource != null && codeSource.getLocation() != null) {
+      moduleLocations.putIfAbsent(codeSource.getLocation().toString(), codeSource.getLocation());
+    } else {
+      unknownModuleLocation = true;
+    }
+    return typeInstrumentationNames.size() - 1;
+  }
+
+  /**
+   * Loads the results of the previous run once all type instrumentations have been registered, and
+   * adds the listener that tracks the class being transformed and computes the checksum of its
+   * class file.
+   */
+  AgentBuilder start(AgentBuilder agentBuilder) {
+    if (directory == null) {
+      return agentBuilder;
+    }
+    long fingerprint = configurationFingerprint();
+    if (fingerprint == ClassLoaderShapes.UNKNOWN) {
+      logger.log(FINE, "Match cache disabled, instrumentation modules are not loaded from jars");
+      return agentBuilder;
+    }
+    if (!load(fingerprint)) {
+      return agentBuilder;
+    }
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(() -> write(fingerprint), "otel-match-cache-writer"));
+    return agentBuilder
+        .with(discoveryListener())
+        .with(classFileBufferStrategy(AgentBuilder.ClassFileBufferStrategy.Default.RETAINING));
+  }
+
+  /**
+   * Reads the results written by a previous run with the same configuration fingerprint, and
+   * returns whether the cache can be used.
+   */
+  // Visible for testing
+  boolean load(long fingerprint) {
+    if (directory == null) {
+      return false;
+    }
+    File file = cacheFile(fingerprint);
+    if (file.isFile()) {
+      if (!isPrivate(directory.toPath()) || !isPrivate(file.toPath())) {
+        logger.log(FINE, "Match cache disabled, {0} may have been written by another user", file);
+        return false;
+      }
+      try {
+        read(file, fingerprint);
+      } catch (IOException | RuntimeException e) {
+        logger.log(FINE, "Failed to read match cache " + file, e);
+        typeResults.clear();
+        muzzleResults.clear();
+      }
+    }
+    active = true;
+    return true;
+  }
+
+  // Visible for testing
+  File cacheFile(long fingerprint) {
+    return new File(directory, "match-cache-" + Long.toHexString(fingerprint) + ".bin");
+  }
+
+  /** Returns the listener that tracks the class that is being transformed on each thread. */
+  AgentBuilder.Listener discoveryListener() {
+    return new DiscoveryListener();
+  }
+
+  /**
+   * Returns the class file buffer strategy that computes the checksum of the class file of the
+   * class that is being transformed.
+   */
+  AgentBuilder.ClassFileBufferStrategy classFileBufferStrategy(
+      AgentBuilder.ClassFileBufferStrategy delegate) {
+    return new ChecksumClassFileBufferStrategy(delegate);
+  }
+
+  long shapeOf(@Nullable ClassLoader classLoader) {
+    if (!active) {
+      return ClassLoaderShapes.UNKNOWN;
+    }
+    long shape = shapes.shapeOf(classLoader);
+    if (shape != ClassLoaderShapes.UNKNOWN) {
+      usedShapes.add(shape);
+    }
+    return shape;
+  }
+
+  /**
+   * Returns the type matching results of the class that is being transformed on this thread, or
+   * {@code null} if it's not the class with the given name or its results can't be cached.
+   */
+  @Nullable
+  TypeResult typeResult(String className) {
+    DiscoveredType type = discoveredType.get();
+    if (type == null
+        || !type.className.equals(className)
+        || type.classChecksum == ClassLoaderShapes.UNKNOWN) {
+      return null;
+    }
+    if (type.result == null) {
+      usedShapes.add(type.shape);
+      Map<String, TypeResult> results =
+          typeResults.computeIfAbsent(type.shape, shape -> new ConcurrentHashMap<>());
+      TypeResult result = results.get(className);
+      // a class with the same name but other bytes, e.g. a generated class, is matched again
+      if (result == null || result.classChecksum != type.classChecksum) {
+        result = new TypeResult(type.classChecksum, new BitSet(), false);
+        results.put(className, result);
+      }
+      type.result = result;
+    }
+    return type.result;
+  }
+
+  @Nullable
+  Boolean muzzleResult(InstrumentationModule instrumentationModule, long shape) {
+    Map<Long, Boolean> results = muzzleResults.get(instrumentationModule.getClass().getName());
+    return results == null ? null : results.get(shape);
+  }
+
+  void putMuzzleResult(InstrumentationModule instrumentationModule, long shape, boolean matches) {
+    muzzleResults
+        .computeIfAbsent(
+            instrumentationModule.getClass().getName(), name -> new ConcurrentHashMap<>())
+        .put(shape, matches);
+    modified.set(true);
+  }
+
+  private long configurationFingerprint() {
+    long hash = ClassLoaderShapes.hash(ClassLoaderShapes.initialHash(), FORMAT_VERSION);
+    hash = ClassLoaderShapes.hash(hash, AgentVersion.VERSION);
+    synchronized (this) {
+      for (String name : typeInstrumentationNames) {
+        hash = ClassLoaderShapes.hash(hash, name);
+      }
+      if (unknownModuleLocation) {
+        return ClassLoaderShapes.UNKNOWN;
+      }
+      // covers the agent jar and the extension jars
+      for (URL location : moduleLocations.values()) {
+        long checksum = shapes.checksumOf(location);
+        if (checksum == ClassLoaderShapes.UNKNOWN) {
+          return ClassLoaderShapes.UNKNOWN;
+        }
+        hash = ClassLoaderShapes.hash(hash, checksum);
+      }
+    }
+    // configuration may change what the matchers match, e.g. the classes instrumented by the
+    // methods instrumentation
+    if (config != null) {
+      for (String name : configurationPropertyNames()) {
+        hash = ClassLoaderShapes.hash(ClassLoaderShapes.hash(hash, name), config.getString(name));
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the names of the {@code otel.instrumentation.*} and {@code otel.javaagent.*} properties
+   * set in the system properties, the environment or the configuration file, the effective values
+   * of which are read from the {@link ConfigProperties}.
+   */
+  private static Set<String> configurationPropertyNames() {
+    Set<String> names = new TreeSet<>();
+    for (Object key : System.getProperties().keySet()) {
+      addConfigurationPropertyName(names, String.valueOf(key));
+    }
+    for (String name : System.getenv().keySet()) {
+      addConfigurationPropertyName(names, name.toLowerCase(Locale.ROOT).replace('_', '.'));
+    }
+    for (String name : EarlyInitAgentConfig.create().getConfigFilePropertyNames()) {
+      addConfigurationPropertyName(names, name);
+    }
+    return names;
+  }
+
+  private static void addConfigurationPropertyName(Set<String> names, String name) {
+    if (name.startsWith("otel.instrumentation.") || name.startsWith("otel.javaagent.")) {
+      names.add(name);
+    }
+  }
+
+  private void read(File file, long fingerprint) throws IOException {
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+      if (input.readInt() != MAGIC
+          || input.readInt() != FORMAT_VERSION
+          || input.readLong() != fingerprint) {
+        return;
+      }
+
+      int moduleCount = input.readInt();
+      for (int i = 0; i < moduleCount; i++) {
+        String moduleName = input.readUTF();
+        Map<Long, Boolean> results = new ConcurrentHashMap<>();
+        int resultCount = input.readInt();
+        for (int j = 0; j < resultCount; j++) {
+          results.put(input.readLong(), input.readBoolean());
+        }
+        muzzleResults.put(moduleName, results);
+      }
+
+      int typeInstrumentationCount = typeInstrumentationNames.size();
+      int shapeCount = input.readInt();
+      for (int i = 0; i < shapeCount; i++) {
+        long shape = input.readLong();
+        Map<String, TypeResult> results = new ConcurrentHashMap<>();
+        int classCount = input.readInt();
+        for (int j = 0; j < classCount; j++) {
+          String className = input.readUTF();
+          long classChecksum = input.readLong();
+          BitSet matched = new BitSet();
+          int matchedCount = input.readInt();
+          for (int k = 0; k < matchedCount; k++) {
+            int id = input.readInt();
+            if (id < 0 || id >= typeInstrumentationCount) {
+              throw new IOException("Invalid type instrumentation id " + id);
+            }
+            matched.set(id);
+          }
+          results.put(className, new TypeResult(classChecksum, matched, true));
+        }
+        typeResults.put(shape, results);
+      }
+    }
+  }
+
+  // Visible for testing
+  void write(long fingerprint) {
+    if (directory == null || !modified.get()) {
+      return;
+    }
+    File file = cacheFile(fingerprint);
+    Path tempFile = null;
+    try {
+      Path directory = file.getParentFile().toPath();
+      if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+        createPrivateDirectory(directory);
+      }
+      if (!isPrivate(directory)) {
+        logger.log(FINE, "Match cache not written, {0} may be written by another user", directory);
+        return;
+      }
+      // created with owner only permissions on posix file systems
+      tempFile = Files.createTempFile(directory, "match-cache", ".tmp");
+      try (DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.writeLong(fingerprint);
+        writeMuzzleResults(output);
+        writeTypeResults(output);
+      }
+      Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      logger.log(FINE, "Failed to write match cache " + file, e);
+      if (tempFile != null && !tempFile.toFile().delete()) {
+        tempFile.toFile().deleteOnExit();
+      }
+    }
+  }
+
+  private static void createPrivateDirectory(Path directory) throws IOException {
+    if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+      Files.createDirectories(
+          directory,
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    } else {
+      Files.createDirectories(directory);
+    }
+  }
+
+  /**
+   * Returns whether the given file or directory is owned by the current user and can't be written
+   * by other users. Symbolic links are not followed, a link is only private if it was created by
+   * the current user.
+   */
+  // Visible for testing
+  static boolean isPrivate(Path path) {
+    try {
+      UserPrincipal owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS);
+      UserPrincipal currentUser =
+          path.getFileSystem()
+              .getUserPrincipalLookupService()
+              .lookupPrincipalByName(System.getProperty("user.name"));
+      if (!owner.equals(currentUser)) {
+        return false;
+      }
+      PosixFileAttributeView view =
+          Files.getFileAttributeView(
+              path, PosixFileAttributeView.class, LinkOption.NOFOLLOW_LINKS);
+      if (view == null) {
+        return true;
+      }
+      Set<PosixFilePermission> permissions = view.readAttributes().permissions();
+      return !permissions.contains(PosixFilePermission.GROUP_WRITE)
+          && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+    } catch (IOException | RuntimeException e) {
+      return false;
+    }
+  }
+
+  private void writeMuzzleResults(DataOutputStream output) throws IOException {
+    output.writeInt(muzzleResults.size());
+    for (Map.Entry<String, Map<Long, Boolean>> entry : muzzleResults.entrySet()) {
+      output.writeUTF(entry.getKey());
+      List<Map.Entry<Long, Boolean>> results = new ArrayList<>();
+      for (Map.Entry<Long, Boolean> result : entry.getValue().entrySet()) {
+        if (usedShapes.contains(result.getKey())) {
+          results.add(result);
+        }
+      }
+      output.writeInt(results.size());
+      for (Map.Entry<Long, Boolean> result : results) {
+        output.writeLong(result.getKey());
+        output.writeBoolean(result.getValue());
+      }
+    }
+  }
+
+  private void writeTypeResults(DataOutputStream output) throws IOException {
+    List<Map.Entry<Long, Map<String, TypeResult>>> shapeResults = new ArrayList<>();
+    for (Map.Entry<Long, Map<String, TypeResult>> entry : typeResults.entrySet()) {
+      if (usedShapes.contains(entry.getKey())) {
+        shapeResults.add(entry);
+      }
+    }
+    output.writeInt(shapeResults.size());
+    for (Map.Entry<Long, Map<String, TypeResult>> entry : shapeResults) {
+      output.writeLong(entry.getKey());
+      List<Map.Entry<String, TypeResult>> results = new ArrayList<>();
+      for (Map.Entry<String, TypeResult> result : entry.getValue().entrySet()) {
+        // classes whose transformation didn't complete may not have been matched by every type
+        // instrumentation
+        if (result.getValue().complete) {
+          results.add(result);
+        }
+      }
+      output.writeInt(results.size());
+      for (Map.Entry<String, TypeResult> result : results) {
+        output.writeUTF(result.getKey());
+        output.writeLong(result.getValue().classChecksum);
+        BitSet matched = result.getValue().matchedSnapshot();
+        output.writeInt(matched.cardinality());
+        for (int id = matched.nextSetBit(0); id >= 0; id = matched.nextSetBit(id + 1)) {
+          output.writeInt(id);
+        }
+      }
+    }
+  }
+
+  /** Type matching results of a single class. */
+  static final class TypeResult {
+    private final long classChecksum;
+    private final BitSet matched;
+    // results of complete classes are final, type instrumentations that weren't matched against
+    // the class can't match it
+    private volatile boolean complete;
+
+    private TypeResult(long classChecksum, BitSet matched, boolean complete) {
+      this.classChecksum = classChecksum;
+      this.matched = matched;
+      this.complete = complete;
+    }
+
+    /** Returns whether the type instrumentation matched the class, or {@code null} if unknown. */
+    @Nullable
+    Boolean matches(int typeInstrumentationId) {
+      if (!complete) {
+        return null;
+      }
+      synchronized (matched) {
+        return matched.get(typeInstrumentationId);
+      }
+    }
+
+    void put(int typeInstrumentationId, boolean matches) {
+      if (matches && !complete) {
+        synchronized (matched) {
+          matched.set(typeInstrumentationId);
+        }
+      }
+    }
+
+    private BitSet matchedSnapshot() {
+      synchronized (matched) {
+        return (BitSet) matched.clone();
+      }
+    }
+  }
+
+  private static final class DiscoveredType {
+    private final String className;
+    private final long shape;
+    // set by the class file buffer strategy, which is called after the listener
+    private long classChecksum = ClassLoaderShapes.UNKNOWN;
+    @Nullable private TypeResult result;
+
+    private DiscoveredType(String className, long shape) {
+      this.className = className;
+      this.shape = shape;
+    }
+  }
+
+  /** Computes the checksum of the class file of the class that is being transformed. */
+  private class ChecksumClassFileBufferStrategy implements AgentBuilder.ClassFileBufferStrategy {
+    private final AgentBuilder.ClassFileBufferStrategy delegate;
+
+    private ChecksumClassFileBufferStrategy(AgentBuilder.ClassFileBufferStrategy delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public ClassFileLocator resolve(
+        String name,
+        byte[] binaryRepresentation,
+        @Nullable ClassLoader classLoader,
+        @Nullable JavaModule module,
+        @Nullable ProtectionDomain protectionDomain) {
+      DiscoveredType type = discoveredType.get();
+      if (type != null && type.className.equals(name)) {
+        CRC32 crc = new CRC32();
+        crc.update(binaryRepresentation, 0, binaryRepresentation.length);
+        type.classChecksum =
+            ClassLoaderShapes.nonZero(
+                ClassLoaderShapes.hash(ClassLoaderShapes.initialHash(), crc.getValue()));
+      }
+      return delegate.resolve(name, binaryRepresentation, classLoader, module, protectionDomain);
+    }
+
+    @Override
+    public TypePool typePool(
+        AgentBuilder.PoolStrategy poolStrategy,
+        ClassFileLocator classFileLocator,
+        @Nullable ClassLoader classLoader,
+        String name) {
+      return delegate.typePool(poolStrategy, classFileLocator, classLoader, name);
+    }
+  }
+
+  /** Tracks the class that is being transformed on the current thread. */
+  private class DiscoveryListener extends AgentBuilder.Listener.Adapter {
+
+    @Override
+    public void onDiscovery(
+        String typeName,
+        @Nullable ClassLoader classLoader,
+        @Nullable JavaModule module,
+        boolean loaded) {
+      long shape = shapes.shapeOf(classLoader);
+      if (shape == ClassLoaderShapes.UNKNOWN) {
+        discoveredType.remove();
+      } else {
+        discoveredType.set(new DiscoveredType(typeName, shape));
+      }
+    }
+
+    @Override
+    public void onError(
+        String typeName,
+        @Nullable ClassLoader classLoader,
+        @Nullable JavaModule module,
+        boolean loaded,
+        Throwable throwable) {
+      // the results of the class stay incomplete and aren't written
+      discoveredType.remove();
+    }
+
+    @Override
+    public void onComplete(
+        String typeName,
+        @Nullable ClassLoader classLoader,
+        @Nullable JavaModule module,
+        boolean loaded) {
+      DiscoveredType type = discoveredType.get();
+      discoveredType.remove();
+      if (type != null
+          && type.className.equals(typeName)
+          && type.result != null
+          && !type.result.complete) {
+        type.result.complete = true;
+        modified.set(true);
+      }
+    }
+  }
+}
@@ -9,6 +9,7 @@ import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.WARNING;
 import static net.bytebuddy.dynamic.loading.ClassLoadingStrategy.BOOTSTRAP_LOADER;
 
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
 import io.opentelemetry.javaagent.tooling.TransformSafeLogger;
@@ -21,11 +22,12 @@ import io.opentelemetry.javaagent.tooling.muzzle.ReferenceMatcher;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
 import java.security.ProtectionDomain;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.utility.JavaModule;
 
 /**
@@ -40,17 +42,32 @@ class MuzzleMatcher implements AgentBuilder.RawMatcher {
   private final TransformSafeLogger instrumentationLogger;
   private final InstrumentationModule instrumentationModule;
   private final Level muzzleLogLevel;
-  private final AtomicBoolean initialized = new AtomicBoolean(false);
   private final Cache<ClassLoader, Boolean> matchCache = Cache.weak();
-  private volatile ReferenceMatcher referenceMatcher;
+  private final MatchResultCache matchResultCache;
+  private final ParallelMuzzleChecker parallelMuzzleChecker;
+  private final ElementMatcher<ClassLoader> classLoaderMatcher;
+  private final SupportabilityMetrics.Counter checkNanos;
+  @Nullable private volatile ReferenceMatcher referenceMatcher;
 
   MuzzleMatcher(
       TransformSafeLogger instrumentationLogger,
       InstrumentationModule instrumentationModule,
-      ConfigProperties config) {
+      ConfigProperties config,
+      MatchResultCache matchResultCache,
+      ParallelMuzzleChecker parallelMuzzleChecker) {
     this.instrumentationLogger = instrumentationLogger;
     this.instrumentationModule = instrumentationModule;
     this.muzzleLogLevel = AgentConfig.isDebugModeEnabled(config) ? WARNING : FINE;
+    this.matchResultCache = matchResultCache;
+    this.parallelMuzzleChecker = parallelMuzzleChecker;
+    this.classLoaderMatcher = instrumentationModule.classLoaderMatcher();
+    this.checkNanos =
+        SupportabilityMetrics.instance()
+            .counter("Muzzle check nanos: " + instrumentationModule.instrumentationName());
+    // mismatches are logged when they are found on the class loading thread
+    if (!muzzleLogger.isLoggable(muzzleLogLevel)) {
+      parallelMuzzleChecker.register(this);
+    }
   }
 
   @Override
@@ -62,24 +79,74 @@ class MuzzleMatcher implements AgentBuilder.RawMatcher {
       ProtectionDomain protectionDomain) {
     if (classLoader == BOOTSTRAP_LOADER) {
       classLoader = Utils.getBootstrapProxy();
+    } else {
+      Boolean cached = matchCache.get(classLoader);
+      if (cached != null) {
+        return cached;
+      }
+      // first time this class loader is seen by this module, check the other modules in parallel
+      parallelMuzzleChecker.checkAll(classLoader);
     }
+    // the muzzle threads never compute inside the cache, so this never waits for them
+    return matchCache.computeIfAbsent(classLoader, this::doesMatchCached);
+  }
+
+  /**
+   * Runs the muzzle check for the given class loader ahead of time if this instrumentation module
+   * may apply to it, called by the {@link ParallelMuzzleChecker}. The result is computed outside
+   * of the cache and only published if the class loading thread hasn't computed it in the meantime,
+   * so that the class loading thread never waits for a muzzle thread.
+   */
+  void precompute(ClassLoader classLoader) {
+    try {
+      if (matchCache.get(classLoader) == null && classLoaderMatcher.matches(classLoader)) {
+        matchCache.putIfAbsent(classLoader, doesMatchCached(classLoader));
+      }
+    } catch (RuntimeException | LinkageError e) {
+      // the check is run again when a class of this module is matched
+      muzzleLogger.log(
+          FINE,
+          "Failed to check muzzle references of " + instrumentationModule.instrumentationName(),
+          e);
+    }
+  }
+
+  private boolean doesMatchCached(ClassLoader classLoader) {
+    // mismatches are always computed when they are logged
+    long shape =
+        muzzleLogger.isLoggable(muzzleLogLevel)
+            ? ClassLoaderShapes.UNKNOWN
+            : matchResultCache.shapeOf(classLoader);
+    if (shape != ClassLoaderShapes.UNKNOWN) {
+      Boolean cached = matchResultCache.muzzleResult(instrumentationModule, shape);
+      if (cached != null) {
+        if (!cached) {
+          MuzzleFailureCounter.inc();
+        }
+        return cached;
+      }
+    }
+
+    boolean isMatch;
     if (instrumentationModule.isIndyModule()) {
-      return matchCache.computeIfAbsent(
-          classLoader,
-          cl -> {
-            InstrumentationModuleClassLoader moduleCl =
-                IndyModuleRegistry.createInstrumentationClassLoaderWithoutRegistration(
-                    instrumentationModule, cl);
-            return doesMatch(moduleCl);
-          });
+      InstrumentationModuleClassLoader moduleCl =
+          IndyModuleRegistry.createInstrumentationClassLoaderWithoutRegistration(
+              instrumentationModule, classLoader);
+      isMatch = doesMatch(moduleCl);
     } else {
-      return matchCache.computeIfAbsent(classLoader, this::doesMatch);
+      isMatch = doesMatch(classLoader);
     }
+    if (shape != ClassLoaderShapes.UNKNOWN) {
+      matchResultCache.putMuzzleResult(instrumentationModule, shape, isMatch);
+    }
+    return isMatch;
   }
 
   private boolean doesMatch(ClassLoader classLoader) {
     ReferenceMatcher muzzle = getReferenceMatcher();
+    long startNanos = System.nanoTime();
     boolean isMatch = muzzle.matches(classLoader);
+    checkNanos.add(System.nanoTime() - startNanos);
 
     if (!isMatch) {
       MuzzleFailureCounter.inc();
@@ -116,9 +183,16 @@ class MuzzleMatcher implements AgentBuilder.RawMatcher {
   // ReferenceMatcher is lazily created to avoid unnecessarily loading the muzzle references from
   // the module during the agent setup
   private ReferenceMatcher getReferenceMatcher() {
-    if (initialized.compareAndSet(false, true)) {
-      referenceMatcher = ReferenceMatcher.of(instrumentationModule);
+    ReferenceMatcher result = referenceMatcher;
+    if (result == null) {
+      synchronized (this) {
+        result = referenceMatcher;
+        if (result == null) {
+          result = ReferenceMatcher.of(instrumentationModule);
+          referenceMatcher = result;
+        }
+      }
     }
-    return referenceMatcher;
+    return result;
   }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Runs the muzzle checks of all instrumentation modules for a class loader in parallel the first
+ * time the class loader is seen, so that the thread loading classes only waits for the checks of
+ * the instrumentation modules that apply to the class being loaded, and later class loads find the
+ * results memoised by each {@link MuzzleMatcher}. Disabled unless {@code
+ * otel.javaagent.experimental.muzzle.parallel.enabled} is set.
+ */
+final class ParallelMuzzleChecker {
+
+  private static final Logger logger = Logger.getLogger(ParallelMuzzleChecker.class.getName());
+
+  private static final String ENABLED_CONFIG =
+      "otel.javaagent.experimental.muzzle.parallel.enabled";
+  private static final String PARALLELISM_CONFIG =
+      "otel.javaagent.experimental.muzzle.parallel.parallelism";
+
+  private static final ParallelMuzzleChecker DISABLED = new ParallelMuzzleChecker(0);
+
+  private final int parallelism;
+  private final List<MuzzleMatcher> muzzleMatchers = new CopyOnWriteArrayList<>();
+  private final Cache<ClassLoader, Boolean> seenClassLoaders = Cache.weak();
+  // created when the first class loader is seen
+  @Nullable private volatile ForkJoinPool pool;
+
+  static ParallelMuzzleChecker create(ConfigProperties config) {
+    if (!config.getBoolean(ENABLED_CONFIG, false)) {
+      return DISABLED;
+    }
+    int parallelism = config.getInt(PARALLELISM_CONFIG, Runtime.getRuntime().availableProcessors());
+    return parallelism > 0 ? new ParallelMuzzleChecker(parallelism) : DISABLED;
+  }
+
+  private ParallelMuzzleChecker(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  void register(MuzzleMatcher muzzleMatcher) {
+    if (parallelism > 0) {
+      muzzleMatchers.add(muzzleMatcher);
+    }
+  }
+
+  /**
+   * Schedules the muzzle checks of all registered instrumentation modules whose class loader
+   * matcher matches the given class loader, unless they were already scheduled for it.
+   */
+  void checkAll(ClassLoader classLoader) {
+    if (parallelism == 0 || seenClassLoaders.putIfAbsent(classLoader, Boolean.TRUE) != null) {
+      return;
+    }
+
+    List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    for (MuzzleMatcher muzzleMatcher : muzzleMatchers) {
+      tasks.add(ForkJoinTask.adapt(() -> muzzleMatcher.precompute(classLoader)));
+    }
+    try {
+      getPool().execute(() -> ForkJoinTask.invokeAll(tasks));
+    } catch (RejectedExecutionException e) {
+      // muzzle checks are still run on demand
+      logger.log(FINE, "Failed to schedule muzzle checks", e);
+    }
+  }
+
+  private ForkJoinPool getPool() {
+    ForkJoinPool result = pool;
+    if (result == null) {
+      synchronized (this) {
+        result = pool;
+        if (result == null) {
+          result = new ForkJoinPool(parallelism, ParallelMuzzleChecker::newThread, null, false);
+          pool = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    thread.setName("otel-muzzle-" + thread.getPoolIndex());
+    thread.setDaemon(true);
+    thread.setContextClassLoader(null);
+    return thread;
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.util;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+
+/**
+ * A {@link Trie} packed into flat arrays (a double-array trie).
+ *
+ * <p>Every node is an index into the {@code base}, {@code check} and {@code values} arrays. The
+ * child of node {@code s} for a character with code {@code c} is at index {@code base[s] + c}, and
+ * it exists if {@code check[base[s] + c] == s}. Looking up a character is an array access and a
+ * comparison instead of a binary search over the children of an object node, which keeps lookups
+ * within a few cache lines.
+ *
+ * <p>Characters are first mapped to a dense code, so that the arrays only need to be as wide as
+ * the set of characters used by the keys.
+ */
+final class PackedTrie<V> implements Trie<V> {
+
+  private static final int ROOT = 0;
+  private static final int FREE = -1;
+  private static final int ASCII_SIZE = 128;
+
+  // codes of ASCII characters, 0 if the character isn't used by any key
+  private final int[] asciiCodes;
+  // non-ASCII characters used by the keys, sorted; their codes follow the ASCII codes
+  private final char[] otherChars;
+  private final int firstOtherCode;
+
+  private final int[] base;
+  private final int[] check;
+  private final Object[] values;
+
+  private PackedTrie(
+      int[] asciiCodes,
+      char[] otherChars,
+      int firstOtherCode,
+      int[] base,
+      int[] check,
+      Object[] values) {
+    this.asciiCodes = asciiCodes;
+    this.otherChars = otherChars;
+    this.firstOtherCode = firstOtherCode;
+    this.base = base;
+    this.check = check;
+    this.values = values;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V getOrDefault(CharSequence str, V defaultValue) {
+    int state = ROOT;
+    Object lastMatchedValue = defaultValue;
+
+    for (int i = 0; i < str.length(); ++i) {
+      int code = code(str.charAt(i));
+      if (code == 0) {
+        return (V) lastMatchedValue;
+      }
+      int next = base[state] + code;
+      if (next >= check.length || check[next] != state) {
+        return (V) lastMatchedValue;
+      }
+      state = next;
+      // next node matched, use its value if it's defined
+      Object value = values[state];
+      lastMatchedValue = value != null ? value : lastMatchedValue;
+    }
+
+    return (V) lastMatchedValue;
+  }
+
+  private int code(char c) {
+    if (c < ASCII_SIZE) {
+      return asciiCodes[c];
+    }
+    int index = Arrays.binarySearch(otherChars, c);
+    return index < 0 ? 0 : firstOtherCode + index;
+  }
+
+  static final class BuilderImpl<V> implements Builder<V> {
+
+    private final TrieImpl.NodeBuilder<V> root = new TrieImpl.NodeBuilder<>();
+
+    @Override
+    @CanIgnoreReturnValue
+    public Builder<V> put(CharSequence str, V value) {
+      TrieImpl.NodeBuilder<V> node = root;
+      for (int i = 0; i < str.length(); i++) {
+        node = node.children.computeIfAbsent(str.charAt(i), k -> new TrieImpl.NodeBuilder<>());
+      }
+      node.value = value;
+      return this;
+    }
+
+    @Override
+    public Trie<V> build() {
+      // assign codes to the characters used by the keys
+      TreeSet<Character> chars = new TreeSet<>();
+      collectChars(root, chars);
+      int[] asciiCodes = new int[ASCII_SIZE];
+      int code = 1;
+      for (Character c : chars.headSet((char) ASCII_SIZE)) {
+        asciiCodes[c] = code++;
+      }
+      int firstOtherCode = code;
+      char[] otherChars = new char[chars.tailSet((char) ASCII_SIZE).size()];
+      int index = 0;
+      for (Character c : chars.tailSet((char) ASCII_SIZE)) {
+        otherChars[index++] = c;
+      }
+      int alphabetSize = firstOtherCode + otherChars.length;
+
+      Packer packer = new Packer(alphabetSize);
+      Queue<TrieImpl.NodeBuilder<V>> nodes = new ArrayDeque<>();
+      Queue<Integer> states = new ArrayDeque<>();
+      nodes.add(root);
+      states.add(ROOT);
+      while (!nodes.isEmpty()) {
+        TrieImpl.NodeBuilder<V> node = nodes.remove();
+        int state = states.remove();
+        if (node.children.isEmpty()) {
+          continue;
+        }
+        char[] childChars = sortedChars(node);
+        int[] codes = new int[childChars.length];
+        for (int i = 0; i < childChars.length; i++) {
+          codes[i] = codeOf(childChars[i], asciiCodes, otherChars, firstOtherCode);
+        }
+        int nodeBase = packer.place(state, codes);
+        for (int i = 0; i < childChars.length; i++) {
+          TrieImpl.NodeBuilder<V> childNode = node.children.get(childChars[i]);
+          int child = nodeBase + codes[i];
+          packer.values[child] = childNode.value;
+          nodes.add(childNode);
+          states.add(child);
+        }
+      }
+
+      int length = packer.length();
+      return new PackedTrie<>(
+          asciiCodes,
+          otherChars,
+          firstOtherCode,
+          Arrays.copyOf(packer.base, length),
+          Arrays.copyOf(packer.check, length),
+          Arrays.copyOf(packer.values, length));
+    }
+
+    private static <V> void collectChars(TrieImpl.NodeBuilder<V> node, TreeSet<Character> chars) {
+      for (Map.Entry<Character, TrieImpl.NodeBuilder<V>> entry : node.children.entrySet()) {
+        chars.add(entry.getKey());
+        collectChars(entry.getValue(), chars);
+      }
+    }
+
+    private static <V> char[] sortedChars(TrieImpl.NodeBuilder<V> node) {
+      char[] chars = new char[node.children.size()];
+      int i = 0;
+      for (Character c : node.children.keySet()) {
+        chars[i++] = c;
+      }
+      Arrays.sort(chars);
+      return chars;
+    }
+
+    private static int codeOf(char c, int[] asciiCodes, char[] otherChars, int firstOtherCode) {
+      return c < ASCII_SIZE
+          ? asciiCodes[c]
+          : firstOtherCode + Arrays.binarySearch(otherChars, c);
+    }
+  }
+
+  /** Finds free slots for the children of each node, growing the arrays as needed. */
+  private static final class Packer {
+    private final int alphabetSize;
+    int[] base;
+    int[] check;
+    Object[] values;
+    // every slot below this one is taken
+    private int firstFree = 1;
+    private int maxUsed = ROOT;
+
+    Packer(int alphabetSize) {
+      this.alphabetSize = alphabetSize;
+      int capacity = Math.max(16, 2 * alphabetSize);
+      base = new int[capacity];
+      check = new int[capacity];
+      values = new Object[capacity];
+      Arrays.fill(check, FREE);
+      // the root is never the child of another node
+      check[ROOT] = Integer.MIN_VALUE;
+    }
+
+    // codes are sorted in ascending order
+    int place(int state, int[] codes) {
+      int nodeBase = Math.max(1, firstFree - codes[0]);
+      while (!fits(nodeBase, codes)) {
+        nodeBase++;
+      }
+      base[state] = nodeBase;
+      for (int code : codes) {
+        check[nodeBase + code] = state;
+        maxUsed = Math.max(maxUsed, nodeBase + code);
+      }
+      while (firstFree < check.length && check[firstFree] != FREE) {
+        firstFree++;
+      }
+      return nodeBase;
+    }
+
+    private boolean fits(int nodeBase, int[] codes) {
+      ensureCapacity(nodeBase + alphabetSize + 1);
+      for (int code : codes) {
+        if (check[nodeBase + code] != FREE) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity <= check.length) {
+        return;
+      }
+      int newCapacity = Math.max(capacity, 2 * check.length);
+      int oldCapacity = check.length;
+      base = Arrays.copyOf(base, newCapacity);
+      check = Arrays.copyOf(check, newCapacity);
+      values = Arrays.copyOf(values, newCapacity);
+      Arrays.fill(check, oldCapacity, newCapacity, FREE);
+    }
+
+    int length() {
+      return maxUsed + 1;
+    }
+  }
+}
@@ -16,6 +16,14 @@ public interface Trie<V> {
     return new TrieImpl.BuilderImpl<>();
   }
 
+  /**
+   * Start building a trie that is packed into flat arrays. It is slower to build than the trie
+   * returned by {@link #builder()}, but faster to query.
+   */
+  static <V> Builder<V> packedBuilder() {
+    return new PackedTrie.BuilderImpl<>();
+  }
+
   /**
    * Returns the value associated with the longest matched prefix, or null if there wasn't a match.
    * For example: for a trie containing an {@code ("abc", 10)} entry {@code trie.getOrNull("abcd")}
@@ -0,0 +1,113 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.tooling.util.Trie;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class IgnoredTypesMatcherTest {
+
+  private static final IgnoredTypesMatcher matcher = buildMatcher();
+
+  private static IgnoredTypesMatcher buildMatcher() {
+    IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
+    builder
+        .ignoreClass("com.ignored.")
+        .allowClass("com.ignored.butallowed.")
+        .ignoreClass("com.ignored.butallowed.NotThisOne")
+        .allowClass("com.example.")
+        .ignoreClass("org.");
+    return builder.buildIgnoredTypesMatcher();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "com.ignored.Foo, true",
+    "com.ignored.butallowed.Foo, false",
+    "com.ignored.butallowed.NotThisOne, true",
+    "com.ignored.butallowed.NotThisOne$Inner, true",
+    "com.ignore, false",
+    "org.Foo, true",
+    "net.Foo, false",
+    // prefix rules win over substring rules
+    "com.example.Foo$$EnhancerByCGLIB$$1, false",
+    "com.other.Foo$$EnhancerByCGLIB$$1, true",
+    "com.other.Foo$$Lambda$1/0x123, false",
+    "com.other.Foo$$Lambda, false",
+    "com.other.Foo$$anon$1, false",
+    "com.other.Foo$$anonfun$1, false",
+    "com.other.Foo$JaxbAccessorF_name, true",
+    "com.other.javassist.Foo, true",
+    "com.other.shaded.asm.ClassReader, true",
+    "com.other.Foo$__sisu1, true",
+    "com.other.Foo__EJB31_Generated__Bean, true",
+    "com.mchange.v2.c3p0.impl.NewProxyConnection, false",
+    "com.mchange.v2.c3p0.impl.ConnectionProxy, true",
+    "com.other.Foo, false",
+    "com.other.Fôô$$Proxy, true",
+  })
+  void matches(String className, boolean ignored) {
+    assertThat(matcher.matches(className)).isEqualTo(ignored);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "com.ignored.Foo, IGNORE",
+    "com.ignored.butallowed.Foo, ALLOW",
+    "com.ignored.butallowed.NotThisOne, IGNORE",
+    "com.other.Foo$$EnhancerByCGLIB$$1, ",
+    "net.Foo, ",
+  })
+  void getIgnoreAllow(String className, IgnoreAllow ignoreAllow) {
+    assertThat(matcher.getIgnoreAllow(className)).isEqualTo(ignoreAllow);
+  }
+
+  @Test
+  void prefixesMatchTrie() {
+    String[] prefixes = {"a", "ab", "abc", "b.", "b.c", "ca", "c$$", "a$$b"};
+    Map<String, IgnoreAllow> prefixMap = new HashMap<>();
+    Trie.Builder<IgnoreAllow> trieBuilder = Trie.builder();
+    Random random = new Random(0);
+    for (String prefix : prefixes) {
+      IgnoreAllow value = random.nextBoolean() ? IgnoreAllow.IGNORE : IgnoreAllow.ALLOW;
+      prefixMap.put(prefix, value);
+      trieBuilder.put(prefix, value);
+    }
+    Trie<IgnoreAllow> trie = trieBuilder.build();
+    ClassNameAutomaton automaton = new ClassNameAutomaton(prefixMap, singletonList("$$"));
+
+    char[] alphabet = {'a', 'b', 'c', '.', '$'};
+    for (int i = 0; i < 10_000; i++) {
+      StringBuilder name = new StringBuilder();
+      int length = random.nextInt(8);
+      for (int j = 0; j < length; j++) {
+        name.append(alphabet[random.nextInt(alphabet.length)]);
+      }
+      String className = name.toString();
+      IgnoreAllow expected = trie.getOrNull(className);
+      int result = automaton.match(className);
+      if (expected == null) {
+        assertThat(result).as(className).isNotNegative();
+        assertThat(result == 1).as(className).isEqualTo(className.contains("$$"));
+      } else {
+        assertThat(result)
+            .as(className)
+            .isEqualTo(
+                expected == IgnoreAllow.IGNORE
+                    ? ClassNameAutomaton.IGNORED
+                    : ClassNameAutomaton.ALLOWED);
+      }
+    }
+  }
+}
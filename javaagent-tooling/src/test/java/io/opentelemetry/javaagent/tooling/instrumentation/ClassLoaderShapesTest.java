@@ -0,0 +1,165 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassLoaderShapesTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void sameJarsHaveSameShape() throws Exception {
+    URL first = writeJar("first.jar", "first");
+    URL second = writeJar("second.jar", "second");
+    ClassLoaderShapes shapes = new ClassLoaderShapes();
+
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {first, second}, null);
+        URLClassLoader sameJars = new URLClassLoader(new URL[] {first, second}, null);
+        URLClassLoader otherOrder = new URLClassLoader(new URL[] {second, first}, null);
+        URLClassLoader child = new URLClassLoader(new URL[0], classLoader)) {
+      long shape = shapes.shapeOf(classLoader);
+
+      assertThat(shape).isNotEqualTo(ClassLoaderShapes.UNKNOWN);
+      assertThat(shapes.shapeOf(sameJars)).isEqualTo(shape);
+      assertThat(shapes.shapeOf(otherOrder)).isNotEqualTo(shape);
+      assertThat(shapes.shapeOf(child)).isNotIn(ClassLoaderShapes.UNKNOWN, shape);
+    }
+  }
+
+  @Test
+  void changedJarChangesShape() throws Exception {
+    URL jar = writeJar("app.jar", "before");
+    long before;
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar}, null)) {
+      before = new ClassLoaderShapes().shapeOf(classLoader);
+    }
+
+    writeJar("app.jar", "after, with a different size");
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar}, null)) {
+      assertThat(new ClassLoaderShapes().shapeOf(classLoader)).isNotEqualTo(before);
+    }
+  }
+
+  @Test
+  void directoriesAreUnknown() throws Exception {
+    URL jar = writeJar("app.jar", "content");
+    URL directory = tempDir.toUri().toURL();
+    ClassLoaderShapes shapes = new ClassLoaderShapes();
+
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar, directory}, null);
+        URLClassLoader child = new URLClassLoader(new URL[] {jar}, classLoader)) {
+      assertThat(shapes.shapeOf(classLoader)).isEqualTo(ClassLoaderShapes.UNKNOWN);
+      assertThat(shapes.shapeOf(child)).isEqualTo(ClassLoaderShapes.UNKNOWN);
+    }
+  }
+
+  @Test
+  void nestedJarsUseOuterChecksum() throws Exception {
+    URL jar = writeJar("app.jar", "content");
+    URL nested = new URL("jar:" + jar + "!/BOOT-INF/lib/lib.jar!/");
+    URL otherNested = new URL("jar:" + jar + "!/BOOT-INF/lib/other.jar!/");
+    ClassLoaderShapes shapes = new ClassLoaderShapes();
+
+    assertThat(shapes.checksumOf(nested))
+        .isNotIn(ClassLoaderShapes.UNKNOWN, shapes.checksumOf(otherNested));
+  }
+
+  @Test
+  void modificationTimeChangesChecksum() throws Exception {
+    File file = new File(writeJar("app.jar", "content").toURI());
+    ClassLoaderShapes shapes = new ClassLoaderShapes();
+    long checksum = shapes.checksumOf(file);
+
+    assertThat(file.setLastModified(file.lastModified() - 10_000)).isTrue();
+    assertThat(shapes.checksumOf(file)).isNotEqualTo(checksum);
+  }
+
+  @Test
+  void manifestClassPathIsIncluded() throws Exception {
+    writeJar("lib.jar", "before");
+    URL jar = writeJarWithClassPath("app.jar", "lib.jar");
+    ClassLoaderShapes shapes = new ClassLoaderShapes();
+    long checksum = shapes.checksumOf(jar);
+
+    writeJar("lib.jar", "after, with a different size");
+    assertThat(shapes.checksumOf(jar)).isNotIn(ClassLoaderShapes.UNKNOWN, checksum);
+  }
+
+  @Test
+  void manifestClassPathDirectoriesAreUnknown() throws Exception {
+    Files.createDirectory(tempDir.resolve("classes"));
+    URL jar = writeJarWithClassPath("app.jar", "classes/");
+
+    assertThat(new ClassLoaderShapes().checksumOf(jar)).isEqualTo(ClassLoaderShapes.UNKNOWN);
+  }
+
+  @Test
+  void changedEntriesChangeChecksum() throws Exception {
+    // image builds often give all files the same modification time
+    File file = writeStoredJar("app.jar", "before");
+    long size = file.length();
+    long checksum = new ClassLoaderShapes().checksumOf(file);
+
+    writeStoredJar("app.jar", "after!");
+    assertThat(file.length()).isEqualTo(size);
+    assertThat(new ClassLoaderShapes().checksumOf(file))
+        .isNotIn(ClassLoaderShapes.UNKNOWN, checksum);
+  }
+
+  private URL writeJarWithClassPath(String name, String classPath) throws Exception {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+    Path path = tempDir.resolve(name);
+    try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(path), manifest)) {
+      output.putNextEntry(new JarEntry("content.txt"));
+      output.write(name.getBytes(UTF_8));
+    }
+    return path.toUri().toURL();
+  }
+
+  // the entry is not compressed, so that jars with contents of the same length have the same size
+  private File writeStoredJar(String name, String content) throws Exception {
+    byte[] bytes = content.getBytes(UTF_8);
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length);
+    JarEntry entry = new JarEntry("content.txt");
+    entry.setMethod(ZipEntry.STORED);
+    entry.setSize(bytes.length);
+    entry.setCrc(crc.getValue());
+    entry.setTime(0);
+    Path path = tempDir.resolve(name);
+    try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(path))) {
+      output.putNextEntry(entry);
+      output.write(bytes);
+    }
+    File file = path.toFile();
+    assertThat(file.setLastModified(1000)).isTrue();
+    return file;
+  }
+
+  private URL writeJar(String name, String content) throws Exception {
+    Path path = tempDir.resolve(name);
+    Files.write(path, content.getBytes(UTF_8));
+    return path.toUri().toURL();
+  }
+}
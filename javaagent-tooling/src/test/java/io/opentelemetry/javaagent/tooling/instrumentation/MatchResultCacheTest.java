@@ -0,0 +1,266 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static net.bytebuddy.matcher.ElementMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.autoconfigure.spi.internal.DefaultConfigProperties;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MatchResultCacheTest {
+
+  private static final long FINGERPRINT = 0x1234;
+  private static final String CLASS_NAME = MatchResultCacheTest.class.getName();
+  private static final byte[] CLASS_FILE = "class file".getBytes(UTF_8);
+  private static final byte[] CHANGED_CLASS_FILE = "changed class file".getBytes(UTF_8);
+
+  @TempDir Path tempDir;
+
+  private Path cacheDirectory;
+  private URLClassLoader classLoader;
+
+  private final TestModule module = new TestModule();
+  private final TypeInstrumentation matching = new TestTypeInstrumentation();
+  private final TypeInstrumentation notMatching = new TestTypeInstrumentation();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    cacheDirectory = tempDir.resolve("cache");
+    Path jar = tempDir.resolve("app.jar");
+    try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+      output.putNextEntry(new JarEntry("content.txt"));
+      output.write("content".getBytes(UTF_8));
+    }
+    classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    classLoader.close();
+  }
+
+  @Test
+  void disabledByDefault() {
+    MatchResultCache cache =
+        MatchResultCache.create(DefaultConfigProperties.createFromMap(emptyMap()));
+    AgentBuilder agentBuilder = new AgentBuilder.Default();
+
+    assertThat(cache.isEnabled()).isFalse();
+    assertThat(cache.start(agentBuilder)).isSameAs(agentBuilder);
+    assertThat(cache.shapeOf(classLoader)).isEqualTo(ClassLoaderShapes.UNKNOWN);
+    assertThat(cache.load(FINGERPRINT)).isFalse();
+  }
+
+  @Test
+  void writesAndReadsResults() throws Exception {
+    writeResults();
+
+    MatchResultCache cache = enabledCache();
+    assertThat(cache.load(FINGERPRINT)).isTrue();
+
+    assertThat(cache.muzzleResult(module, cache.shapeOf(classLoader))).isTrue();
+    MatchResultCache.TypeResult result = discover(cache, CLASS_FILE);
+    assertThat(result).isNotNull();
+    assertThat(result.matches(0)).isTrue();
+    assertThat(result.matches(1)).isFalse();
+  }
+
+  @Test
+  void cachedTypeMatcherUsesReadResults() throws Exception {
+    writeResults();
+    MatchResultCache cache = enabledCache();
+    cache.load(FINGERPRINT);
+    CountingMatcher delegate = new CountingMatcher();
+    TypeDescription type = TypeDescription.ForLoadedType.of(MatchResultCacheTest.class);
+
+    // not discovered as the class that is being transformed
+    assertThat(new CachedTypeMatcher(cache, 1, delegate).matches(type)).isTrue();
+    assertThat(delegate.calls).isEqualTo(1);
+
+    // the results of the previous run
+    discover(cache, CLASS_FILE);
+    assertThat(new CachedTypeMatcher(cache, 0, delegate).matches(type)).isTrue();
+    assertThat(new CachedTypeMatcher(cache, 1, delegate).matches(type)).isFalse();
+    assertThat(delegate.calls).isEqualTo(1);
+
+    // other bytes with the same class name are matched by the delegate
+    MatchResultCache.TypeResult result = discover(cache, CHANGED_CLASS_FILE);
+    assertThat(new CachedTypeMatcher(cache, 1, delegate).matches(type)).isTrue();
+    assertThat(delegate.calls).isEqualTo(2);
+    cache.discoveryListener().onComplete(CLASS_NAME, classLoader, null, false);
+    assertThat(result.matches(1)).isTrue();
+  }
+
+  @Test
+  void changedClassFileIsMatchedAgain() throws Exception {
+    writeResults();
+    MatchResultCache cache = enabledCache();
+    cache.load(FINGERPRINT);
+
+    MatchResultCache.TypeResult result = discover(cache, CHANGED_CLASS_FILE);
+    assertThat(result).isNotNull();
+    assertThat(result.matches(0)).isNull();
+    assertThat(result.matches(1)).isNull();
+  }
+
+  @Test
+  void ignoresFileWithOtherMagic() throws Exception {
+    File file = writeResults();
+    overwriteInt(file, 0, 0xcafebabe);
+
+    assertNoResults();
+  }
+
+  @Test
+  void ignoresFileWithOtherFormatVersion() throws Exception {
+    File file = writeResults();
+    overwriteInt(file, 4, 1);
+
+    assertNoResults();
+  }
+
+  @Test
+  void ignoresFileWithOtherFingerprint() throws Exception {
+    File file = writeResults();
+    MatchResultCache cache = enabledCache();
+    Files.copy(file.toPath(), cache.cacheFile(FINGERPRINT + 1).toPath());
+
+    assertThat(cache.load(FINGERPRINT + 1)).isTrue();
+    assertThat(cache.muzzleResult(module, cache.shapeOf(classLoader))).isNull();
+  }
+
+  @Test
+  void createsPrivateDirectory() throws Exception {
+    assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+    writeResults();
+
+    assertThat(Files.getPosixFilePermissions(cacheDirectory))
+        .isEqualTo(PosixFilePermissions.fromString("rwx------"));
+    assertThat(MatchResultCache.isPrivate(cacheDirectory)).isTrue();
+  }
+
+  @Test
+  void ignoresDirectoryWritableByOthers() throws Exception {
+    assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+    writeResults();
+    Files.setPosixFilePermissions(cacheDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+    assertThat(MatchResultCache.isPrivate(cacheDirectory)).isFalse();
+    assertThat(enabledCache().load(FINGERPRINT)).isFalse();
+  }
+
+  // writes a muzzle result and the type matching results of a class
+  private File writeResults() {
+    MatchResultCache cache = enabledCache();
+    cache.load(FINGERPRINT);
+    cache.putMuzzleResult(module, cache.shapeOf(classLoader), true);
+    MatchResultCache.TypeResult result = discover(cache, CLASS_FILE);
+    assertThat(result).isNotNull();
+    result.put(0, true);
+    result.put(1, false);
+    cache.discoveryListener().onComplete(CLASS_NAME, classLoader, null, false);
+    cache.write(FINGERPRINT);
+
+    File file = cache.cacheFile(FINGERPRINT);
+    assertThat(file).isFile();
+    return file;
+  }
+
+  private void assertNoResults() {
+    MatchResultCache cache = enabledCache();
+    assertThat(cache.load(FINGERPRINT)).isTrue();
+    assertThat(cache.muzzleResult(module, cache.shapeOf(classLoader))).isNull();
+    MatchResultCache.TypeResult result = discover(cache, CLASS_FILE);
+    assertThat(result).isNotNull();
+    assertThat(result.matches(0)).isNull();
+  }
+
+  private MatchResultCache enabledCache() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("otel.javaagent.experimental.match-cache.enabled", "true");
+    properties.put("otel.javaagent.experimental.match-cache.directory", cacheDirectory.toString());
+    ConfigProperties config = DefaultConfigProperties.createFromMap(properties);
+    MatchResultCache cache = MatchResultCache.create(config);
+    assertThat(cache.registerTypeInstrumentation(module, matching)).isEqualTo(0);
+    assertThat(cache.registerTypeInstrumentation(module, notMatching)).isEqualTo(1);
+    return cache;
+  }
+
+  // simulates the transformation of CLASS_NAME with the given class file
+  private MatchResultCache.TypeResult discover(MatchResultCache cache, byte[] classFile) {
+    cache.discoveryListener().onDiscovery(CLASS_NAME, classLoader, null, false);
+    cache
+        .classFileBufferStrategy(AgentBuilder.ClassFileBufferStrategy.Default.RETAINING)
+        .resolve(CLASS_NAME, classFile, classLoader, null, null);
+    return cache.typeResult(CLASS_NAME);
+  }
+
+  private static void overwriteInt(File file, long position, int value) throws Exception {
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+      randomAccessFile.seek(position);
+      randomAccessFile.writeInt(value);
+    }
+  }
+
+  private static class CountingMatcher implements ElementMatcher<TypeDescription> {
+    private int calls;
+
+    @Override
+    public boolean matches(TypeDescription target) {
+      calls++;
+      return true;
+    }
+  }
+
+  private static class TestModule extends InstrumentationModule {
+    TestModule() {
+      super("test");
+    }
+
+    @Override
+    public List<TypeInstrumentation> typeInstrumentations() {
+      return emptyList();
+    }
+  }
+
+  private static class TestTypeInstrumentation implements TypeInstrumentation {
+    @Override
+    public ElementMatcher<TypeDescription> typeMatcher() {
+      return any();
+    }
+
+    @Override
+    public void transform(TypeTransformer transformer) {}
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.tooling.TransformSafeLogger;
+import io.opentelemetry.javaagent.tooling.muzzle.InstrumentationModuleMuzzle;
+import io.opentelemetry.javaagent.tooling.muzzle.VirtualFieldMappingsBuilder;
+import io.opentelemetry.javaagent.tooling.muzzle.references.ClassRef;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.autoconfigure.spi.internal.DefaultConfigProperties;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.Test;
+
+class MuzzleMatcherTest {
+
+  private static final ConfigProperties SERIAL_CONFIG =
+      DefaultConfigProperties.createFromMap(emptyMap());
+  private static final ConfigProperties PARALLEL_CONFIG =
+      DefaultConfigProperties.createFromMap(
+          singletonMap("otel.javaagent.experimental.muzzle.parallel.enabled", "true"));
+
+  @Test
+  void parallelChecksMatchSerialChecks() throws Exception {
+    TestModule matching = new TestModule("matching", "org.assertj.core.api.Assertions");
+    TestModule mismatching = new TestModule("mismatching", "com.example.MissingClass");
+
+    ParallelMuzzleChecker serialChecker = ParallelMuzzleChecker.create(SERIAL_CONFIG);
+    MuzzleMatcher serialMatching = muzzleMatcher(matching, SERIAL_CONFIG, serialChecker);
+    MuzzleMatcher serialMismatching = muzzleMatcher(mismatching, SERIAL_CONFIG, serialChecker);
+    ParallelMuzzleChecker parallelChecker = ParallelMuzzleChecker.create(PARALLEL_CONFIG);
+    MuzzleMatcher parallelMatching = muzzleMatcher(matching, PARALLEL_CONFIG, parallelChecker);
+    MuzzleMatcher parallelMismatching =
+        muzzleMatcher(mismatching, PARALLEL_CONFIG, parallelChecker);
+
+    try (URLClassLoader classLoader =
+        new URLClassLoader(new URL[0], MuzzleMatcherTest.class.getClassLoader())) {
+      boolean serialMatches = matches(serialMatching, classLoader);
+      boolean serialMismatches = matches(serialMismatching, classLoader);
+      assertThat(serialMatches).isTrue();
+      assertThat(serialMismatches).isFalse();
+
+      // the first match checks the other module on the muzzle threads
+      assertThat(matches(parallelMatching, classLoader)).isEqualTo(serialMatches);
+      await()
+          .untilAsserted(
+              () ->
+                  assertThat(mismatching.matchingThreads)
+                      .anyMatch(name -> name.startsWith("otel-muzzle-")));
+      assertThat(matches(parallelMismatching, classLoader)).isEqualTo(serialMismatches);
+    }
+  }
+
+  private static MuzzleMatcher muzzleMatcher(
+      InstrumentationModule instrumentationModule,
+      ConfigProperties config,
+      ParallelMuzzleChecker parallelMuzzleChecker) {
+    return new MuzzleMatcher(
+        TransformSafeLogger.getLogger(MuzzleMatcherTest.class),
+        instrumentationModule,
+        config,
+        MatchResultCache.create(config),
+        parallelMuzzleChecker);
+  }
+
+  private static boolean matches(MuzzleMatcher muzzleMatcher, ClassLoader classLoader) {
+    return muzzleMatcher.matches(null, classLoader, null, null, null);
+  }
+
+  private static class TestModule extends InstrumentationModule
+      implements InstrumentationModuleMuzzle {
+    private final String referencedClassName;
+    // names of the threads the class loader matcher was called on
+    private final Set<String> matchingThreads = ConcurrentHashMap.newKeySet();
+
+    TestModule(String name, String referencedClassName) {
+      super(name);
+      this.referencedClassName = referencedClassName;
+    }
+
+    @Override
+    public ElementMatcher.Junction<ClassLoader> classLoaderMatcher() {
+      return new ElementMatcher.Junction.AbstractBase<ClassLoader>() {
+        @Override
+        public boolean matches(ClassLoader target) {
+          matchingThreads.add(Thread.currentThread().getName());
+          return true;
+        }
+      };
+    }
+
+    @Override
+    public List<TypeInstrumentation> typeInstrumentations() {
+      return emptyList();
+    }
+
+    @Override
+    public Map<String, ClassRef> getMuzzleReferences() {
+      return singletonMap(referencedClassName, ClassRef.builder(referencedClassName).build());
+    }
+
+    @Override
+    public void registerMuzzleVirtualFields(VirtualFieldMappingsBuilder builder) {}
+
+    @Override
+    public List<String> getMuzzleHelperClassNames() {
+      return emptyList();
+    }
+  }
+}
@@ -10,6 +10,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 class TrieTest {
@@ -50,4 +51,75 @@ class TrieTest {
 
     assertEquals(-1, trie.getOrDefault("acdc", -1));
   }
+
+  @Test
+  void packedTrieShouldReturnLastMatchedValue() {
+    Trie<Integer> trie =
+        Trie.<Integer>packedBuilder()
+            .put("abc", 0)
+            .put("abcde", 10)
+            .put("abcdfgh", 20)
+            .put("abc", 5)
+            .build();
+
+    assertNull(trie.getOrNull("ab"));
+    assertNull(trie.getOrNull("ababababa"));
+    assertEquals(5, trie.getOrNull("abc"));
+    assertEquals(5, trie.getOrNull("abcd"));
+    assertEquals(10, trie.getOrNull("abcdefgh"));
+    assertEquals(20, trie.getOrNull("abcdfghjkl"));
+    assertEquals(-1, trie.getOrDefault("acdc", -1));
+  }
+
+  @Test
+  void packedTrieShouldMatchNonAsciiCharacters() {
+    Trie<Integer> trie = Trie.<Integer>packedBuilder().put("été.", 1).put("ét", 2).build();
+
+    assertEquals(1, trie.getOrNull("été.Foo"));
+    assertEquals(2, trie.getOrNull("étà"));
+    assertNull(trie.getOrNull("e"));
+    assertNull(trie.getOrNull("\u00e8"));
+  }
+
+  @Test
+  void packedTrieShouldIgnoreEmptyKey() {
+    Trie<Integer> trie = Trie.<Integer>packedBuilder().put("", 1).put("a", 2).build();
+
+    assertNull(trie.getOrNull(""));
+    assertNull(trie.getOrNull("b"));
+    assertEquals(2, trie.getOrNull("ab"));
+  }
+
+  @Test
+  void packedTrieShouldMatchTrie() {
+    String alphabet = "abc.$\u00e9";
+    Random random = new Random(0);
+    for (int round = 0; round < 100; round++) {
+      Trie.Builder<Integer> builder = Trie.builder();
+      Trie.Builder<Integer> packedBuilder = Trie.packedBuilder();
+      int keyCount = random.nextInt(50);
+      for (int i = 0; i < keyCount; i++) {
+        String key = randomString(random, alphabet, 6);
+        int value = random.nextInt(10);
+        builder.put(key, value);
+        packedBuilder.put(key, value);
+      }
+      Trie<Integer> trie = builder.build();
+      Trie<Integer> packedTrie = packedBuilder.build();
+
+      for (int i = 0; i < 1_000; i++) {
+        String str = randomString(random, alphabet + "xy", 10);
+        assertEquals(trie.getOrDefault(str, -1), packedTrie.getOrDefault(str, -1), str);
+      }
+    }
+  }
+
+  private static String randomString(Random random, String alphabet, int maxLength) {
+    StringBuilder sb = new StringBuilder();
+    int length = random.nextInt(maxLength);
+    for (int i = 0; i < length; i++) {
+      sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return sb.toString();
+  }
 }
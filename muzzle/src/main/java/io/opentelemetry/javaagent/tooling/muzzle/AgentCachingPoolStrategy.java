@@ -73,6 +73,9 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
 
   /**
    * Single shared Type.Resolution cache -- uses a composite key -- conceptually of loader & name
+   *
+   * <p>Types are resolved in short bursts (a type, its super types, then the type again), which
+   * favors plain LRU over a frequency based admission policy at this small capacity.
    */
   final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache =
       Cache.bounded(TYPE_CAPACITY);
@@ -574,4 +574,5 @@ include(":instrumentation:zio:zio-2.0:javaagent")
 
 // benchmark
 include(":benchmark-overhead-jmh")
+include(":benchmark-instrumentation-api-jmh")
 include(":benchmark-jfr-analyzer")
@@ -15,8 +15,8 @@ import io.opentelemetry.javaagent.tooling.ignore.AdditionalLibraryIgnoredTypesCo
 import io.opentelemetry.javaagent.tooling.ignore.GlobalIgnoredTypesConfigurer;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoreAllow;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesBuilderImpl;
+import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesMatcher;
 import io.opentelemetry.javaagent.tooling.instrumentation.MuzzleFailureCounter;
-import io.opentelemetry.javaagent.tooling.util.Trie;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -35,21 +35,21 @@ public class TestAgentListener implements AgentBuilder.Listener {
 
   private static final Logger logger = Logger.getLogger(TestAgentListener.class.getName());
 
-  private static final Trie<IgnoreAllow> ADDITIONAL_LIBRARIES_TRIE;
-  private static final Trie<IgnoreAllow> OTHER_IGNORES_TRIE;
+  private static final IgnoredTypesMatcher ADDITIONAL_LIBRARIES_MATCHER;
+  private static final IgnoredTypesMatcher OTHER_IGNORES_MATCHER;
 
   static {
-    ADDITIONAL_LIBRARIES_TRIE = buildAdditionalLibraryIgnores();
-    OTHER_IGNORES_TRIE = buildOtherConfiguredIgnores();
+    ADDITIONAL_LIBRARIES_MATCHER = buildAdditionalLibraryIgnores();
+    OTHER_IGNORES_MATCHER = buildOtherConfiguredIgnores();
   }
 
-  private static Trie<IgnoreAllow> buildAdditionalLibraryIgnores() {
+  private static IgnoredTypesMatcher buildAdditionalLibraryIgnores() {
     IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
     new AdditionalLibraryIgnoredTypesConfigurer().configure(builder);
-    return builder.buildIgnoredTypesTrie();
+    return builder.buildIgnoredTypesMatcher();
   }
 
-  private static Trie<IgnoreAllow> buildOtherConfiguredIgnores() {
+  private static IgnoredTypesMatcher buildOtherConfiguredIgnores() {
     IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
     for (IgnoredTypesConfigurer configurer :
         SafeServiceLoader.loadOrdered(
@@ -61,7 +61,7 @@ public class TestAgentListener implements AgentBuilder.Listener {
       }
       configurer.configure(builder, EmptyConfigProperties.INSTANCE);
     }
-    return builder.buildIgnoredTypesTrie();
+    return builder.buildIgnoredTypesMatcher();
   }
 
   public static void reset() {
@@ -84,8 +84,8 @@ public class TestAgentListener implements AgentBuilder.Listener {
     for (String name : INSTANCE.transformedClassesNames) {
       // only record those types that weren't explicitly marked as either ignored or allowed by the
       // instrumentation authors
-      if (ADDITIONAL_LIBRARIES_TRIE.getOrNull(name) == IgnoreAllow.IGNORE
-          && OTHER_IGNORES_TRIE.getOrNull(name) == null) {
+      if (ADDITIONAL_LIBRARIES_MATCHER.getIgnoreAllow(name) == IgnoreAllow.IGNORE
+          && OTHER_IGNORES_MATCHER.getIgnoreAllow(name) == null) {
         names.add(name);
       }
     }